@@ -0,0 +1,91 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.AbstractServiceFactory;
+import dev.deadc0de.genesis.GenerationContext;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryResolutionBenchmark {
+
+    private static final String SERVICE_NAME = "service";
+    private static final ServiceDescriptor SERVICE = ServiceDescriptor.notParameterized(SERVICE_NAME);
+
+    @Param({"1", "10", "100", "250"})
+    public int typesPerName;
+
+    private GenerationContext context;
+    private Class<?> widestType;
+    private Class<?> missingType;
+
+    @Setup
+    public void setup() {
+        context = new GenerationContext(IntStream.rangeClosed(1, typesPerName).mapToObj(FactoryResolutionBenchmark::unrelatedType).map(ConstantServiceFactory::new));
+        widestType = unrelatedType(typesPerName);
+        missingType = Integer.class;
+    }
+
+    private static Class<?> unrelatedType(int dimensions) {
+        return Array.newInstance(String.class, new int[dimensions]).getClass();
+    }
+
+    @Benchmark
+    public Object resolveAndGenerate() {
+        return context.generate(widestType, SERVICE);
+    }
+
+    @Benchmark
+    public Object resolveMissingFactory() {
+        try {
+            return context.generate(missingType, SERVICE);
+        } catch (IllegalStateException expected) {
+            return expected;
+        }
+    }
+
+    private static class ConstantServiceFactory extends AbstractServiceFactory {
+
+        private final Object service;
+
+        public ConstantServiceFactory(Class serviceType) {
+            super(SERVICE_NAME, serviceType);
+            this.service = Array.newInstance(serviceType.getComponentType(), 0);
+        }
+
+        @Override
+        public Map parameters() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map roles() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            return service;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.AbstractServiceFactory;
+import dev.deadc0de.genesis.GenerationContext;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceFactory;
+import dev.deadc0de.genesis.ServiceGenerator;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jol.info.GraphLayout;
+
+public final class FootprintReport {
+
+    private static final Class<?>[] SERVICE_TYPES = {Object.class, String.class, Integer.class, Long.class, Number.class, CharSequence.class};
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private FootprintReport() {
+    }
+
+    public static void main(String[] arguments) {
+        final int factories = arguments.length > 0 ? Integer.parseInt(arguments[0]) : 50000;
+        System.out.printf("%-10s %-14s %-8s %14s %14s%n", "factories", "types per name", "names", "context bytes", "per factory");
+        for (int typesPerName : new int[]{1, 6}) {
+            final List<ServiceFactory> serviceFactories = IntStream.range(0, factories)
+                    .mapToObj(index -> new ConstantServiceFactory("service" + index / typesPerName, SERVICE_TYPES[index % typesPerName]))
+                    .collect(Collectors.toList());
+            final GenerationContext context = new GenerationContext(serviceFactories.stream(), DIRECT_EXECUTOR);
+            final long total = GraphLayout.parseInstance(context).subtract(GraphLayout.parseInstance(serviceFactories.toArray())).totalSize();
+            System.out.printf("%-10d %-14d %-8d %14d %14.1f%n", factories, typesPerName, factories / typesPerName, total, (double) total / factories);
+        }
+    }
+
+    private static class ConstantServiceFactory extends AbstractServiceFactory {
+
+        public ConstantServiceFactory(String serviceName, Class serviceType) {
+            super(serviceName, serviceType);
+        }
+
+        @Override
+        public Map parameters() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map roles() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            return serviceDescriptor.name;
+        }
+    }
+}
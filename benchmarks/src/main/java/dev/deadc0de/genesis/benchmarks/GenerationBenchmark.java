@@ -0,0 +1,55 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.GenerationContext;
+import dev.deadc0de.genesis.GenerationPlan;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.benchmarks.SyntheticModule.Node;
+import dev.deadc0de.genesis.module.ServiceModule;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+
+    @Param({"wide", "deep", "configured"})
+    public String shape;
+
+    @Param({"10", "100"})
+    public int size;
+
+    private GenerationContext context;
+    private ServiceDescriptor serviceDescriptor;
+    private GenerationPlan<Node> plan;
+
+    @Setup
+    public void setup() {
+        context = new GenerationContext(ServiceModule.assembleModule(new SyntheticModule()));
+        serviceDescriptor = SyntheticGraphs.graph(shape, size);
+        plan = context.plan(Node.class, serviceDescriptor);
+    }
+
+    @Benchmark
+    public Node generate() {
+        return context.generate(Node.class, serviceDescriptor);
+    }
+
+    @Benchmark
+    public Node executePlan() {
+        return plan.generate();
+    }
+}
@@ -0,0 +1,72 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.GenerationContext;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerationException;
+import dev.deadc0de.genesis.benchmarks.SyntheticModule.Node;
+import dev.deadc0de.genesis.module.ServiceModule;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GenerationFailureBenchmark {
+
+    @Param({"10", "100"})
+    public int depth;
+
+    private GenerationContext context;
+    private GenerationContext lightweightContext;
+    private ServiceDescriptor succeeding;
+    private ServiceDescriptor failing;
+
+    @Setup
+    public void setup() {
+        context = new GenerationContext(ServiceModule.assembleModule(new SyntheticModule()));
+        lightweightContext = GenerationContext.builder()
+                .module(new SyntheticModule(), ServiceModule::assembleModule)
+                .lightweightExceptions(true)
+                .build();
+        succeeding = SyntheticGraphs.deepChain(depth);
+        failing = SyntheticGraphs.brokenChain(depth);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public Node succeed() {
+        return context.generate(Node.class, succeeding);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public Object fail() {
+        return failure(context);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public Object failLightweight() {
+        return failure(lightweightContext);
+    }
+
+    private Object failure(GenerationContext context) {
+        try {
+            return context.generate(Node.class, failing);
+        } catch (ServiceGenerationException exception) {
+            return exception.serviceGenerationStack();
+        }
+    }
+}
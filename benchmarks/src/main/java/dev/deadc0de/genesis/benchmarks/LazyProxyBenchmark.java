@@ -0,0 +1,78 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+import dev.deadc0de.genesis.module.factory.LazyProxyResolver;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyProxyBenchmark {
+
+    private IntUnaryOperator direct;
+    private IntUnaryOperator generated;
+    private IntUnaryOperator reflective;
+    private int operand;
+
+    @Setup
+    public void setup() {
+        direct = value -> value + 1;
+        final ServiceGenerator serviceGenerator = new FixedServiceGenerator(direct);
+        final LazyProxyResolver resolver = new LazyProxyResolver("operator", IntUnaryOperator.class, Optional.of(Collections.singletonList("operator")));
+        generated = (IntUnaryOperator) resolver.apply(serviceGenerator, ServiceDescriptor.notParameterized("service"));
+        final Supplier<IntUnaryOperator> target = () -> direct;
+        reflective = (IntUnaryOperator) Proxy.newProxyInstance(
+                IntUnaryOperator.class.getClassLoader(),
+                new Class<?>[]{IntUnaryOperator.class},
+                (proxy, method, arguments) -> method.invoke(target.get(), arguments));
+        operand = 41;
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.applyAsInt(operand);
+    }
+
+    @Benchmark
+    public int generatedProxy() {
+        return generated.applyAsInt(operand);
+    }
+
+    @Benchmark
+    public int reflectionProxy() {
+        return reflective.applyAsInt(operand);
+    }
+
+    private static class FixedServiceGenerator implements ServiceGenerator {
+
+        private final Object service;
+
+        public FixedServiceGenerator(Object service) {
+            this.service = service;
+        }
+
+        @Override
+        public Object generate(Class serviceType, ServiceDescriptor serviceDescriptor) {
+            return service;
+        }
+    }
+}
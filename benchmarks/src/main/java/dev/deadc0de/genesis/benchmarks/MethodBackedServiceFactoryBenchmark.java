@@ -0,0 +1,68 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceFactory;
+import dev.deadc0de.genesis.ServiceGenerator;
+import dev.deadc0de.genesis.benchmarks.SyntheticModule.Node;
+import dev.deadc0de.genesis.module.ServiceModule;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodBackedServiceFactoryBenchmark {
+
+    private static final Node COLLABORATOR = new Node("collaborator", new Node[0]);
+
+    @Param({"0", "10"})
+    public int collaborators;
+
+    private ServiceFactory<?> reflective;
+    private ServiceFactory<?> generated;
+    private ServiceGenerator serviceGenerator;
+    private ServiceDescriptor serviceDescriptor;
+
+    @Setup
+    public void setup() {
+        reflective = ServiceModule.assembleModuleReflectively(new SyntheticModule()).filter(factory -> factory.serviceName().equals("node")).findFirst().get();
+        generated = ServiceModule.assembleModule(new SyntheticModule()).filter(factory -> factory.serviceName().equals("node")).findFirst().get();
+        serviceGenerator = new ConstantServiceGenerator();
+        final ServiceDescriptor[] children = new ServiceDescriptor[collaborators];
+        for (int index = 0; index != collaborators; ++index) {
+            children[index] = ServiceDescriptor.notParameterized("leaf");
+        }
+        serviceDescriptor = ServiceDescriptor.builder("node").parameter("id", "node").collaborator("children", children).build();
+    }
+
+    @Benchmark
+    public Object createReflective() {
+        return reflective.create(serviceGenerator, serviceDescriptor);
+    }
+
+    @Benchmark
+    public Object createGenerated() {
+        return generated.create(serviceGenerator, serviceDescriptor);
+    }
+
+    private static class ConstantServiceGenerator implements ServiceGenerator {
+
+        @Override
+        public Object generate(Class serviceType, ServiceDescriptor serviceDescriptor) {
+            return COLLABORATOR;
+        }
+    }
+}
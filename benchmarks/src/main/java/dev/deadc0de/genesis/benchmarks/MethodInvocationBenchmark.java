@@ -0,0 +1,77 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.module.factory.MethodHandleInvoker;
+import dev.deadc0de.genesis.module.factory.MethodInvoker;
+import dev.deadc0de.genesis.module.factory.ReflectiveMethodInvoker;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodInvocationBenchmark {
+
+    @Param({"0", "3", "10"})
+    public int arity;
+
+    private MethodInvoker reflective;
+    private MethodInvoker methodHandle;
+    private Object[] arguments;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        final Method method = Module.class.getMethod("arity" + arity, parameterTypes(arity));
+        final Module module = new Module();
+        reflective = new ReflectiveMethodInvoker(module, method);
+        methodHandle = new MethodHandleInvoker(module, method);
+        arguments = new Object[arity];
+        Arrays.fill(arguments, "argument");
+    }
+
+    private static Class<?>[] parameterTypes(int arity) {
+        final Class<?>[] parameterTypes = new Class<?>[arity];
+        Arrays.fill(parameterTypes, String.class);
+        return parameterTypes;
+    }
+
+    @Benchmark
+    public Object reflective() throws IllegalAccessException, InvocationTargetException {
+        return reflective.invoke(arguments);
+    }
+
+    @Benchmark
+    public Object methodHandle() throws IllegalAccessException, InvocationTargetException {
+        return methodHandle.invoke(arguments);
+    }
+
+    public static class Module {
+
+        public Object arity0() {
+            return this;
+        }
+
+        public Object arity3(String a0, String a1, String a2) {
+            return a2;
+        }
+
+        public Object arity10(String a0, String a1, String a2, String a3, String a4, String a5, String a6, String a7, String a8, String a9) {
+            return a9;
+        }
+    }
+}
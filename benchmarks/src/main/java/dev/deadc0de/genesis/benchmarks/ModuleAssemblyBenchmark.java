@@ -0,0 +1,43 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.GenerationContext;
+import dev.deadc0de.genesis.ServiceFactory;
+import dev.deadc0de.genesis.module.ServiceModule;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModuleAssemblyBenchmark {
+
+    private final SyntheticModule module = new SyntheticModule();
+
+    @Benchmark
+    public List<ServiceFactory> assembleGenerated() {
+        return ServiceModule.assembleModule(module).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ServiceFactory> assembleReflectively() {
+        return ServiceModule.assembleModuleReflectively(module).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public GenerationContext createContext() {
+        return new GenerationContext(ServiceModule.assembleModule(module));
+    }
+}
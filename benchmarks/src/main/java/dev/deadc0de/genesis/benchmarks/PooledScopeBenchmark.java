@@ -0,0 +1,107 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.AbstractServiceFactory;
+import dev.deadc0de.genesis.GenerationContext;
+import dev.deadc0de.genesis.Lease;
+import dev.deadc0de.genesis.PooledServiceFactory;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PooledScopeBenchmark {
+
+    private static final String SERVICE_NAME = "buffer";
+
+    @Param({"1024", "65536"})
+    public int capacity;
+
+    private GenerationContext context;
+    private ServiceDescriptor prototype;
+    private ServiceDescriptor pooled;
+
+    @Setup
+    public void setup() {
+        context = new GenerationContext(Stream.of(new BufferServiceFactory(capacity)));
+        prototype = ServiceDescriptor.builder(SERVICE_NAME).scope(dev.deadc0de.genesis.Scope.PROTOTYPE).build();
+        pooled = ServiceDescriptor.notParameterized(SERVICE_NAME);
+    }
+
+    @Benchmark
+    public int generatePrototype() {
+        final ByteBuffer buffer = context.generate(ByteBuffer.class, prototype);
+        return buffer.put((byte) 1).position();
+    }
+
+    @Benchmark
+    public int leasePooled() {
+        try (Lease<ByteBuffer> lease = context.lease(ByteBuffer.class, pooled)) {
+            return lease.get().put((byte) 1).position();
+        }
+    }
+
+    private static class BufferServiceFactory extends AbstractServiceFactory<ByteBuffer> implements PooledServiceFactory<ByteBuffer> {
+
+        private final int capacity;
+
+        public BufferServiceFactory(int capacity) {
+            super(SERVICE_NAME, ByteBuffer.class);
+            this.capacity = capacity;
+        }
+
+        @Override
+        public Map parameters() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map roles() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public dev.deadc0de.genesis.Scope scope() {
+            return dev.deadc0de.genesis.Scope.POOLED;
+        }
+
+        @Override
+        public int perThreadCapacity() {
+            return DEFAULT_PER_THREAD_CAPACITY;
+        }
+
+        @Override
+        public int sharedCapacity() {
+            return DEFAULT_SHARED_CAPACITY;
+        }
+
+        @Override
+        public void reset(ByteBuffer service) {
+            service.clear();
+        }
+
+        @Override
+        public ByteBuffer create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            return ByteBuffer.allocate(capacity);
+        }
+    }
+}
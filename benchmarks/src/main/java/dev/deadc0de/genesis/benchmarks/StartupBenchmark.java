@@ -0,0 +1,117 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.AbstractServiceFactory;
+import dev.deadc0de.genesis.GenerationContext;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceFactory;
+import dev.deadc0de.genesis.ServiceGenerator;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Class<?>[] SERVICE_TYPES = {Object.class, String.class, Integer.class, Long.class, Number.class, CharSequence.class};
+
+    @Param({"300"})
+    public int modules;
+
+    @Param({"10000"})
+    public int factories;
+
+    private List<SyntheticStartupModule> startupModules;
+    private GenerationContext context;
+    private SyntheticStartupModule plugin;
+
+    @Setup
+    public void setup() {
+        final int factoriesPerModule = factories / modules;
+        startupModules = IntStream.range(0, modules)
+                .mapToObj(index -> new SyntheticStartupModule(index, factoriesPerModule + (index < factories % modules ? 1 : 0)))
+                .collect(Collectors.toList());
+        context = parallel();
+        plugin = new SyntheticStartupModule(modules, factoriesPerModule);
+    }
+
+    @Benchmark
+    public GenerationContext sequential() {
+        return new GenerationContext(startupModules.stream().flatMap(SyntheticStartupModule::assemble));
+    }
+
+    @Benchmark
+    public GenerationContext parallel() {
+        return GenerationContext.builder().modules(startupModules, SyntheticStartupModule::assemble).build();
+    }
+
+    @Benchmark
+    public GenerationContext rebuildWithPlugin() {
+        return new GenerationContext(Stream.concat(startupModules.stream(), Stream.of(plugin)).flatMap(SyntheticStartupModule::assemble));
+    }
+
+    @Benchmark
+    public GenerationContext deriveWithPlugin() {
+        return context.withServiceFactories(plugin.assemble());
+    }
+
+    private static class SyntheticStartupModule {
+
+        private final int index;
+        private final int factories;
+
+        public SyntheticStartupModule(int index, int factories) {
+            this.index = index;
+            this.factories = factories;
+        }
+
+        public Stream<ServiceFactory> assemble() {
+            return IntStream.range(0, factories).mapToObj(factory -> new SyntheticServiceFactory("module" + index + ".service" + factory / SERVICE_TYPES.length, SERVICE_TYPES[factory % SERVICE_TYPES.length]));
+        }
+    }
+
+    private static class SyntheticServiceFactory extends AbstractServiceFactory {
+
+        private final Map<String, Optional<List<String>>> parameters;
+
+        public SyntheticServiceFactory(String serviceName, Class serviceType) {
+            super(serviceName, serviceType);
+            this.parameters = Collections.singletonMap("id", Optional.of(Collections.singletonList(serviceName)));
+        }
+
+        @Override
+        public Map parameters() {
+            return parameters;
+        }
+
+        @Override
+        public Map roles() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            return serviceDescriptor.name;
+        }
+    }
+}
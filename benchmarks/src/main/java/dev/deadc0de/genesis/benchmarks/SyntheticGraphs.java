@@ -0,0 +1,58 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.ServiceDescriptor;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class SyntheticGraphs {
+
+    private SyntheticGraphs() {
+    }
+
+    public static ServiceDescriptor graph(String shape, int size) {
+        switch (shape) {
+            case "wide":
+                return wideFanOut(size);
+            case "deep":
+                return deepChain(size);
+            case "configured":
+                return largeConfiguration(size);
+            default:
+                throw new IllegalArgumentException("unknown graph shape: " + shape);
+        }
+    }
+
+    public static ServiceDescriptor wideFanOut(int width) {
+        final List<ServiceDescriptor> children = new ArrayList<>(width);
+        for (int index = 0; index != width; ++index) {
+            children.add(ServiceDescriptor.builder("leaf").parameter("id", "leaf" + index).build());
+        }
+        return ServiceDescriptor.builder("node").parameter("id", "root").collaborators("children", children).build();
+    }
+
+    public static ServiceDescriptor deepChain(int depth) {
+        ServiceDescriptor chain = ServiceDescriptor.notParameterized("leaf");
+        for (int index = 0; index != depth; ++index) {
+            chain = ServiceDescriptor.builder("link").parameter("id", "link" + index).collaborator("next", chain).build();
+        }
+        return chain;
+    }
+
+    public static ServiceDescriptor brokenChain(int depth) {
+        ServiceDescriptor chain = ServiceDescriptor.builder("link").parameter("id", "broken").build();
+        for (int index = 1; index < depth; ++index) {
+            chain = ServiceDescriptor.builder("link").parameter("id", "link" + index).collaborator("next", chain).build();
+        }
+        return chain;
+    }
+
+    public static ServiceDescriptor largeConfiguration(int parameters) {
+        final ServiceDescriptor.Builder builder = ServiceDescriptor.builder("configured").parameter("id", "configured");
+        final List<String> values = new ArrayList<>(parameters);
+        for (int index = 0; index != parameters; ++index) {
+            builder.parameter("unused" + index, "value" + index);
+            values.add("value" + index);
+        }
+        return builder.parameter("values", values).build();
+    }
+}
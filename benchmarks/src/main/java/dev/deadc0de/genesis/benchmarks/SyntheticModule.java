@@ -0,0 +1,36 @@
+package dev.deadc0de.genesis.benchmarks;
+
+import dev.deadc0de.genesis.module.Default;
+import dev.deadc0de.genesis.module.Parameter;
+import dev.deadc0de.genesis.module.Role;
+import dev.deadc0de.genesis.module.ServiceModule;
+
+public class SyntheticModule implements ServiceModule {
+
+    public Node node(@Parameter("id") @Default("node") String id, @Role("children") @Default({}) Node[] children) {
+        return new Node(id, children);
+    }
+
+    public Node link(@Parameter("id") @Default("link") String id, @Role("next") Node next) {
+        return new Node(id, new Node[]{next});
+    }
+
+    public Node leaf(@Parameter("id") @Default("leaf") String id) {
+        return new Node(id, new Node[0]);
+    }
+
+    public Node configured(@Parameter("id") String id, @Parameter("values") @Default({}) String[] values) {
+        return new Node(id, new Node[0]);
+    }
+
+    public static final class Node {
+
+        public final String id;
+        public final Node[] children;
+
+        public Node(String id, Node[] children) {
+            this.id = id;
+            this.children = children;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package dev.deadc0de.genesis;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public interface AsyncServiceFactory<S> extends ServiceFactory<S> {
+
+    CompletableFuture<S> createAsync(AsyncServiceGenerator asyncServiceGenerator, ServiceDescriptor serviceDescriptor);
+
+    @Override
+    default S create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        final AsyncServiceGenerator asyncServiceGenerator = serviceGenerator instanceof AsyncServiceGenerator
+                ? (AsyncServiceGenerator) serviceGenerator
+                : new CompletingServiceGenerator(serviceGenerator);
+        return Futures.join(createAsync(asyncServiceGenerator, serviceDescriptor));
+    }
+
+    static <S> AsyncServiceFactory<S> adapt(ServiceFactory<S> serviceFactory, Executor executor) {
+        if (serviceFactory instanceof AsyncServiceFactory) {
+            return (AsyncServiceFactory<S>) serviceFactory;
+        }
+        return new AsyncServiceFactoryAdapter<>(serviceFactory, executor);
+    }
+}
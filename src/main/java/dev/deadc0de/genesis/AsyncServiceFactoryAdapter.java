@@ -0,0 +1,76 @@
+package dev.deadc0de.genesis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+final class AsyncServiceFactoryAdapter<S> extends AbstractServiceFactory<S> implements AsyncServiceFactory<S> {
+
+    private final ServiceFactory<S> serviceFactory;
+    private final Executor executor;
+
+    public AsyncServiceFactoryAdapter(ServiceFactory<S> serviceFactory, Executor executor) {
+        super(serviceFactory.serviceName(), serviceFactory.serviceType());
+        this.serviceFactory = serviceFactory;
+        this.executor = executor;
+    }
+
+    @Override
+    public Map<String, Optional<List<String>>> parameters() {
+        return serviceFactory.parameters();
+    }
+
+    @Override
+    public Map<String, Map.Entry<Class<?>, Optional<List<String>>>> roles() {
+        return serviceFactory.roles();
+    }
+
+    @Override
+    public Set<String> lazyRoles() {
+        return serviceFactory.lazyRoles();
+    }
+
+    @Override
+    public Scope scope() {
+        return serviceFactory.scope();
+    }
+
+    @Override
+    public S create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        return serviceFactory.create(serviceGenerator, serviceDescriptor);
+    }
+
+    @Override
+    public CompletableFuture<S> createAsync(AsyncServiceGenerator asyncServiceGenerator, ServiceDescriptor serviceDescriptor) {
+        return supplyAsync(() -> serviceFactory.create(asyncServiceGenerator, serviceDescriptor));
+    }
+
+    public CompletableFuture<S> supplyAsync(Supplier<S> creation) {
+        final CompletableFuture<S> service = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (service.isDone()) {
+                    return;
+                }
+                try {
+                    service.complete(creation.get());
+                } catch (RuntimeException | Error failure) {
+                    service.completeExceptionally(ServiceGenerationException.shared(failure));
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            service.completeExceptionally(new ServiceGenerationException(serviceFactory, exception));
+        }
+        return service;
+    }
+
+    @Override
+    public String toString() {
+        return serviceFactory.toString();
+    }
+}
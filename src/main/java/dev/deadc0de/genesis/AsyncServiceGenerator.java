@@ -0,0 +1,8 @@
+package dev.deadc0de.genesis;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncServiceGenerator extends ServiceGenerator {
+
+    <S> CompletableFuture<S> generateAsync(Class<S> serviceType, ServiceDescriptor serviceDescriptor);
+}
@@ -0,0 +1,8 @@
+package dev.deadc0de.genesis;
+
+public interface CompilableServiceFactory<S> extends ServiceFactory<S> {
+
+    PlannedArgument[] compile(GenerationPlanner generationPlanner, ServiceDescriptor serviceDescriptor);
+
+    S create(ServiceGenerator serviceGenerator, Object[] arguments);
+}
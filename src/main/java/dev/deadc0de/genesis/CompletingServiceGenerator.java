@@ -0,0 +1,26 @@
+package dev.deadc0de.genesis;
+
+import java.util.concurrent.CompletableFuture;
+
+final class CompletingServiceGenerator implements AsyncServiceGenerator {
+
+    final ServiceGenerator serviceGenerator;
+
+    public CompletingServiceGenerator(ServiceGenerator serviceGenerator) {
+        this.serviceGenerator = serviceGenerator;
+    }
+
+    @Override
+    public <S> S generate(Class<S> serviceType, ServiceDescriptor serviceDescriptor) {
+        return serviceGenerator.generate(serviceType, serviceDescriptor);
+    }
+
+    @Override
+    public <S> CompletableFuture<S> generateAsync(Class<S> serviceType, ServiceDescriptor serviceDescriptor) {
+        try {
+            return CompletableFuture.completedFuture(serviceGenerator.generate(serviceType, serviceDescriptor));
+        } catch (RuntimeException | Error failure) {
+            return Futures.failed(failure);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package dev.deadc0de.genesis;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+final class DescriptorValidation {
+
+    private final GenerationContext context;
+    private final Set<Requested> valid;
+    private final Queue<String> problems;
+
+    public DescriptorValidation(GenerationContext context) {
+        this.context = context;
+        this.valid = ConcurrentHashMap.newKeySet();
+        this.problems = new ConcurrentLinkedQueue<>();
+    }
+
+    public List<String> validate(Class<?> serviceType, Collection<ServiceDescriptor> serviceDescriptors) {
+        serviceDescriptors.parallelStream().forEach(serviceDescriptor -> validate(new Requested(serviceType, serviceDescriptor), null, serviceDescriptor.name));
+        return problems.stream().distinct().sorted().collect(Collectors.toList());
+    }
+
+    private boolean validate(Requested requested, Ancestor ancestors, String path) {
+        if (valid.contains(requested)) {
+            return true;
+        }
+        boolean deferred = false;
+        for (Ancestor ancestor = ancestors; ancestor != null; ancestor = ancestor.parent) {
+            deferred |= ancestor.lazy;
+            if (ancestor.requested.equals(requested)) {
+                return deferred || problem("%s: circular dependency detected", path);
+            }
+        }
+        final ServiceFactory<?> serviceFactory;
+        try {
+            serviceFactory = context.resolveServiceFactory(requested.serviceDescriptor, requested.serviceType);
+        } catch (IllegalStateException exception) {
+            return problem("%s: %s (%s)", path, exception.getMessage(), requested.serviceType.getCanonicalName());
+        }
+        final ServiceDescriptor serviceDescriptor = requested.serviceDescriptor;
+        boolean validDescriptor = true;
+        final Map<String, Optional<List<String>>> parameters = serviceFactory.parameters();
+        for (Map.Entry<String, Optional<List<String>>> parameter : parameters.entrySet()) {
+            if (!serviceDescriptor.configuration.containsKey(parameter.getKey()) && !parameter.getValue().isPresent()) {
+                validDescriptor = problem("%s: missing parameter: %s", path, parameter.getKey());
+            }
+        }
+        final Map<String, Map.Entry<Class<?>, Optional<List<String>>>> roles = serviceFactory.roles();
+        final Set<String> lazyRoles = serviceFactory.lazyRoles();
+        final Ancestor eagerLineage = new Ancestor(requested, ancestors, false);
+        final Ancestor lazyLineage = new Ancestor(requested, ancestors, true);
+        for (Map.Entry<String, Map.Entry<Class<?>, Optional<List<String>>>> role : roles.entrySet()) {
+            final String roleName = role.getKey();
+            final Class<?> roleType = role.getValue().getKey();
+            final List<ServiceDescriptor> roleCollaborators = collaborators(serviceDescriptor, roleName, role.getValue().getValue());
+            if (roleCollaborators == null) {
+                validDescriptor = problem("%s: missing collaborator: %s (%s)", path, roleName, roleType.getCanonicalName());
+                continue;
+            }
+            if (!roleType.isArray() && roleCollaborators.size() != 1) {
+                validDescriptor = problem("%s: expected a single collaborator for %s, but %d collaborators found", path, roleName, roleCollaborators.size());
+                continue;
+            }
+            final Class<?> collaboratorType = roleType.isArray() ? roleType.getComponentType() : roleType;
+            final Ancestor lineage = lazyRoles.contains(roleName) ? lazyLineage : eagerLineage;
+            for (int index = 0; index != roleCollaborators.size(); ++index) {
+                final ServiceDescriptor collaborator = roleCollaborators.get(index);
+                final String collaboratorPath = roleType.isArray()
+                        ? String.format("%s > %s[%d]=%s", path, roleName, index, collaborator.name)
+                        : String.format("%s > %s=%s", path, roleName, collaborator.name);
+                if (!validate(new Requested(collaboratorType, collaborator), lineage, collaboratorPath)) {
+                    validDescriptor = false;
+                }
+            }
+        }
+        if (validDescriptor) {
+            valid.add(requested);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean problem(String format, Object... arguments) {
+        problems.add(String.format(format, arguments));
+        return false;
+    }
+
+    private static List<ServiceDescriptor> collaborators(ServiceDescriptor serviceDescriptor, String roleName, Optional<List<String>> defaultCollaboratorNames) {
+        final List<ServiceDescriptor> collaborators = serviceDescriptor.collaborators.get(roleName);
+        if (collaborators != null) {
+            return collaborators;
+        }
+        return defaultCollaboratorNames
+                .map(collaboratorNames -> collaboratorNames.stream().map(ServiceDescriptor::notParameterized).collect(Collectors.toList()))
+                .orElse(null);
+    }
+
+    private static class Requested {
+
+        private final Class<?> serviceType;
+        private final ServiceDescriptor serviceDescriptor;
+
+        public Requested(Class<?> serviceType, ServiceDescriptor serviceDescriptor) {
+            this.serviceType = serviceType;
+            this.serviceDescriptor = serviceDescriptor;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Requested)) {
+                return false;
+            }
+            final Requested other = (Requested) obj;
+            return serviceType == other.serviceType && serviceDescriptor.equals(other.serviceDescriptor);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * serviceType.hashCode() + serviceDescriptor.hashCode();
+        }
+    }
+
+    private static class Ancestor {
+
+        private final Requested requested;
+        private final Ancestor parent;
+        private final boolean lazy;
+
+        public Ancestor(Requested requested, Ancestor parent, boolean lazy) {
+            this.requested = requested;
+            this.parent = parent;
+            this.lazy = lazy;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package dev.deadc0de.genesis;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public final class Futures {
+
+    private Futures() {
+    }
+
+    public static <T> CompletableFuture<T> failed(Throwable failure) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(ServiceGenerationException.shared(failure));
+        return future;
+    }
+
+    public static Throwable cause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return ServiceGenerationException.shared(cause);
+    }
+
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            final Throwable cause = cause(exception);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw exception;
+        }
+    }
+}
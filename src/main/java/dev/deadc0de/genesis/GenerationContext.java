@@ -1,53 +1,459 @@
 package dev.deadc0de.genesis;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class GenerationContext implements ServiceGenerator {
+public class GenerationContext implements AsyncServiceGenerator {
 
-    private final Map<String, Map<Class, ServiceFactory>> context;
+    static final int MAX_CACHED_PLANS = 1024;
+    private static final ServiceFactoryResolution NOT_FOUND = ServiceFactoryResolution.failed("cannot find a service factory for the requested service");
+
+    private final ServiceNames serviceNames;
+    private final PersistentArray<RegisteredServiceFactories> context;
+    private final ScopedInstances scopedInstances;
+    private final ConcurrentMap<PlanKey, GenerationPlan> plans;
+    private final Executor asyncExecutor;
+    final boolean lightweightExceptions;
 
     public GenerationContext(Stream<ServiceFactory> serviceFactories) {
-        this.context = serviceFactories.collect(
-                Collectors.groupingBy(ServiceFactory::serviceName,
-                        Collectors.groupingBy(ServiceFactory::serviceType,
-                                Collectors.reducing(null, GenerationContext::ensureNoDuplicateFactories))));
+        this(serviceFactories, defaultAsyncExecutor());
+    }
+
+    public GenerationContext(Stream<ServiceFactory> serviceFactories, Executor asyncExecutor) {
+        this(serviceFactories, asyncExecutor, null);
+    }
+
+    public GenerationContext(Stream<ServiceFactory> serviceFactories, Executor asyncExecutor, GenerationListener listener) {
+        this(serviceFactories, asyncExecutor, listener, ServiceGenerationException.LIGHTWEIGHT_BY_DEFAULT);
+    }
+
+    private GenerationContext(Stream<ServiceFactory> serviceFactories, Executor asyncExecutor, GenerationListener listener, boolean lightweightExceptions) {
+        this(new ServiceNames(), serviceFactories, asyncExecutor, listener, lightweightExceptions);
+    }
+
+    private GenerationContext(ServiceNames serviceNames, Stream<ServiceFactory> serviceFactories, Executor asyncExecutor, GenerationListener listener, boolean lightweightExceptions) {
+        this(serviceNames, index(serviceNames, serviceFactories), new ScopedInstances(listener == null ? null : new GenerationListening(listener)), asyncExecutor, lightweightExceptions);
+    }
+
+    private GenerationContext(ServiceNames serviceNames, PersistentArray<RegisteredServiceFactories> context, ScopedInstances scopedInstances, Executor asyncExecutor, boolean lightweightExceptions) {
+        this.serviceNames = serviceNames;
+        this.context = context;
+        this.scopedInstances = scopedInstances;
+        this.plans = new ConcurrentHashMap<>();
+        this.asyncExecutor = asyncExecutor;
+        this.lightweightExceptions = lightweightExceptions;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static Executor defaultAsyncExecutor() {
+        return VirtualThreads.executor().orElseGet(ForkJoinPool::commonPool);
+    }
+
+    private static PersistentArray<RegisteredServiceFactories> index(ServiceNames serviceNames, Stream<ServiceFactory> serviceFactories) {
+        final Set<Map.Entry<String, Class>> duplicates = ConcurrentHashMap.newKeySet();
+        final ConcurrentMap<String, ConcurrentMap<Class, ServiceFactory>> index = serviceFactories.collect(
+                Collectors.groupingByConcurrent(ServiceFactory::serviceName,
+                        Collectors.toConcurrentMap(ServiceFactory::serviceType, Function.identity(), (former, latter) -> {
+                            duplicates.add(new AbstractMap.SimpleImmutableEntry<>(former.serviceName(), former.serviceType()));
+                            return former;
+                        })));
+        ensureNoDuplicateFactories(duplicates);
+        final Map<Integer, RegisteredServiceFactories> registrations = new HashMap<>();
+        index.forEach((serviceName, registered) -> registrations.put(serviceNames.intern(serviceName), new RegisteredServiceFactories(serviceName, registered)));
+        return PersistentArray.<RegisteredServiceFactories>empty().with(registrations);
+    }
+
+    public GenerationContext withServiceFactories(Stream<ServiceFactory> added) {
+        return derive(added, Stream.empty());
+    }
+
+    public GenerationContext withoutServiceFactories(Stream<ServiceFactory> removed) {
+        return derive(Stream.empty(), removed);
+    }
+
+    public GenerationContext derive(Stream<ServiceFactory> added, Stream<ServiceFactory> removed) {
+        final Map<String, Map<Class, ServiceFactory>> changes = new HashMap<>();
+        final Set<Map.Entry<String, Class>> unregistered = new HashSet<>();
+        removed.forEach(serviceFactory -> {
+            final Map<Class, ServiceFactory> serviceFactories = changes.computeIfAbsent(serviceFactory.serviceName(), this::registeredServiceFactories);
+            if (serviceFactories.remove(serviceFactory.serviceType()) == null) {
+                unregistered.add(new AbstractMap.SimpleImmutableEntry<>(serviceFactory.serviceName(), serviceFactory.serviceType()));
+            }
+        });
+        ensureNoUnregisteredFactories(unregistered);
+        final Set<Map.Entry<String, Class>> duplicates = new HashSet<>();
+        added.forEach(serviceFactory -> {
+            final Map<Class, ServiceFactory> serviceFactories = changes.computeIfAbsent(serviceFactory.serviceName(), this::registeredServiceFactories);
+            if (serviceFactories.putIfAbsent(serviceFactory.serviceType(), serviceFactory) != null) {
+                duplicates.add(new AbstractMap.SimpleImmutableEntry<>(serviceFactory.serviceName(), serviceFactory.serviceType()));
+            }
+        });
+        ensureNoDuplicateFactories(duplicates);
+        final Map<Integer, RegisteredServiceFactories> registrations = new HashMap<>();
+        changes.forEach((serviceName, serviceFactories) -> registrations.put(serviceNames.intern(serviceName), serviceFactories.isEmpty() ? null : new RegisteredServiceFactories(serviceName, serviceFactories)));
+        final Set<String> changedServiceNames = changes.keySet();
+        final GenerationContext derived = new GenerationContext(serviceNames, context.with(registrations), scopedInstances.derive(changedServiceNames), asyncExecutor, lightweightExceptions);
+        plans.forEach((key, plan) -> {
+            if (!plan.dependsOnAny(changedServiceNames)) {
+                derived.plans.put(key, plan.rebind(derived, derived.scopedInstances));
+            }
+        });
+        return derived;
+    }
+
+    private Map<Class, ServiceFactory> registeredServiceFactories(String serviceName) {
+        final int nameId = serviceNames.find(serviceName);
+        final RegisteredServiceFactories registered = nameId == ServiceNames.UNKNOWN ? null : context.get(nameId);
+        final Map<Class, ServiceFactory> serviceFactories = new HashMap<>();
+        if (registered != null) {
+            for (int index = 0; index != registered.serviceTypes.length; ++index) {
+                serviceFactories.put(registered.serviceTypes[index], registered.serviceFactories[index]);
+            }
+        }
+        return serviceFactories;
     }
 
-    private static ServiceFactory ensureNoDuplicateFactories(ServiceFactory former, ServiceFactory latter) {
-        if (former != null) {
-            throw new IllegalArgumentException(String.format("found two service factories with same name and type (%s, %s)", former.serviceName(), former.serviceType()));
+    private static void ensureNoUnregisteredFactories(Set<Map.Entry<String, Class>> unregistered) {
+        if (!unregistered.isEmpty()) {
+            throw new IllegalArgumentException("cannot remove service factories that are not registered: " + describe(unregistered));
         }
-        return latter;
+    }
+
+    private static void ensureNoDuplicateFactories(Set<Map.Entry<String, Class>> duplicates) {
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        if (duplicates.size() == 1) {
+            final Map.Entry<String, Class> duplicate = duplicates.iterator().next();
+            throw new IllegalArgumentException(String.format("found two service factories with same name and type (%s, %s)", duplicate.getKey(), duplicate.getValue()));
+        }
+        throw new IllegalArgumentException("found service factories with same name and type: " + describe(duplicates));
+    }
+
+    private static String describe(Set<Map.Entry<String, Class>> registrations) {
+        final List<Map.Entry<String, Class>> sorted = new ArrayList<>(registrations);
+        sorted.sort(Comparator.comparing((Map.Entry<String, Class> registration) -> registration.getKey()).thenComparing(registration -> registration.getValue().getName()));
+        return sorted.stream().map(registration -> String.format("(%s, %s)", registration.getKey(), registration.getValue())).collect(Collectors.joining(", ", "[", "]"));
     }
 
     @Override
     public <S> S generate(Class<S> serviceType, ServiceDescriptor serviceDescriptor) {
-        final Map<Class, ServiceFactory> serviceFactories = context.getOrDefault(serviceDescriptor.name, Collections.emptyMap());
-        final ServiceFactory<S> serviceFactory = selectServiceFactoryByWidestSubtype(serviceFactories, serviceType);
-        return serviceFactory.create(this, serviceDescriptor);
+        final ServiceFactory<S> serviceFactory = resolveServiceFactory(serviceDescriptor, serviceType);
+        final Scope scope = serviceDescriptor.scope.orElseGet(serviceFactory::scope);
+        final Object event = GenerationEvents.beginGeneration();
+        try {
+            return scopedInstances.instance(scope, serviceFactory, this, serviceDescriptor);
+        } finally {
+            if (event != null) {
+                GenerationEvents.endGeneration(event, serviceFactory);
+            }
+        }
+    }
+
+    @Override
+    public <S> CompletableFuture<S> generateAsync(Class<S> serviceType, ServiceDescriptor serviceDescriptor) {
+        final ServiceFactory<S> serviceFactory;
+        try {
+            serviceFactory = resolveServiceFactory(serviceDescriptor, serviceType);
+        } catch (IllegalStateException exception) {
+            return Futures.failed(exception);
+        }
+        final Scope scope = serviceDescriptor.scope.orElseGet(serviceFactory::scope);
+        return scopedInstances.instanceAsync(scope, AsyncServiceFactory.adapt(serviceFactory, asyncExecutor), serviceFactory, this, serviceDescriptor);
+    }
+
+    public <S> Lease<S> lease(Class<S> serviceType, ServiceDescriptor serviceDescriptor) {
+        final ServiceFactory<S> serviceFactory = resolveServiceFactory(serviceDescriptor, serviceType);
+        final Scope scope = serviceDescriptor.scope.orElseGet(serviceFactory::scope);
+        final Object event = GenerationEvents.beginGeneration();
+        try {
+            return scopedInstances.lease(scope, serviceFactory, this, serviceDescriptor);
+        } finally {
+            if (event != null) {
+                GenerationEvents.endGeneration(event, serviceFactory);
+            }
+        }
+    }
+
+    public <S> S generate(Class<S> serviceType, ServiceDescriptor serviceDescriptor, Executor executor) {
+        return plan(serviceType, serviceDescriptor).generate(executor);
+    }
+
+    public <S> GenerationPlan<S> plan(Class<S> serviceType, ServiceDescriptor serviceDescriptor) {
+        final PlanKey key = new PlanKey(serviceType, serviceDescriptor);
+        GenerationPlan<S> plan = plans.get(key);
+        if (plan == null) {
+            plan = new GenerationPlanCompiler(this, scopedInstances).compile(serviceType, serviceDescriptor);
+            evictPlanIfFull();
+            final GenerationPlan<S> concurrentlyCompiled = plans.putIfAbsent(key, plan);
+            if (concurrentlyCompiled != null) {
+                plan = concurrentlyCompiled;
+            }
+        }
+        return plan;
+    }
+
+    private void evictPlanIfFull() {
+        if (plans.size() >= MAX_CACHED_PLANS) {
+            final Iterator<PlanKey> keys = plans.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+
+    int cachedPlans() {
+        return plans.size();
+    }
+
+    <S> ServiceFactory<S> resolveServiceFactory(ServiceDescriptor serviceDescriptor, Class<S> serviceType) {
+        final RegisteredServiceFactories registered = registeredServiceFactories(serviceDescriptor);
+        if (registered == null) {
+            return selectServiceFactory(serviceDescriptor.name, null, serviceType).serviceFactory();
+        }
+        ServiceFactoryResolution resolution = registered.get(serviceType);
+        if (resolution == null) {
+            resolution = registered.putIfAbsent(serviceType, selectServiceFactory(serviceDescriptor.name, registered, serviceType));
+        }
+        return resolution.serviceFactory();
     }
 
-    private static <S> ServiceFactory<S> selectServiceFactoryByWidestSubtype(Map<Class, ServiceFactory> serviceFactories, Class<S> serviceType) {
-        final Set<Class> serviceTypes = new HashSet<>();
-        serviceFactories.keySet().stream().filter(serviceType::isAssignableFrom).forEach(type -> {
-            serviceTypes.removeIf(supertype -> supertype.isAssignableFrom(type));
-            if (serviceTypes.stream().noneMatch(type::isAssignableFrom)) {
-                serviceTypes.add(type);
+    private RegisteredServiceFactories registeredServiceFactories(ServiceDescriptor serviceDescriptor) {
+        final int nameId = serviceNames.find(serviceDescriptor);
+        return nameId == ServiceNames.UNKNOWN ? null : context.get(nameId);
+    }
+
+    private static ServiceFactoryResolution selectServiceFactory(String serviceName, RegisteredServiceFactories registered, Class<?> serviceType) {
+        final Object event = GenerationEvents.beginResolution();
+        final ServiceFactoryResolution resolution = registered == null ? NOT_FOUND : registered.selectByWidestSubtype(serviceType);
+        if (event != null) {
+            final Class<?> resolvedType = resolution.isResolved() ? resolution.serviceFactory().serviceType() : null;
+            GenerationEvents.endResolution(event, serviceName, serviceType, resolvedType, registered == null ? 0 : registered.serviceFactories.length);
+        }
+        return resolution;
+    }
+
+    public List<String> validate(Class<?> serviceType, ServiceDescriptor serviceDescriptor) {
+        return validate(serviceType, Collections.singletonList(serviceDescriptor));
+    }
+
+    public List<String> validate(Class<?> serviceType, Collection<ServiceDescriptor> serviceDescriptors) {
+        return new DescriptorValidation(this).validate(serviceType, serviceDescriptors);
+    }
+
+    public List<PoolStatistics> poolStatistics() {
+        final List<PoolStatistics> statistics = scopedInstances.poolStatistics();
+        statistics.sort(Comparator.comparing((PoolStatistics pool) -> pool.serviceName).thenComparing(pool -> pool.serviceType).thenComparing(pool -> pool.serviceDescriptor.toString()));
+        return statistics;
+    }
+
+    public List<String> ambiguities() {
+        final List<String> ambiguities = new ArrayList<>();
+        context.forEach(registered -> {
+            if (registered.lattice != null) {
+                ambiguities.addAll(registered.lattice.ambiguities(registered.serviceName));
             }
         });
-        if (serviceTypes.isEmpty()) {
-            throw new IllegalStateException("cannot find a service factory for the requested service");
+        Collections.sort(ambiguities);
+        return ambiguities;
+    }
+
+    public static class Builder {
+
+        private final List<Supplier<Stream<ServiceFactory>>> sources;
+        private Executor asyncExecutor;
+        private GenerationListener listener;
+        private boolean rejectAmbiguities;
+        private boolean lightweightExceptions;
+
+        private Builder() {
+            this.sources = new ArrayList<>();
+            this.lightweightExceptions = ServiceGenerationException.LIGHTWEIGHT_BY_DEFAULT;
+        }
+
+        public <M> Builder module(M module, Function<? super M, Stream<ServiceFactory>> assembler) {
+            sources.add(() -> assembler.apply(module));
+            return this;
         }
-        if (serviceTypes.size() != 1) {
-            final String collisions = serviceTypes.stream().map(Class::getCanonicalName).collect(Collectors.joining(",", "[", "]"));
-            throw new IllegalStateException("found multiple service factory types for the requested service: " + collisions);
+
+        public <M> Builder modules(Collection<? extends M> modules, Function<? super M, Stream<ServiceFactory>> assembler) {
+            modules.forEach(module -> module(module, assembler));
+            return this;
+        }
+
+        public Builder serviceFactories(Supplier<Stream<ServiceFactory>> serviceFactories) {
+            sources.add(serviceFactories);
+            return this;
+        }
+
+        public Builder asyncExecutor(Executor asyncExecutor) {
+            this.asyncExecutor = asyncExecutor;
+            return this;
+        }
+
+        public Builder listener(GenerationListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public Builder rejectAmbiguities() {
+            this.rejectAmbiguities = true;
+            return this;
+        }
+
+        public Builder lightweightExceptions(boolean lightweightExceptions) {
+            this.lightweightExceptions = lightweightExceptions;
+            return this;
+        }
+
+        public GenerationContext build() {
+            final Stream<ServiceFactory> serviceFactories = sources.parallelStream().flatMap(Supplier::get);
+            final GenerationContext context = new GenerationContext(serviceFactories, asyncExecutor == null ? defaultAsyncExecutor() : asyncExecutor, listener, lightweightExceptions);
+            if (rejectAmbiguities) {
+                final List<String> ambiguities = context.ambiguities();
+                if (!ambiguities.isEmpty()) {
+                    throw new IllegalArgumentException("found ambiguous service factory types: " + ambiguities);
+                }
+            }
+            return context;
+        }
+    }
+
+    private static class Resolutions {
+
+        private static final int SCANNED_RESOLUTIONS = 8;
+        private static final Object[] NO_RESOLUTIONS = new Object[0];
+        private static final AtomicReferenceFieldUpdater<Resolutions, Object[]> RESOLUTIONS = AtomicReferenceFieldUpdater.newUpdater(Resolutions.class, Object[].class, "resolutions");
+
+        private volatile Object[] resolutions = NO_RESOLUTIONS;
+        private volatile ConcurrentMap<Class, ServiceFactoryResolution> overflow;
+
+        public ServiceFactoryResolution get(Class<?> serviceType) {
+            final Object[] scanned = resolutions;
+            for (int index = 0; index != scanned.length; index += 2) {
+                if (scanned[index] == serviceType) {
+                    return (ServiceFactoryResolution) scanned[index + 1];
+                }
+            }
+            final ConcurrentMap<Class, ServiceFactoryResolution> overflowing = overflow;
+            return overflowing == null ? null : overflowing.get(serviceType);
+        }
+
+        public ServiceFactoryResolution putIfAbsent(Class<?> serviceType, ServiceFactoryResolution resolution) {
+            while (true) {
+                final Object[] scanned = resolutions;
+                for (int index = 0; index != scanned.length; index += 2) {
+                    if (scanned[index] == serviceType) {
+                        return (ServiceFactoryResolution) scanned[index + 1];
+                    }
+                }
+                if (scanned.length == 2 * SCANNED_RESOLUTIONS) {
+                    return overflow().computeIfAbsent(serviceType, type -> resolution);
+                }
+                final Object[] updated = Arrays.copyOf(scanned, scanned.length + 2);
+                updated[scanned.length] = serviceType;
+                updated[scanned.length + 1] = resolution;
+                if (RESOLUTIONS.compareAndSet(this, scanned, updated)) {
+                    return resolution;
+                }
+            }
+        }
+
+        private ConcurrentMap<Class, ServiceFactoryResolution> overflow() {
+            ConcurrentMap<Class, ServiceFactoryResolution> overflowing = overflow;
+            if (overflowing == null) {
+                synchronized (this) {
+                    overflowing = overflow;
+                    if (overflowing == null) {
+                        overflowing = new ConcurrentHashMap<>();
+                        overflow = overflowing;
+                    }
+                }
+            }
+            return overflowing;
+        }
+    }
+
+    private static class RegisteredServiceFactories extends Resolutions {
+
+        private final String serviceName;
+        private final Class[] serviceTypes;
+        private final ServiceFactory[] serviceFactories;
+        private final ServiceTypeLattice lattice;
+
+        public RegisteredServiceFactories(String serviceName, Map<Class, ServiceFactory> serviceFactories) {
+            this.serviceName = serviceName;
+            this.serviceTypes = serviceFactories.keySet().toArray(new Class[serviceFactories.size()]);
+            this.serviceFactories = new ServiceFactory[serviceTypes.length];
+            Arrays.setAll(this.serviceFactories, index -> serviceFactories.get(serviceTypes[index]));
+            this.lattice = serviceTypes.length == 1 ? null : new ServiceTypeLattice((Set) serviceFactories.keySet());
+        }
+
+        public ServiceFactoryResolution selectByWidestSubtype(Class<?> serviceType) {
+            if (lattice == null) {
+                return serviceType.isAssignableFrom(serviceTypes[0]) ? ServiceFactoryResolution.resolved(serviceFactories[0]) : NOT_FOUND;
+            }
+            final List<Class<?>> widestSubtypes = lattice.widestSubtypes(serviceType);
+            if (widestSubtypes.isEmpty()) {
+                return NOT_FOUND;
+            }
+            if (widestSubtypes.size() != 1) {
+                return ServiceFactoryResolution.failed("found multiple service factory types for the requested service: " + ServiceTypeLattice.describe(widestSubtypes));
+            }
+            for (int index = 0; ; ++index) {
+                if (serviceTypes[index] == widestSubtypes.get(0)) {
+                    return ServiceFactoryResolution.resolved(serviceFactories[index]);
+                }
+            }
+        }
+    }
+
+    private static class PlanKey {
+
+        private final Class<?> serviceType;
+        private final ServiceDescriptor serviceDescriptor;
+
+        public PlanKey(Class<?> serviceType, ServiceDescriptor serviceDescriptor) {
+            this.serviceType = serviceType;
+            this.serviceDescriptor = serviceDescriptor;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PlanKey)) {
+                return false;
+            }
+            final PlanKey other = (PlanKey) obj;
+            return serviceType == other.serviceType && serviceDescriptor.equals(other.serviceDescriptor);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * serviceType.hashCode() + serviceDescriptor.hashCode();
         }
-        final Class type = serviceTypes.iterator().next();
-        return (ServiceFactory<S>) serviceFactories.get(type);
     }
 }
@@ -0,0 +1,28 @@
+package dev.deadc0de.genesis;
+
+public final class GenerationEvents {
+
+    private GenerationEvents() {
+    }
+
+    public static Object beginGeneration() {
+        return null;
+    }
+
+    public static void endGeneration(Object event, ServiceFactory<?> serviceFactory) {
+    }
+
+    public static Object beginCreation() {
+        return null;
+    }
+
+    public static void endCreation(Object event, ServiceFactory<?> serviceFactory, Class<?> moduleClass) {
+    }
+
+    public static Object beginResolution() {
+        return null;
+    }
+
+    public static void endResolution(Object event, String serviceName, Class<?> requestedType, Class<?> resolvedType, int candidates) {
+    }
+}
@@ -0,0 +1,13 @@
+package dev.deadc0de.genesis;
+
+public interface GenerationListener {
+
+    default void generationStarted(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor, int depth) {
+    }
+
+    default void generationCompleted(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor, int depth, long nanos) {
+    }
+
+    default void generationFailed(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor, int depth, long nanos, Throwable failure) {
+    }
+}
@@ -0,0 +1,85 @@
+package dev.deadc0de.genesis;
+
+import java.util.concurrent.CompletableFuture;
+
+final class GenerationListening {
+
+    private final GenerationListener listener;
+    private final ThreadLocal<int[]> depth;
+
+    public GenerationListening(GenerationListener listener) {
+        this.listener = listener;
+        this.depth = ThreadLocal.withInitial(() -> new int[1]);
+    }
+
+    public <S> S create(ServiceFactory<S> serviceFactory, ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        final int[] currentDepth = depth.get();
+        final int level = currentDepth[0];
+        listener.generationStarted(serviceFactory, serviceDescriptor, level);
+        final long start = System.nanoTime();
+        currentDepth[0] = level + 1;
+        try {
+            final S service = serviceFactory.create(serviceGenerator, serviceDescriptor);
+            listener.generationCompleted(serviceFactory, serviceDescriptor, level, System.nanoTime() - start);
+            return service;
+        } catch (RuntimeException | Error failure) {
+            listener.generationFailed(serviceFactory, serviceDescriptor, level, System.nanoTime() - start, failure);
+            throw failure;
+        } finally {
+            currentDepth[0] = level;
+        }
+    }
+
+    public <S> CompletableFuture<S> createAsync(ServiceFactory<S> serviceFactory, AsyncServiceFactory<S> asyncServiceFactory, AsyncServiceGenerator asyncServiceGenerator, ServiceDescriptor serviceDescriptor) {
+        final int[] currentDepth = depth.get();
+        final int level = currentDepth[0];
+        listener.generationStarted(serviceFactory, serviceDescriptor, level);
+        final long start = System.nanoTime();
+        currentDepth[0] = level + 1;
+        final CompletableFuture<S> service;
+        try {
+            service = asyncServiceFactory.createAsync(asyncServiceGenerator, serviceDescriptor);
+        } catch (RuntimeException | Error failure) {
+            listener.generationFailed(serviceFactory, serviceDescriptor, level, System.nanoTime() - start, failure);
+            throw failure;
+        } finally {
+            currentDepth[0] = level;
+        }
+        return service.whenComplete((created, failure) -> {
+            if (failure != null) {
+                listener.generationFailed(serviceFactory, serviceDescriptor, level, System.nanoTime() - start, Futures.cause(failure));
+            } else {
+                listener.generationCompleted(serviceFactory, serviceDescriptor, level, System.nanoTime() - start);
+            }
+        });
+    }
+
+    public Object create(CompilableServiceFactory<?> serviceFactory, ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor, int level, Object[] arguments) {
+        final int[] currentDepth = depth.get();
+        final int saved = currentDepth[0];
+        listener.generationStarted(serviceFactory, serviceDescriptor, level);
+        final long start = System.nanoTime();
+        currentDepth[0] = level + 1;
+        try {
+            final Object service = serviceFactory.create(serviceGenerator, arguments);
+            listener.generationCompleted(serviceFactory, serviceDescriptor, level, System.nanoTime() - start);
+            return service;
+        } catch (RuntimeException | Error failure) {
+            listener.generationFailed(serviceFactory, serviceDescriptor, level, System.nanoTime() - start, failure);
+            throw failure;
+        } finally {
+            currentDepth[0] = saved;
+        }
+    }
+
+    public int enter(int level) {
+        final int[] currentDepth = depth.get();
+        final int saved = currentDepth[0];
+        currentDepth[0] = level;
+        return saved;
+    }
+
+    public void exit(int saved) {
+        depth.get()[0] = saved;
+    }
+}
@@ -0,0 +1,301 @@
+package dev.deadc0de.genesis;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class GenerationPlan<S> {
+
+    private final ServiceGenerator serviceGenerator;
+    private final Step[] steps;
+
+    GenerationPlan(ServiceGenerator serviceGenerator, Step[] steps) {
+        this.serviceGenerator = serviceGenerator;
+        this.steps = steps;
+    }
+
+    boolean dependsOnAny(Set<String> serviceNames) {
+        for (Step step : steps) {
+            if (serviceNames.contains(step.serviceFactory.serviceName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    GenerationPlan<S> rebind(ServiceGenerator serviceGenerator, ScopedInstances scopedInstances) {
+        final Step[] rebound = new Step[steps.length];
+        for (int index = 0; index != steps.length; ++index) {
+            rebound[index] = steps[index].rebind(scopedInstances);
+        }
+        return new GenerationPlan<>(serviceGenerator, rebound);
+    }
+
+    public S generate() {
+        final Object[] instances = new Object[steps.length];
+        for (int index = 0; index != steps.length; ++index) {
+            try {
+                instances[index] = steps[index].execute(serviceGenerator, instances);
+            } catch (IllegalStateException failure) {
+                throw unwind(index, failure);
+            }
+        }
+        return (S) instances[steps.length - 1];
+    }
+
+    public S generate(Executor executor) {
+        if (steps.length == 1) {
+            return generate();
+        }
+        return (S) new ParallelExecution().run(executor);
+    }
+
+    private IllegalStateException unwind(int index, IllegalStateException failure) {
+        IllegalStateException exception = failure;
+        for (int parent = steps[index].parent; parent != Step.ROOT; parent = steps[parent].parent) {
+            exception = ServiceGenerationException.wrap(steps[parent].serviceFactory, exception, serviceGenerator);
+        }
+        return exception;
+    }
+
+    abstract static class Step {
+
+        public static final int ROOT = -1;
+
+        public final ServiceFactory<?> serviceFactory;
+        public int parent;
+        public int depth;
+
+        public Step(ServiceFactory<?> serviceFactory) {
+            this.serviceFactory = serviceFactory;
+            this.parent = ROOT;
+        }
+
+        public abstract Object execute(ServiceGenerator serviceGenerator, Object[] instances);
+
+        public abstract Step rebind(ScopedInstances scopedInstances);
+
+        public boolean confined() {
+            return false;
+        }
+    }
+
+    static class CompiledStep extends Step {
+
+        private final CompilableServiceFactory<?> compilableServiceFactory;
+        private final ServiceDescriptor serviceDescriptor;
+        private final PlannedArgument[] plannedArguments;
+        private final GenerationListening listening;
+
+        public CompiledStep(CompilableServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor, PlannedArgument[] plannedArguments, GenerationListening listening) {
+            super(serviceFactory);
+            this.compilableServiceFactory = serviceFactory;
+            this.serviceDescriptor = serviceDescriptor;
+            this.plannedArguments = plannedArguments;
+            this.listening = listening;
+        }
+
+        @Override
+        public Object execute(ServiceGenerator serviceGenerator, Object[] instances) {
+            final Object[] arguments = new Object[plannedArguments.length];
+            try {
+                for (int index = 0; index != plannedArguments.length; ++index) {
+                    arguments[index] = plannedArguments[index].resolve(serviceGenerator, instances);
+                }
+            } catch (IllegalStateException exception) {
+                throw ServiceGenerationException.wrap(serviceFactory, exception, serviceGenerator);
+            }
+            if (listening == null) {
+                return compilableServiceFactory.create(serviceGenerator, arguments);
+            }
+            return listening.create(compilableServiceFactory, serviceGenerator, serviceDescriptor, depth, arguments);
+        }
+
+        @Override
+        public Step rebind(ScopedInstances scopedInstances) {
+            return this;
+        }
+    }
+
+    static class ScopedStep extends Step {
+
+        private final Scope scope;
+        private final ServiceDescriptor serviceDescriptor;
+        private final ScopedInstances scopedInstances;
+
+        public ScopedStep(ServiceFactory<?> serviceFactory, Scope scope, ServiceDescriptor serviceDescriptor, ScopedInstances scopedInstances) {
+            super(serviceFactory);
+            this.scope = scope;
+            this.serviceDescriptor = serviceDescriptor;
+            this.scopedInstances = scopedInstances;
+        }
+
+        @Override
+        public Object execute(ServiceGenerator serviceGenerator, Object[] instances) {
+            final GenerationListening listening = scopedInstances.listening();
+            if (listening == null) {
+                return scopedInstances.instance(scope, serviceFactory, serviceGenerator, serviceDescriptor);
+            }
+            final int saved = listening.enter(depth);
+            try {
+                return scopedInstances.instance(scope, serviceFactory, serviceGenerator, serviceDescriptor);
+            } finally {
+                listening.exit(saved);
+            }
+        }
+
+        @Override
+        public Step rebind(ScopedInstances scopedInstances) {
+            final ScopedStep rebound = new ScopedStep(serviceFactory, scope, serviceDescriptor, scopedInstances);
+            rebound.parent = parent;
+            rebound.depth = depth;
+            return rebound;
+        }
+
+        @Override
+        public boolean confined() {
+            return scope == Scope.THREAD;
+        }
+    }
+
+    private class ParallelExecution {
+
+        private final Object[] instances;
+        private final AtomicIntegerArray pendingChildren;
+        private final AtomicIntegerArray failedChildren;
+        private final AtomicReferenceArray<Throwable> failures;
+        private final AtomicReferenceArray<Thread> running;
+        private final AtomicInteger firstFailure;
+        private final CompletableFuture<Void> completion;
+
+        public ParallelExecution() {
+            instances = new Object[steps.length];
+            pendingChildren = new AtomicIntegerArray(steps.length);
+            failedChildren = new AtomicIntegerArray(steps.length);
+            failures = new AtomicReferenceArray<>(steps.length);
+            running = new AtomicReferenceArray<>(steps.length);
+            firstFailure = new AtomicInteger(steps.length);
+            completion = new CompletableFuture<>();
+            for (Step step : steps) {
+                if (step.parent != Step.ROOT) {
+                    pendingChildren.incrementAndGet(step.parent);
+                }
+            }
+        }
+
+        public Object run(Executor executor) {
+            for (int index = 0; index != steps.length; ++index) {
+                if (pendingChildren.get(index) == 0 && !steps[index].confined()) {
+                    submit(executor, index);
+                }
+            }
+            for (int index = 0; index != steps.length; ++index) {
+                if (pendingChildren.get(index) == 0 && steps[index].confined()) {
+                    settle(index, executeConfined(index));
+                }
+            }
+            completion.join();
+            for (int index = 0; index != steps.length; ++index) {
+                final Throwable failure = failures.get(index);
+                if (failure instanceof IllegalStateException) {
+                    throw unwind(index, (IllegalStateException) failure);
+                }
+                if (failure instanceof RuntimeException) {
+                    throw (RuntimeException) failure;
+                }
+                if (failure != null) {
+                    throw (Error) failure;
+                }
+            }
+            return instances[steps.length - 1];
+        }
+
+        private void submit(Executor executor, int index) {
+            try {
+                executor.execute(() -> settle(index, execute(index)));
+            } catch (RejectedExecutionException exception) {
+                fail(index, exception);
+                settle(index, false);
+            }
+        }
+
+        private boolean executeConfined(int index) {
+            if (index > firstFailure.get()) {
+                return false;
+            }
+            try {
+                instances[index] = steps[index].execute(serviceGenerator, instances);
+                return true;
+            } catch (RuntimeException | Error failure) {
+                fail(index, failure);
+                return false;
+            }
+        }
+
+        private boolean execute(int index) {
+            if (index > firstFailure.get()) {
+                return false;
+            }
+            running.set(index, Thread.currentThread());
+            try {
+                if (index > firstFailure.get()) {
+                    return false;
+                }
+                instances[index] = steps[index].execute(serviceGenerator, instances);
+                return true;
+            } catch (RuntimeException | Error failure) {
+                fail(index, failure);
+                return false;
+            } finally {
+                synchronized (this) {
+                    running.set(index, null);
+                }
+                if (index > firstFailure.get()) {
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        private void fail(int index, Throwable failure) {
+            failures.set(index, failure);
+            int current = firstFailure.get();
+            while (index < current) {
+                if (firstFailure.compareAndSet(current, index)) {
+                    cancelAfter(index);
+                    return;
+                }
+                current = firstFailure.get();
+            }
+        }
+
+        private synchronized void cancelAfter(int index) {
+            for (int cancelled = index + 1; cancelled != steps.length; ++cancelled) {
+                final Thread thread = running.get(cancelled);
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
+        }
+
+        private void settle(int index, boolean succeeded) {
+            int settled = index;
+            boolean subtreeSucceeded = succeeded;
+            while (steps[settled].parent != Step.ROOT) {
+                final int parent = steps[settled].parent;
+                if (!subtreeSucceeded) {
+                    failedChildren.set(parent, 1);
+                }
+                if (pendingChildren.decrementAndGet(parent) != 0) {
+                    return;
+                }
+                settled = parent;
+                subtreeSucceeded = failedChildren.get(parent) == 0 && execute(parent);
+            }
+            completion.complete(null);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package dev.deadc0de.genesis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class GenerationPlanCompiler implements GenerationPlanner {
+
+    private final GenerationContext context;
+    private final ScopedInstances scopedInstances;
+    private final List<GenerationPlan.Step> steps;
+
+    public GenerationPlanCompiler(GenerationContext context, ScopedInstances scopedInstances) {
+        this.context = context;
+        this.scopedInstances = scopedInstances;
+        this.steps = new ArrayList<>();
+    }
+
+    public <S> GenerationPlan<S> compile(Class<S> serviceType, ServiceDescriptor serviceDescriptor) {
+        collaborator(serviceType, serviceDescriptor);
+        for (int index = steps.size() - 1; index >= 0; --index) {
+            final GenerationPlan.Step step = steps.get(index);
+            step.depth = step.parent == GenerationPlan.Step.ROOT ? 0 : steps.get(step.parent).depth + 1;
+        }
+        return new GenerationPlan<>(context, steps.toArray(new GenerationPlan.Step[steps.size()]));
+    }
+
+    @Override
+    public int collaborator(Class<?> serviceType, ServiceDescriptor serviceDescriptor) {
+        final ServiceFactory<?> serviceFactory = context.resolveServiceFactory(serviceDescriptor, serviceType);
+        final Scope scope = serviceDescriptor.scope.orElseGet(serviceFactory::scope);
+        final int firstChild = steps.size();
+        final GenerationPlan.Step step;
+        if (scope == Scope.PROTOTYPE && serviceFactory instanceof CompilableServiceFactory) {
+            final CompilableServiceFactory<?> compilableServiceFactory = (CompilableServiceFactory<?>) serviceFactory;
+            step = new GenerationPlan.CompiledStep(compilableServiceFactory, serviceDescriptor, compilableServiceFactory.compile(this, serviceDescriptor), scopedInstances.listening());
+        } else {
+            step = new GenerationPlan.ScopedStep(serviceFactory, scope, serviceDescriptor, scopedInstances);
+        }
+        final int index = steps.size();
+        steps.add(step);
+        for (int child = firstChild; child != index; ++child) {
+            if (steps.get(child).parent == GenerationPlan.Step.ROOT) {
+                steps.get(child).parent = index;
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,6 @@
+package dev.deadc0de.genesis;
+
+public interface GenerationPlanner {
+
+    int collaborator(Class<?> serviceType, ServiceDescriptor serviceDescriptor);
+}
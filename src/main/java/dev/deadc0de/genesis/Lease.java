@@ -0,0 +1,31 @@
+package dev.deadc0de.genesis;
+
+public final class Lease<S> implements AutoCloseable {
+
+    private final S service;
+    private final ServicePool pool;
+    private boolean closed;
+
+    Lease(S service, ServicePool pool) {
+        this.service = service;
+        this.pool = pool;
+    }
+
+    public S get() {
+        if (closed) {
+            throw new IllegalStateException("the lease was already closed");
+        }
+        return service;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (pool != null) {
+            pool.release(service);
+        }
+    }
+}
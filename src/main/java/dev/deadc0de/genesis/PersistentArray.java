@@ -0,0 +1,97 @@
+package dev.deadc0de.genesis;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Consumer;
+
+final class PersistentArray<V> {
+
+    private static final int CHUNK_BITS = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final PersistentArray EMPTY = new PersistentArray<>(new Object[0][], 0);
+
+    private final Object[][] chunks;
+    private final int size;
+
+    private PersistentArray(Object[][] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    public static <V> PersistentArray<V> empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public V get(int index) {
+        final int chunk = index >>> CHUNK_BITS;
+        if (chunk >= chunks.length) {
+            return null;
+        }
+        final Object[] values = chunks[chunk];
+        return values == null ? null : (V) values[index & CHUNK_MASK];
+    }
+
+    public PersistentArray<V> with(Map<Integer, ? extends V> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        int chunkCount = chunks.length;
+        for (Integer index : changes.keySet()) {
+            if (index < 0) {
+                throw new IllegalArgumentException("negative indices are not supported");
+            }
+            chunkCount = Math.max(chunkCount, (index >>> CHUNK_BITS) + 1);
+        }
+        final Object[][] updated = Arrays.copyOf(chunks, chunkCount);
+        final boolean[] copied = new boolean[chunkCount];
+        int updatedSize = size;
+        for (Map.Entry<Integer, ? extends V> change : changes.entrySet()) {
+            final int chunk = change.getKey() >>> CHUNK_BITS;
+            if (!copied[chunk]) {
+                updated[chunk] = updated[chunk] == null ? new Object[CHUNK_SIZE] : updated[chunk].clone();
+                copied[chunk] = true;
+            }
+            final int offset = change.getKey() & CHUNK_MASK;
+            final Object previous = updated[chunk][offset];
+            updated[chunk][offset] = change.getValue();
+            updatedSize += (change.getValue() == null ? 0 : 1) - (previous == null ? 0 : 1);
+        }
+        for (int chunk = 0; chunk != chunkCount; ++chunk) {
+            if (copied[chunk] && isEmpty(updated[chunk])) {
+                updated[chunk] = null;
+            }
+        }
+        int trimmed = chunkCount;
+        while (trimmed != 0 && updated[trimmed - 1] == null) {
+            --trimmed;
+        }
+        return new PersistentArray<>(trimmed == chunkCount ? updated : Arrays.copyOf(updated, trimmed), updatedSize);
+    }
+
+    private static boolean isEmpty(Object[] values) {
+        for (Object value : values) {
+            if (value != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void forEach(Consumer<? super V> action) {
+        for (Object[] values : chunks) {
+            if (values == null) {
+                continue;
+            }
+            for (Object value : values) {
+                if (value != null) {
+                    action.accept((V) value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package dev.deadc0de.genesis;
+
+public interface PlannedArgument {
+
+    Object resolve(ServiceGenerator serviceGenerator, Object[] instances);
+}
@@ -0,0 +1,27 @@
+package dev.deadc0de.genesis;
+
+public final class PoolStatistics {
+
+    public final String serviceName;
+    public final String serviceType;
+    public final ServiceDescriptor serviceDescriptor;
+    public final long hits;
+    public final long misses;
+    public final long evictions;
+    public final int sharedIdle;
+
+    public PoolStatistics(String serviceName, String serviceType, ServiceDescriptor serviceDescriptor, long hits, long misses, long evictions, int sharedIdle) {
+        this.serviceName = serviceName;
+        this.serviceType = serviceType;
+        this.serviceDescriptor = serviceDescriptor;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.sharedIdle = sharedIdle;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%s:%s) %s hits=%d misses=%d evictions=%d sharedIdle=%d", serviceName, serviceType, serviceDescriptor, hits, misses, evictions, sharedIdle);
+    }
+}
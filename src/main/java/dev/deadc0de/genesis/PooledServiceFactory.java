@@ -0,0 +1,13 @@
+package dev.deadc0de.genesis;
+
+public interface PooledServiceFactory<S> extends ServiceFactory<S> {
+
+    int DEFAULT_PER_THREAD_CAPACITY = 4;
+    int DEFAULT_SHARED_CAPACITY = 16;
+
+    int perThreadCapacity();
+
+    int sharedCapacity();
+
+    void reset(S service);
+}
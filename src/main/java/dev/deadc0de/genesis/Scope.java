@@ -0,0 +1,9 @@
+package dev.deadc0de.genesis;
+
+public enum Scope {
+
+    PROTOTYPE,
+    SINGLETON,
+    THREAD,
+    POOLED
+}
@@ -0,0 +1,397 @@
+package dev.deadc0de.genesis;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+final class ScopedInstances {
+
+    private static final ConcurrentMap<Thread, SingletonInstance> AWAITED_SINGLETONS = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<InstanceKey, SingletonInstance> singletons;
+    private final ConcurrentMap<InstanceKey, ServicePool> pools;
+    private final ThreadLocal<Map<InstanceKey, Object>> threadInstances;
+    private final GenerationListening listening;
+
+    public ScopedInstances(GenerationListening listening) {
+        singletons = new ConcurrentHashMap<>();
+        pools = new ConcurrentHashMap<>();
+        threadInstances = ThreadLocal.withInitial(HashMap::new);
+        this.listening = listening;
+    }
+
+    public ScopedInstances derive(Set<String> changedServiceNames) {
+        final ScopedInstances derived = new ScopedInstances(listening);
+        singletons.forEach((key, instance) -> {
+            if (instance.isCreated() && !changedServiceNames.contains(key.serviceFactory.serviceName()) && !Dependencies.touchAny(instance.dependencies, changedServiceNames)) {
+                derived.singletons.put(key, instance);
+            }
+        });
+        pools.forEach((key, pool) -> {
+            if (!changedServiceNames.contains(key.serviceFactory.serviceName()) && !pool.dependsOnAny(changedServiceNames)) {
+                derived.pools.put(key, pool);
+            }
+        });
+        return derived;
+    }
+
+    public GenerationListening listening() {
+        return listening;
+    }
+
+    public <S> S instance(Scope scope, ServiceFactory<S> serviceFactory, ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        Dependencies.record(serviceFactory.serviceName());
+        switch (scope) {
+            case SINGLETON:
+                return singleton(serviceFactory, serviceGenerator, serviceDescriptor);
+            case THREAD:
+                return threadInstance(serviceFactory, serviceGenerator, serviceDescriptor);
+            default:
+                return create(serviceFactory, serviceGenerator, serviceDescriptor);
+        }
+    }
+
+    public <S> Lease<S> lease(Scope scope, ServiceFactory<S> serviceFactory, ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        if (scope != Scope.POOLED) {
+            return new Lease<>(instance(scope, serviceFactory, serviceGenerator, serviceDescriptor), null);
+        }
+        Dependencies.record(serviceFactory.serviceName());
+        final ServicePool pool = pool(serviceFactory, serviceDescriptor);
+        final Lease<S> lease = new Lease<>((S) pool.acquire(() -> {
+            final Dependencies recording = Dependencies.start();
+            try {
+                return create(serviceFactory, serviceGenerator, serviceDescriptor);
+            } finally {
+                pool.dependsOn(recording.stop());
+            }
+        }), pool);
+        Dependencies.record(pool.dependencies());
+        return lease;
+    }
+
+    private ServicePool pool(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor) {
+        final InstanceKey key = new InstanceKey(serviceFactory, serviceDescriptor);
+        final ServicePool pool = pools.get(key);
+        if (pool != null) {
+            return pool;
+        }
+        return pools.computeIfAbsent(key, missing -> new ServicePool(serviceFactory, serviceDescriptor));
+    }
+
+    public List<PoolStatistics> poolStatistics() {
+        final List<PoolStatistics> statistics = new ArrayList<>(pools.size());
+        pools.values().forEach(pool -> statistics.add(pool.statistics()));
+        return statistics;
+    }
+
+    private <S> S create(ServiceFactory<S> serviceFactory, ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        if (listening == null) {
+            return serviceFactory.create(serviceGenerator, serviceDescriptor);
+        }
+        return listening.create(serviceFactory, serviceGenerator, serviceDescriptor);
+    }
+
+    public <S> CompletableFuture<S> instanceAsync(Scope scope, AsyncServiceFactory<S> asyncServiceFactory, ServiceFactory<S> serviceFactory, AsyncServiceGenerator asyncServiceGenerator, ServiceDescriptor serviceDescriptor) {
+        Dependencies.record((Set<String>) null);
+        switch (scope) {
+            case SINGLETON:
+                return singletonAsync(asyncServiceFactory, serviceFactory, asyncServiceGenerator, serviceDescriptor);
+            case THREAD:
+                try {
+                    return CompletableFuture.completedFuture(instance(scope, serviceFactory, asyncServiceGenerator, serviceDescriptor));
+                } catch (RuntimeException | Error failure) {
+                    return Futures.failed(failure);
+                }
+            default:
+                return createAsync(asyncServiceFactory, serviceFactory, asyncServiceGenerator, serviceDescriptor);
+        }
+    }
+
+    private <S> CompletableFuture<S> createAsync(AsyncServiceFactory<S> asyncServiceFactory, ServiceFactory<S> serviceFactory, AsyncServiceGenerator asyncServiceGenerator, ServiceDescriptor serviceDescriptor) {
+        try {
+            if (listening == null) {
+                return asyncServiceFactory.createAsync(asyncServiceGenerator, serviceDescriptor);
+            }
+            return listening.createAsync(serviceFactory, asyncServiceFactory, asyncServiceGenerator, serviceDescriptor);
+        } catch (RuntimeException | Error failure) {
+            return Futures.failed(failure);
+        }
+    }
+
+    private <S> S singleton(ServiceFactory<S> serviceFactory, ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        final InstanceKey key = new InstanceKey(serviceFactory, serviceDescriptor);
+        SingletonInstance instance = singletons.get(key);
+        if (instance == null) {
+            final SingletonInstance candidate = new SingletonInstance();
+            instance = singletons.putIfAbsent(key, candidate);
+            if (instance == null) {
+                return (S) candidate.create(() -> create(serviceFactory, serviceGenerator, serviceDescriptor), () -> singletons.remove(key, candidate));
+            }
+        }
+        final Object awaited = instance.await(serviceFactory);
+        Dependencies.record(instance.dependencies);
+        return (S) awaited;
+    }
+
+    private <S> CompletableFuture<S> singletonAsync(AsyncServiceFactory<S> asyncServiceFactory, ServiceFactory<S> serviceFactory, AsyncServiceGenerator asyncServiceGenerator, ServiceDescriptor serviceDescriptor) {
+        final InstanceKey key = new InstanceKey(serviceFactory, serviceDescriptor);
+        SingletonInstance instance = singletons.get(key);
+        if (instance == null) {
+            final SingletonInstance candidate = new SingletonInstance();
+            instance = singletons.putIfAbsent(key, candidate);
+            if (instance == null) {
+                if (asyncServiceFactory instanceof AsyncServiceFactoryAdapter) {
+                    final AsyncServiceFactoryAdapter<S> adapter = (AsyncServiceFactoryAdapter<S>) asyncServiceFactory;
+                    return (CompletableFuture<S>) candidate.createOn(creation -> (CompletableFuture<Object>) adapter.supplyAsync(() -> (S) creation.get()), () -> create(serviceFactory, asyncServiceGenerator, serviceDescriptor), () -> singletons.remove(key, candidate));
+                }
+                return (CompletableFuture<S>) candidate.createAsync(() -> (CompletableFuture<Object>) createAsync(asyncServiceFactory, serviceFactory, asyncServiceGenerator, serviceDescriptor), () -> singletons.remove(key, candidate));
+            }
+        }
+        return (CompletableFuture<S>) instance.awaitAsync(serviceFactory);
+    }
+
+    private <S> S threadInstance(ServiceFactory<S> serviceFactory, ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        final Map<InstanceKey, Object> instances = threadInstances.get();
+        final InstanceKey key = new InstanceKey(serviceFactory, serviceDescriptor);
+        if (instances.containsKey(key)) {
+            return (S) instances.get(key);
+        }
+        final S instance = create(serviceFactory, serviceGenerator, serviceDescriptor);
+        instances.put(key, instance);
+        return instance;
+    }
+
+    private static class InstanceKey {
+
+        private final ServiceFactory<?> serviceFactory;
+        private final ServiceDescriptor serviceDescriptor;
+
+        public InstanceKey(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor) {
+            this.serviceFactory = serviceFactory;
+            this.serviceDescriptor = serviceDescriptor;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof InstanceKey)) {
+                return false;
+            }
+            final InstanceKey other = (InstanceKey) obj;
+            return serviceFactory == other.serviceFactory && Objects.equals(serviceDescriptor, other.serviceDescriptor);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(serviceFactory) + Objects.hashCode(serviceDescriptor);
+        }
+    }
+
+    private static class SingletonInstance {
+
+        private final CompletableFuture<Object> instance;
+        private volatile Thread creator;
+        private volatile Set<String> dependencies;
+
+        public SingletonInstance() {
+            instance = new CompletableFuture<>();
+        }
+
+        public boolean isCreated() {
+            return instance.isDone() && !instance.isCompletedExceptionally();
+        }
+
+        public Object create(Supplier<Object> factory, Runnable discard) {
+            creator = Thread.currentThread();
+            final Dependencies recording = Dependencies.start();
+            try {
+                final Object created = factory.get();
+                dependencies = recording.stop();
+                instance.complete(created);
+                return created;
+            } catch (RuntimeException | Error failure) {
+                recording.stop();
+                discard.run();
+                instance.completeExceptionally(ServiceGenerationException.shared(failure));
+                throw failure;
+            } finally {
+                creator = null;
+            }
+        }
+
+        public CompletableFuture<Object> createAsync(Supplier<CompletableFuture<Object>> factory, Runnable discard) {
+            creator = Thread.currentThread();
+            try {
+                factory.get().whenComplete((created, failure) -> {
+                    if (failure != null) {
+                        discard.run();
+                        instance.completeExceptionally(Futures.cause(failure));
+                    } else {
+                        instance.complete(created);
+                    }
+                });
+            } finally {
+                creator = null;
+            }
+            return view();
+        }
+
+        public CompletableFuture<Object> createOn(Function<Supplier<Object>, CompletableFuture<Object>> runner, Supplier<Object> factory, Runnable discard) {
+            runner.apply(() -> create(factory, discard)).whenComplete((created, failure) -> {
+                if (failure != null) {
+                    discard.run();
+                    instance.completeExceptionally(Futures.cause(failure));
+                }
+            });
+            return view();
+        }
+
+        public CompletableFuture<Object> awaitAsync(ServiceFactory<?> serviceFactory) {
+            if (creator == Thread.currentThread()) {
+                return Futures.failed(new IllegalStateException("circular dependency detected while creating singleton " + serviceFactory));
+            }
+            return view();
+        }
+
+        private CompletableFuture<Object> view() {
+            final CompletableFuture<Object> view = new CompletableFuture<>();
+            instance.whenComplete((created, failure) -> {
+                if (failure != null) {
+                    view.completeExceptionally(Futures.cause(failure));
+                } else {
+                    view.complete(created);
+                }
+            });
+            return view;
+        }
+
+        public Object await(ServiceFactory<?> serviceFactory) {
+            final Thread current = Thread.currentThread();
+            if (creator == current) {
+                throw new IllegalStateException("circular dependency detected while creating singleton " + serviceFactory);
+            }
+            if (instance.isDone()) {
+                return join();
+            }
+            AWAITED_SINGLETONS.put(current, this);
+            try {
+                if (awaitedBy(current)) {
+                    throw new IllegalStateException("circular dependency detected across threads while creating singleton " + serviceFactory);
+                }
+                return join();
+            } finally {
+                AWAITED_SINGLETONS.remove(current);
+            }
+        }
+
+        private boolean awaitedBy(Thread waiter) {
+            SingletonInstance awaited = this;
+            for (int hops = AWAITED_SINGLETONS.size(); awaited != null && hops >= 0; --hops) {
+                final Thread awaitedCreator = awaited.creator;
+                if (awaitedCreator == null) {
+                    return false;
+                }
+                if (awaitedCreator == waiter) {
+                    return true;
+                }
+                awaited = AWAITED_SINGLETONS.get(awaitedCreator);
+            }
+            return false;
+        }
+
+        private Object join() {
+            try {
+                return instance.join();
+            } catch (CompletionException exception) {
+                if (exception.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) exception.getCause();
+                }
+                if (exception.getCause() instanceof Error) {
+                    throw (Error) exception.getCause();
+                }
+                throw exception;
+            }
+        }
+    }
+
+    private static final class Dependencies {
+
+        private static final AtomicInteger RECORDINGS = new AtomicInteger();
+        private static final ThreadLocal<Dependencies> CURRENT = new ThreadLocal<>();
+
+        private final Dependencies enclosing;
+        private final Set<String> serviceNames;
+        private boolean unknown;
+
+        private Dependencies(Dependencies enclosing) {
+            this.enclosing = enclosing;
+            this.serviceNames = new HashSet<>();
+        }
+
+        public static Dependencies start() {
+            final Dependencies recording = new Dependencies(CURRENT.get());
+            CURRENT.set(recording);
+            RECORDINGS.incrementAndGet();
+            return recording;
+        }
+
+        public Set<String> stop() {
+            RECORDINGS.decrementAndGet();
+            if (enclosing == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(enclosing);
+                enclosing.add(unknown ? null : serviceNames);
+            }
+            return unknown ? null : serviceNames;
+        }
+
+        public static void record(String serviceName) {
+            if (RECORDINGS.get() != 0) {
+                final Dependencies recording = CURRENT.get();
+                if (recording != null) {
+                    recording.serviceNames.add(serviceName);
+                }
+            }
+        }
+
+        public static void record(Set<String> serviceNames) {
+            if (RECORDINGS.get() != 0) {
+                final Dependencies recording = CURRENT.get();
+                if (recording != null) {
+                    recording.add(serviceNames);
+                }
+            }
+        }
+
+        private void add(Set<String> serviceNames) {
+            if (serviceNames == null) {
+                unknown = true;
+            } else {
+                this.serviceNames.addAll(serviceNames);
+            }
+        }
+
+        public static boolean touchAny(Set<String> dependencies, Set<String> serviceNames) {
+            if (dependencies == null) {
+                return true;
+            }
+            for (String serviceName : serviceNames) {
+                if (dependencies.contains(serviceName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,22 +1,147 @@
 package dev.deadc0de.genesis;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 public class ServiceDescriptor {
 
     public final String name;
     public final Map<String, List<String>> configuration;
     public final Map<String, List<ServiceDescriptor>> collaborators;
+    public final Optional<Scope> scope;
+    private final int hash;
+    volatile ServiceDescriptorPool pool;
+    ServiceNames.Id nameId;
 
     public ServiceDescriptor(String name, Map<String, List<String>> configuration, Map<String, List<ServiceDescriptor>> collaborators) {
+        this(name, configuration, collaborators, Optional.empty());
+    }
+
+    public ServiceDescriptor(String name, Map<String, List<String>> configuration, Map<String, List<ServiceDescriptor>> collaborators, Optional<Scope> scope) {
         this.name = name;
-        this.configuration = configuration;
-        this.collaborators = collaborators;
+        this.configuration = immutableCopy(configuration);
+        this.collaborators = immutableCopy(collaborators);
+        this.scope = scope;
+        int structuralHash = Objects.hashCode(name);
+        structuralHash = 31 * structuralHash + this.configuration.hashCode();
+        structuralHash = 31 * structuralHash + this.collaborators.hashCode();
+        structuralHash = 31 * structuralHash + scope.hashCode();
+        this.hash = structuralHash;
     }
 
     public static ServiceDescriptor notParameterized(String name) {
         return new ServiceDescriptor(name, Collections.emptyMap(), Collections.emptyMap());
     }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    ServiceDescriptor withCollaborators(Map<String, List<ServiceDescriptor>> collaborators) {
+        return new ServiceDescriptor(name, configuration, collaborators, scope);
+    }
+
+    private static <V> Map<String, List<V>> immutableCopy(Map<String, List<V>> map) {
+        switch (map.size()) {
+            case 0:
+                return Collections.emptyMap();
+            case 1:
+                final Map.Entry<String, List<V>> entry = map.entrySet().iterator().next();
+                return Collections.singletonMap(entry.getKey(), immutableCopy(entry.getValue()));
+            default:
+                final Map<String, List<V>> copy = new LinkedHashMap<>(map.size() * 4 / 3 + 1);
+                map.forEach((key, values) -> copy.put(key, immutableCopy(values)));
+                return Collections.unmodifiableMap(copy);
+        }
+    }
+
+    private static <V> List<V> immutableCopy(List<V> list) {
+        switch (list.size()) {
+            case 0:
+                return Collections.emptyList();
+            case 1:
+                return Collections.singletonList(list.get(0));
+            default:
+                return Collections.unmodifiableList(Arrays.asList((V[]) list.toArray()));
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ServiceDescriptor)) {
+            return false;
+        }
+        final ServiceDescriptor other = (ServiceDescriptor) obj;
+        if (hash != other.hash) {
+            return false;
+        }
+        final ServiceDescriptorPool interningPool = pool;
+        if (interningPool != null && interningPool == other.pool) {
+            return false;
+        }
+        return Objects.equals(name, other.name)
+                && scope.equals(other.scope)
+                && configuration.equals(other.configuration)
+                && collaborators.equals(other.collaborators);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return name + configuration + collaborators + scope.map(value -> "@" + value).orElse("");
+    }
+
+    public static class Builder {
+
+        private final String name;
+        private final Map<String, List<String>> configuration;
+        private final Map<String, List<ServiceDescriptor>> collaborators;
+        private Optional<Scope> scope;
+
+        private Builder(String name) {
+            this.name = name;
+            this.configuration = new LinkedHashMap<>();
+            this.collaborators = new LinkedHashMap<>();
+            this.scope = Optional.empty();
+        }
+
+        public Builder parameter(String parameterName, String... values) {
+            return parameter(parameterName, Arrays.asList(values));
+        }
+
+        public Builder parameter(String parameterName, List<String> values) {
+            configuration.put(parameterName, values);
+            return this;
+        }
+
+        public Builder collaborator(String roleName, ServiceDescriptor... collaborators) {
+            return collaborators(roleName, Arrays.asList(collaborators));
+        }
+
+        public Builder collaborators(String roleName, List<ServiceDescriptor> collaborators) {
+            this.collaborators.put(roleName, collaborators);
+            return this;
+        }
+
+        public Builder scope(Scope scope) {
+            this.scope = Optional.of(scope);
+            return this;
+        }
+
+        public ServiceDescriptor build() {
+            return new ServiceDescriptor(name, configuration, collaborators, scope);
+        }
+    }
 }
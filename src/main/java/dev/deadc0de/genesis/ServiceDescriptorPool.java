@@ -0,0 +1,71 @@
+package dev.deadc0de.genesis;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class ServiceDescriptorPool {
+
+    private final ConcurrentMap<ServiceDescriptor, ServiceDescriptor> descriptors;
+
+    public ServiceDescriptorPool() {
+        descriptors = new ConcurrentHashMap<>();
+    }
+
+    public ServiceDescriptor intern(ServiceDescriptor serviceDescriptor) {
+        if (serviceDescriptor.pool == this) {
+            return serviceDescriptor;
+        }
+        final ServiceDescriptor pooled = descriptors.get(serviceDescriptor);
+        if (pooled != null) {
+            return pooled;
+        }
+        final Map<String, List<ServiceDescriptor>> collaborators = internCollaborators(serviceDescriptor.collaborators);
+        final ServiceDescriptor candidate = collaborators == serviceDescriptor.collaborators ? serviceDescriptor : serviceDescriptor.withCollaborators(collaborators);
+        final ServiceDescriptor winner = descriptors.putIfAbsent(candidate, candidate);
+        if (winner != null) {
+            return winner;
+        }
+        candidate.pool = this;
+        return candidate;
+    }
+
+    public int size() {
+        return descriptors.size();
+    }
+
+    private Map<String, List<ServiceDescriptor>> internCollaborators(Map<String, List<ServiceDescriptor>> collaborators) {
+        Map<String, List<ServiceDescriptor>> interned = null;
+        for (Map.Entry<String, List<ServiceDescriptor>> role : collaborators.entrySet()) {
+            final List<ServiceDescriptor> internedRole = internAll(role.getValue());
+            if (internedRole != role.getValue() && interned == null) {
+                interned = new LinkedHashMap<>(collaborators);
+            }
+            if (interned != null) {
+                interned.put(role.getKey(), internedRole);
+            }
+        }
+        if (interned == null) {
+            return collaborators;
+        }
+        return interned;
+    }
+
+    private List<ServiceDescriptor> internAll(List<ServiceDescriptor> collaborators) {
+        ServiceDescriptor[] interned = null;
+        for (int index = 0; index != collaborators.size(); ++index) {
+            final ServiceDescriptor collaborator = collaborators.get(index);
+            final ServiceDescriptor internedCollaborator = intern(collaborator);
+            if (internedCollaborator != collaborator && interned == null) {
+                interned = collaborators.toArray(new ServiceDescriptor[collaborators.size()]);
+            }
+            if (interned != null) {
+                interned[index] = internedCollaborator;
+            }
+        }
+        return interned == null ? collaborators : Arrays.asList(interned);
+    }
+}
@@ -1,8 +1,10 @@
 package dev.deadc0de.genesis;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ServiceFactory<S> {
 
@@ -14,5 +16,13 @@ public interface ServiceFactory<S> {
 
     Map<String, Map.Entry<Class<?>, Optional<List<String>>>> roles();
 
+    default Set<String> lazyRoles() {
+        return Collections.emptySet();
+    }
+
+    default Scope scope() {
+        return Scope.PROTOTYPE;
+    }
+
     S create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor);
 }
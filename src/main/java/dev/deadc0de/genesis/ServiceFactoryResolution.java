@@ -0,0 +1,31 @@
+package dev.deadc0de.genesis;
+
+final class ServiceFactoryResolution {
+
+    private final ServiceFactory<?> serviceFactory;
+    private final String failure;
+
+    private ServiceFactoryResolution(ServiceFactory<?> serviceFactory, String failure) {
+        this.serviceFactory = serviceFactory;
+        this.failure = failure;
+    }
+
+    public static ServiceFactoryResolution resolved(ServiceFactory<?> serviceFactory) {
+        return new ServiceFactoryResolution(serviceFactory, null);
+    }
+
+    public static ServiceFactoryResolution failed(String failure) {
+        return new ServiceFactoryResolution(null, failure);
+    }
+
+    public boolean isResolved() {
+        return serviceFactory != null;
+    }
+
+    public <S> ServiceFactory<S> serviceFactory() {
+        if (serviceFactory == null) {
+            throw new IllegalStateException(failure);
+        }
+        return (ServiceFactory<S>) serviceFactory;
+    }
+}
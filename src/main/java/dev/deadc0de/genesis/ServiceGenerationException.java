@@ -5,21 +5,86 @@ import java.util.List;
 
 public class ServiceGenerationException extends IllegalStateException {
 
+    static final boolean LIGHTWEIGHT_BY_DEFAULT = Boolean.getBoolean("dev.deadc0de.genesis.lightweightExceptions");
+
     private final ServiceFactory<?> serviceFactory;
+    private boolean writableStackTrace;
+    private List<ServiceFactory<?>> unwoundFactories;
+    private volatile Thread owner;
 
     public ServiceGenerationException(ServiceFactory<?> serviceFactory, Throwable cause) {
+        this(serviceFactory, cause, false);
+    }
+
+    private ServiceGenerationException(ServiceFactory<?> serviceFactory, Throwable cause, boolean lightweight) {
         super(cause.getMessage(), cause);
         this.serviceFactory = serviceFactory;
+        if (lightweight) {
+            owner = Thread.currentThread();
+        } else {
+            writableStackTrace = true;
+            fillInStackTrace();
+        }
+    }
+
+    public static ServiceGenerationException wrap(ServiceFactory<?> serviceFactory, Throwable cause) {
+        return wrap(serviceFactory, cause, LIGHTWEIGHT_BY_DEFAULT);
+    }
+
+    public static ServiceGenerationException wrap(ServiceFactory<?> serviceFactory, Throwable cause, ServiceGenerator serviceGenerator) {
+        return wrap(serviceFactory, cause, lightweight(serviceGenerator));
+    }
+
+    private static boolean lightweight(ServiceGenerator serviceGenerator) {
+        final ServiceGenerator generator = serviceGenerator instanceof CompletingServiceGenerator ? ((CompletingServiceGenerator) serviceGenerator).serviceGenerator : serviceGenerator;
+        return generator instanceof GenerationContext ? ((GenerationContext) generator).lightweightExceptions : LIGHTWEIGHT_BY_DEFAULT;
+    }
+
+    static ServiceGenerationException wrap(ServiceFactory<?> serviceFactory, Throwable cause, boolean lightweight) {
+        if (!lightweight) {
+            return new ServiceGenerationException(serviceFactory, cause);
+        }
+        if (cause instanceof ServiceGenerationException) {
+            final ServiceGenerationException unwinding = (ServiceGenerationException) cause;
+            if (unwinding.owner == Thread.currentThread()) {
+                if (unwinding.unwoundFactories == null) {
+                    unwinding.unwoundFactories = new ArrayList<>();
+                }
+                unwinding.unwoundFactories.add(serviceFactory);
+                return unwinding;
+            }
+        }
+        return new ServiceGenerationException(serviceFactory, cause, true);
+    }
+
+    public static <T extends Throwable> T shared(T failure) {
+        if (failure instanceof ServiceGenerationException) {
+            ((ServiceGenerationException) failure).owner = null;
+        }
+        return failure;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (!writableStackTrace) {
+            return this;
+        }
+        return super.fillInStackTrace();
     }
 
     public List<ServiceFactory<?>> serviceGenerationStack() {
-        final List<ServiceFactory<?>> stack;
-        if (getCause() instanceof ServiceGenerationException) {
-            stack = ((ServiceGenerationException) getCause()).serviceGenerationStack();
-        } else {
-            stack = new ArrayList<>();
+        final List<ServiceGenerationException> chain = new ArrayList<>();
+        for (Throwable current = this; current instanceof ServiceGenerationException; current = current.getCause()) {
+            chain.add((ServiceGenerationException) current);
+        }
+        final List<ServiceFactory<?>> stack = new ArrayList<>();
+        for (int index = chain.size() - 1; index >= 0; --index) {
+            final ServiceGenerationException exception = chain.get(index);
+            stack.add(exception.serviceFactory);
+            if (exception.unwoundFactories != null) {
+                stack.addAll(exception.unwoundFactories);
+            }
         }
-        stack.add(serviceFactory);
         return stack;
     }
 }
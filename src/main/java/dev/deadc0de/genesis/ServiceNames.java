@@ -0,0 +1,113 @@
+package dev.deadc0de.genesis;
+
+final class ServiceNames {
+
+    public static final int UNKNOWN = 0;
+    private static final int PUBLISHING = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile Table table;
+    private int size;
+
+    public ServiceNames() {
+        table = new Table(INITIAL_CAPACITY);
+    }
+
+    public int find(String serviceName) {
+        final int id = table.find(serviceName);
+        return id != PUBLISHING ? id : findPublished(serviceName);
+    }
+
+    public int find(ServiceDescriptor serviceDescriptor) {
+        final Id cached = serviceDescriptor.nameId;
+        if (cached != null && cached.serviceNames == this) {
+            return cached.id;
+        }
+        final int id = find(serviceDescriptor.name);
+        if (id != UNKNOWN) {
+            serviceDescriptor.nameId = new Id(this, id);
+        }
+        return id;
+    }
+
+    private synchronized int findPublished(String serviceName) {
+        return table.find(serviceName);
+    }
+
+    public int intern(String serviceName) {
+        final int id = find(serviceName);
+        if (id != UNKNOWN) {
+            return id;
+        }
+        synchronized (this) {
+            final int concurrentlyInterned = table.find(serviceName);
+            if (concurrentlyInterned != UNKNOWN) {
+                return concurrentlyInterned;
+            }
+            if (2 * (size + 1) > table.names.length) {
+                table = table.grow();
+            }
+            table.insert(serviceName, ++size);
+            return size;
+        }
+    }
+
+    static final class Id {
+
+        private final ServiceNames serviceNames;
+        private final int id;
+
+        public Id(ServiceNames serviceNames, int id) {
+            this.serviceNames = serviceNames;
+            this.id = id;
+        }
+    }
+
+    private static final class Table {
+
+        private final String[] names;
+        private final int[] ids;
+
+        public Table(int capacity) {
+            this.names = new String[capacity];
+            this.ids = new int[capacity];
+        }
+
+        private int slot(String serviceName) {
+            final int hash = serviceName.hashCode() * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & (names.length - 1);
+        }
+
+        public int find(String serviceName) {
+            for (int slot = slot(serviceName); ; slot = (slot + 1) & (names.length - 1)) {
+                final String name = names[slot];
+                if (name == null) {
+                    return UNKNOWN;
+                }
+                if (name.equals(serviceName)) {
+                    final int id = ids[slot];
+                    return id != UNKNOWN ? id : PUBLISHING;
+                }
+            }
+        }
+
+        public void insert(String serviceName, int id) {
+            int slot = slot(serviceName);
+            while (names[slot] != null) {
+                slot = (slot + 1) & (names.length - 1);
+            }
+            ids[slot] = id;
+            names[slot] = serviceName;
+        }
+
+        public Table grow() {
+            final Table grown = new Table(2 * names.length);
+            for (int slot = 0; slot != names.length; ++slot) {
+                if (names[slot] != null) {
+                    grown.insert(names[slot], ids[slot]);
+                }
+            }
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package dev.deadc0de.genesis;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+final class ServicePool {
+
+    private final ServiceFactory<?> serviceFactory;
+    private final ServiceDescriptor serviceDescriptor;
+    private final int perThreadCapacity;
+    private final int sharedCapacity;
+    private final ThreadLocal<ArrayDeque<Object>> local;
+    private final Queue<Object> shared;
+    private final AtomicInteger sharedSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final Set<String> dependencies;
+    private volatile boolean unknownDependencies;
+
+    public ServicePool(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor) {
+        this.serviceFactory = serviceFactory;
+        this.serviceDescriptor = serviceDescriptor;
+        if (serviceFactory instanceof PooledServiceFactory) {
+            perThreadCapacity = ((PooledServiceFactory<?>) serviceFactory).perThreadCapacity();
+            sharedCapacity = ((PooledServiceFactory<?>) serviceFactory).sharedCapacity();
+        } else {
+            perThreadCapacity = PooledServiceFactory.DEFAULT_PER_THREAD_CAPACITY;
+            sharedCapacity = PooledServiceFactory.DEFAULT_SHARED_CAPACITY;
+        }
+        local = ThreadLocal.withInitial(ArrayDeque::new);
+        shared = new ConcurrentLinkedQueue<>();
+        sharedSize = new AtomicInteger();
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+        dependencies = ConcurrentHashMap.newKeySet();
+    }
+
+    public void dependsOn(Set<String> serviceNames) {
+        if (serviceNames == null) {
+            unknownDependencies = true;
+        } else {
+            dependencies.addAll(serviceNames);
+        }
+    }
+
+    public Set<String> dependencies() {
+        return unknownDependencies ? null : dependencies;
+    }
+
+    public boolean dependsOnAny(Set<String> serviceNames) {
+        if (unknownDependencies) {
+            return true;
+        }
+        for (String serviceName : serviceNames) {
+            if (dependencies.contains(serviceName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Object acquire(Supplier<Object> creation) {
+        if (usesLocalTier()) {
+            final Object local = this.local.get().pollLast();
+            if (local != null) {
+                hits.increment();
+                return local;
+            }
+        }
+        final Object pooled = shared.poll();
+        if (pooled != null) {
+            sharedSize.decrementAndGet();
+            hits.increment();
+            return pooled;
+        }
+        misses.increment();
+        return creation.get();
+    }
+
+    public void release(Object service) {
+        if (service == null) {
+            return;
+        }
+        if (serviceFactory instanceof PooledServiceFactory) {
+            try {
+                ((PooledServiceFactory) serviceFactory).reset(service);
+            } catch (RuntimeException | Error failure) {
+                evictions.increment();
+                throw failure;
+            }
+        }
+        if (usesLocalTier()) {
+            final ArrayDeque<Object> local = this.local.get();
+            if (local.size() < perThreadCapacity) {
+                local.addLast(service);
+                return;
+            }
+        }
+        if (sharedSize.incrementAndGet() <= sharedCapacity) {
+            shared.offer(service);
+            return;
+        }
+        sharedSize.decrementAndGet();
+        evictions.increment();
+    }
+
+    private boolean usesLocalTier() {
+        return perThreadCapacity != 0 && !VirtualThreads.isVirtual(Thread.currentThread());
+    }
+
+    public PoolStatistics statistics() {
+        return new PoolStatistics(serviceFactory.serviceName(), serviceFactory.serviceType().getName(), serviceDescriptor, hits.sum(), misses.sum(), evictions.sum(), sharedSize.get());
+    }
+}
@@ -0,0 +1,152 @@
+package dev.deadc0de.genesis;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class ServiceTypeLattice {
+
+    private static final int SCANNED_LEAVES = 8;
+    private static final Class<?>[] NO_TYPES = new Class<?>[0];
+    private static final Comparator<Class<?>> BY_NAME = Comparator.comparing(Class::getName);
+    private static final ClassValue<Class<?>[]> SUPERTYPES = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            return supertypes(type);
+        }
+    };
+
+    private final Class<?>[] leaves;
+    private final Class<?>[] ambiguousTypes;
+    private volatile Map<Class<?>, List<Class<?>>> widestSubtypes;
+
+    public ServiceTypeLattice(Set<? extends Class<?>> registeredTypes) {
+        if (registeredTypes.size() == 1) {
+            leaves = registeredTypes.toArray(new Class<?>[1]);
+            ambiguousTypes = NO_TYPES;
+            return;
+        }
+        final List<Class<?>> shadowed = new ArrayList<>();
+        for (Class<?> registeredType : registeredTypes) {
+            if (registeredType.isArray()) {
+                for (Class<?> other : registeredTypes) {
+                    if (other != registeredType && other.isAssignableFrom(registeredType) && !shadowed.contains(other)) {
+                        shadowed.add(other);
+                    }
+                }
+                continue;
+            }
+            for (Class<?> supertype : SUPERTYPES.get(registeredType)) {
+                if (supertype != registeredType && registeredTypes.contains(supertype) && !shadowed.contains(supertype)) {
+                    shadowed.add(supertype);
+                }
+            }
+        }
+        leaves = new Class<?>[registeredTypes.size() - shadowed.size()];
+        int leaf = 0;
+        for (Class<?> registeredType : registeredTypes) {
+            if (!shadowed.contains(registeredType)) {
+                leaves[leaf++] = registeredType;
+            }
+        }
+        Arrays.sort(leaves, BY_NAME);
+        shadowed.removeIf(shadowedType -> countAssignableLeaves(shadowedType) < 2);
+        shadowed.sort(BY_NAME);
+        ambiguousTypes = shadowed.isEmpty() ? NO_TYPES : shadowed.toArray(new Class<?>[shadowed.size()]);
+    }
+
+    private int countAssignableLeaves(Class<?> type) {
+        int assignable = 0;
+        for (Class<?> leaf : leaves) {
+            if (type.isAssignableFrom(leaf)) {
+                ++assignable;
+            }
+        }
+        return assignable;
+    }
+
+    private static Class<?>[] supertypes(Class<?> type) {
+        final Set<Class<?>> closure = new LinkedHashSet<>();
+        closure.add(type);
+        if (type.isArray()) {
+            closure.add(Object.class);
+            closure.add(Cloneable.class);
+            closure.add(Serializable.class);
+        } else if (!type.isPrimitive()) {
+            closure.add(Object.class);
+            collectSupertypes(type, closure);
+        }
+        return closure.toArray(new Class<?>[closure.size()]);
+    }
+
+    private static void collectSupertypes(Class<?> type, Set<Class<?>> closure) {
+        final Class<?> superclass = type.getSuperclass();
+        if (superclass != null && closure.add(superclass)) {
+            collectSupertypes(superclass, closure);
+        }
+        for (Class<?> superinterface : type.getInterfaces()) {
+            if (closure.add(superinterface)) {
+                collectSupertypes(superinterface, closure);
+            }
+        }
+    }
+
+    public List<Class<?>> widestSubtypes(Class<?> requestedType) {
+        if (leaves.length == 1) {
+            return requestedType.isAssignableFrom(leaves[0]) ? Collections.singletonList(leaves[0]) : Collections.emptyList();
+        }
+        if (leaves.length <= SCANNED_LEAVES || requestedType.isArray()) {
+            return scan(requestedType);
+        }
+        Map<Class<?>, List<Class<?>>> index = widestSubtypes;
+        if (index == null) {
+            index = index();
+            widestSubtypes = index;
+        }
+        return index.getOrDefault(requestedType, Collections.emptyList());
+    }
+
+    private List<Class<?>> scan(Class<?> requestedType) {
+        List<Class<?>> assignable = Collections.emptyList();
+        for (Class<?> leaf : leaves) {
+            if (requestedType.isAssignableFrom(leaf)) {
+                if (assignable.isEmpty()) {
+                    assignable = new ArrayList<>(1);
+                }
+                assignable.add(leaf);
+            }
+        }
+        return assignable;
+    }
+
+    private Map<Class<?>, List<Class<?>>> index() {
+        final Map<Class<?>, List<Class<?>>> index = new HashMap<>();
+        for (Class<?> leaf : leaves) {
+            for (Class<?> supertype : SUPERTYPES.get(leaf)) {
+                index.computeIfAbsent(supertype, type -> new ArrayList<>(1)).add(leaf);
+            }
+        }
+        return index;
+    }
+
+    public List<String> ambiguities(String serviceName) {
+        final List<String> descriptions = new ArrayList<>(ambiguousTypes.length);
+        for (Class<?> ambiguousType : ambiguousTypes) {
+            descriptions.add(String.format("service %s of type %s is shadowed by multiple service factory types: %s", serviceName, ambiguousType.getCanonicalName(), describe(scan(ambiguousType))));
+        }
+        return descriptions;
+    }
+
+    public static String describe(List<Class<?>> serviceTypes) {
+        final String[] names = new String[serviceTypes.size()];
+        Arrays.setAll(names, index -> serviceTypes.get(index).getCanonicalName());
+        return "[" + String.join(",", names) + "]";
+    }
+}
@@ -0,0 +1,18 @@
+package dev.deadc0de.genesis;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static Optional<Executor> executor() {
+        return Optional.empty();
+    }
+
+    static boolean isVirtual(Thread thread) {
+        return false;
+    }
+}
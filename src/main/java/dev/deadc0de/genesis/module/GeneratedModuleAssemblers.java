@@ -0,0 +1,37 @@
+package dev.deadc0de.genesis.module;
+
+import java.util.Optional;
+
+final class GeneratedModuleAssemblers {
+
+    private static final ClassValue<Optional<ModuleAssembler>> ASSEMBLERS = new ClassValue<Optional<ModuleAssembler>>() {
+        @Override
+        protected Optional<ModuleAssembler> computeValue(Class<?> moduleType) {
+            return loadGeneratedAssembler(moduleType);
+        }
+    };
+
+    private GeneratedModuleAssemblers() {
+    }
+
+    public static Optional<ModuleAssembler> forModule(Class<?> moduleType) {
+        return ASSEMBLERS.get(moduleType);
+    }
+
+    private static Optional<ModuleAssembler> loadGeneratedAssembler(Class<?> moduleType) {
+        final Class<?> assemblerType;
+        try {
+            assemblerType = Class.forName(ModuleAssembler.generatedAssemblerName(moduleType.getName()), true, moduleType.getClassLoader());
+        } catch (ClassNotFoundException notGenerated) {
+            return Optional.empty();
+        }
+        if (!ModuleAssembler.class.isAssignableFrom(assemblerType)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((ModuleAssembler) assemblerType.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("cannot instantiate generated assembler " + assemblerType.getName(), exception);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package dev.deadc0de.genesis.module;
+
+import dev.deadc0de.genesis.ServiceFactory;
+import java.util.stream.Stream;
+
+public interface ModuleAssembler<M> {
+
+    String GENERATED_ASSEMBLER_SUFFIX = "_Assembler";
+
+    Stream<ServiceFactory> assemble(M module);
+
+    static String generatedAssemblerName(String moduleBinaryName) {
+        final int packageEnd = moduleBinaryName.lastIndexOf('.') + 1;
+        return moduleBinaryName.substring(0, packageEnd) + moduleBinaryName.substring(packageEnd).replace('$', '_') + GENERATED_ASSEMBLER_SUFFIX;
+    }
+}
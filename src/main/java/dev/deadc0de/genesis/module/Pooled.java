@@ -0,0 +1,20 @@
+package dev.deadc0de.genesis.module;
+
+import dev.deadc0de.genesis.PooledServiceFactory;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Pooled {
+
+    int perThread() default PooledServiceFactory.DEFAULT_PER_THREAD_CAPACITY;
+
+    int shared() default PooledServiceFactory.DEFAULT_SHARED_CAPACITY;
+
+    String reset() default "";
+}
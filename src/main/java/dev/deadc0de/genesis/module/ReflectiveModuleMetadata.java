@@ -0,0 +1,38 @@
+package dev.deadc0de.genesis.module;
+
+import dev.deadc0de.genesis.module.factory.ArgumentResolverFactory;
+import dev.deadc0de.genesis.module.factory.DispatchingArgumentResolverFactory;
+import dev.deadc0de.genesis.module.factory.LazyRoleResolver;
+import dev.deadc0de.genesis.module.factory.ParameterResolver;
+import dev.deadc0de.genesis.module.factory.RoleResolver;
+import dev.deadc0de.genesis.module.factory.ServiceMethod;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+final class ReflectiveModuleMetadata {
+
+    private static final ClassValue<List<ServiceMethod>> SERVICE_METHODS = new ClassValue<List<ServiceMethod>>() {
+        @Override
+        protected List<ServiceMethod> computeValue(Class<?> moduleType) {
+            return serviceMethods(moduleType);
+        }
+    };
+
+    private ReflectiveModuleMetadata() {
+    }
+
+    public static List<ServiceMethod> forModule(Class<?> moduleType) {
+        return SERVICE_METHODS.get(moduleType);
+    }
+
+    private static List<ServiceMethod> serviceMethods(Class<?> moduleType) {
+        final ArgumentResolverFactory argumentResolverFactory = new DispatchingArgumentResolverFactory(ParameterResolver::new, RoleResolver::new, LazyRoleResolver::create);
+        return Collections.unmodifiableList(Stream.of(moduleType.getDeclaredMethods())
+                .filter(method -> Modifier.isPublic(method.getModifiers()))
+                .map(method -> new ServiceMethod(method, argumentResolverFactory))
+                .collect(Collectors.toList()));
+    }
+}
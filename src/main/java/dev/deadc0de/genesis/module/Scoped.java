@@ -0,0 +1,16 @@
+package dev.deadc0de.genesis.module;
+
+import dev.deadc0de.genesis.Scope;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Scoped {
+
+    Scope value();
+}
@@ -1,12 +1,9 @@
 package dev.deadc0de.genesis.module;
 
-import dev.deadc0de.genesis.module.factory.MethodBackedServiceFactory;
 import dev.deadc0de.genesis.ServiceFactory;
-import dev.deadc0de.genesis.module.factory.ArgumentResolverFactory;
-import dev.deadc0de.genesis.module.factory.DispatchingArgumentResolverFactory;
-import dev.deadc0de.genesis.module.factory.ParameterResolver;
-import dev.deadc0de.genesis.module.factory.RoleResolver;
-import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 public interface ServiceModule {
@@ -16,9 +13,22 @@ public interface ServiceModule {
     }
 
     static Stream<ServiceFactory> assembleModule(Object module) {
-        final ArgumentResolverFactory argumentResolverFactory = new DispatchingArgumentResolverFactory(ParameterResolver::new, RoleResolver::new);
-        return Stream.of(module.getClass().getDeclaredMethods())
-                .filter(method -> Modifier.isPublic(method.getModifiers()))
-                .map(method -> new MethodBackedServiceFactory(module, method, argumentResolverFactory));
+        final Optional<ModuleAssembler> generatedAssembler = GeneratedModuleAssemblers.forModule(module.getClass());
+        if (generatedAssembler.isPresent()) {
+            return generatedAssembler.get().assemble(module);
+        }
+        return assembleModuleReflectively(module);
+    }
+
+    static Stream<ServiceFactory> assembleModuleReflectively(Object module) {
+        return ReflectiveModuleMetadata.forModule(module.getClass()).stream()
+                .map(serviceMethod -> serviceMethod.bind(module));
+    }
+
+    static Stream<ServiceFactory> assembleMethodsReflectively(Object module, String... methodNames) {
+        final List<String> names = Arrays.asList(methodNames);
+        return ReflectiveModuleMetadata.forModule(module.getClass()).stream()
+                .filter(serviceMethod -> names.contains(serviceMethod.method().getName()))
+                .map(serviceMethod -> serviceMethod.bind(module));
     }
 }
@@ -0,0 +1,36 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.Futures;
+import java.util.concurrent.CompletableFuture;
+
+final class ArgumentFutures {
+
+    private ArgumentFutures() {
+    }
+
+    public static CompletableFuture<Object[]> inOrder(CompletableFuture<?>[] futures, Object[] values) {
+        final CompletableFuture<Object[]> all = new CompletableFuture<>();
+        for (int index = 0; index != futures.length; ++index) {
+            final int failed = index;
+            futures[index].whenComplete((value, failure) -> {
+                if (failure != null) {
+                    for (int cancelled = failed + 1; cancelled != futures.length; ++cancelled) {
+                        futures[cancelled].cancel(true);
+                    }
+                }
+            });
+        }
+        CompletableFuture.allOf(futures).whenComplete((ignored, anyFailure) -> {
+            for (int index = 0; index != futures.length; ++index) {
+                final Throwable failure = futures[index].handle((value, cause) -> cause).join();
+                if (failure != null) {
+                    all.completeExceptionally(Futures.cause(failure));
+                    return;
+                }
+                values[index] = futures[index].join();
+            }
+            all.complete(values);
+        });
+        return all;
+    }
+}
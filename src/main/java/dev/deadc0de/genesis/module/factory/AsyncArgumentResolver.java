@@ -0,0 +1,19 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.AsyncServiceGenerator;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+public interface AsyncArgumentResolver extends BiFunction<ServiceGenerator, ServiceDescriptor, Object> {
+
+    CompletableFuture<Object> resolveAsync(AsyncServiceGenerator asyncServiceGenerator, ServiceDescriptor serviceDescriptor);
+
+    static CompletableFuture<Object> resolveAsync(BiFunction<ServiceGenerator, ServiceDescriptor, Object> argumentResolver, AsyncServiceGenerator asyncServiceGenerator, ServiceDescriptor serviceDescriptor) {
+        if (argumentResolver instanceof AsyncArgumentResolver) {
+            return ((AsyncArgumentResolver) argumentResolver).resolveAsync(asyncServiceGenerator, serviceDescriptor);
+        }
+        return CompletableFuture.completedFuture(argumentResolver.apply(asyncServiceGenerator, serviceDescriptor));
+    }
+}
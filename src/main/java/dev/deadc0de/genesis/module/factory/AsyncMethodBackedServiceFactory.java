@@ -0,0 +1,105 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.AsyncServiceFactory;
+import dev.deadc0de.genesis.AsyncServiceGenerator;
+import dev.deadc0de.genesis.Futures;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerationException;
+import dev.deadc0de.genesis.ServiceGenerator;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class AsyncMethodBackedServiceFactory extends MethodBackedServiceFactory implements AsyncServiceFactory {
+
+    public AsyncMethodBackedServiceFactory(Object module, Method method, ArgumentResolverFactory argumentResolverFactory) {
+        super(module, new ServiceMethod(method, argumentResolverFactory, true));
+    }
+
+    public AsyncMethodBackedServiceFactory(Object module, ServiceMethod serviceMethod) {
+        super(module, serviceMethod);
+        if (!serviceMethod.async) {
+            throw new IllegalArgumentException("method must return a CompletableFuture");
+        }
+    }
+
+    public static boolean returnsFuture(Method method) {
+        return method.getReturnType().equals(CompletableFuture.class);
+    }
+
+    static Class<?> futureValueType(Method method) {
+        if (!returnsFuture(method)) {
+            throw new IllegalArgumentException("method must return a CompletableFuture");
+        }
+        final Type returnType = method.getGenericReturnType();
+        if (returnType instanceof ParameterizedType) {
+            final Type valueType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+            if (valueType instanceof Class) {
+                return (Class<?>) valueType;
+            }
+            if (valueType instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) valueType).getRawType();
+            }
+        }
+        return Object.class;
+    }
+
+    @Override
+    public CompletableFuture createAsync(AsyncServiceGenerator asyncServiceGenerator, ServiceDescriptor serviceDescriptor) {
+        final CompletableFuture<Object> service = new CompletableFuture<>();
+        final CompletableFuture<?>[] arguments;
+        try {
+            arguments = argumentResolvers().stream()
+                    .map(argumentResolver -> AsyncArgumentResolver.resolveAsync(argumentResolver, asyncServiceGenerator, serviceDescriptor))
+                    .toArray(CompletableFuture[]::new);
+        } catch (IllegalStateException exception) {
+            service.completeExceptionally(new ServiceGenerationException(this, exception));
+            return service;
+        }
+        ArgumentFutures.inOrder(arguments, new Object[arguments.length]).whenComplete((values, argumentFailure) -> {
+            if (argumentFailure != null) {
+                service.completeExceptionally(new ServiceGenerationException(this, Futures.cause(argumentFailure)));
+                return;
+            }
+            final CompletableFuture<?> created;
+            try {
+                created = invoke(asyncServiceGenerator, values);
+            } catch (RuntimeException | Error failure) {
+                service.completeExceptionally(ServiceGenerationException.shared(failure));
+                return;
+            }
+            created.whenComplete((value, creationFailure) -> {
+                if (creationFailure != null) {
+                    service.completeExceptionally(new ServiceGenerationException(this, Futures.cause(creationFailure)));
+                } else {
+                    service.complete(value);
+                }
+            });
+        });
+        return service;
+    }
+
+    @Override
+    public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        return AsyncServiceFactory.super.create(serviceGenerator, serviceDescriptor);
+    }
+
+    @Override
+    public Object create(ServiceGenerator serviceGenerator, Object[] arguments) {
+        try {
+            return invoke(serviceGenerator, arguments).join();
+        } catch (CompletionException exception) {
+            throw new ServiceGenerationException(this, Futures.cause(exception));
+        }
+    }
+
+    private CompletableFuture<?> invoke(ServiceGenerator serviceGenerator, Object[] arguments) {
+        final CompletableFuture<?> created = (CompletableFuture<?>) super.create(serviceGenerator, arguments);
+        if (created == null) {
+            throw new ServiceGenerationException(this, new IllegalStateException("module method returned a null future"));
+        }
+        return created;
+    }
+}
@@ -0,0 +1,19 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.GenerationPlanner;
+import dev.deadc0de.genesis.PlannedArgument;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+import java.util.function.BiFunction;
+
+public interface CompilableArgumentResolver extends BiFunction<ServiceGenerator, ServiceDescriptor, Object> {
+
+    PlannedArgument compile(GenerationPlanner generationPlanner, ServiceDescriptor serviceDescriptor);
+
+    static PlannedArgument compile(BiFunction<ServiceGenerator, ServiceDescriptor, Object> argumentResolver, GenerationPlanner generationPlanner, ServiceDescriptor serviceDescriptor) {
+        if (argumentResolver instanceof CompilableArgumentResolver) {
+            return ((CompilableArgumentResolver) argumentResolver).compile(generationPlanner, serviceDescriptor);
+        }
+        return (serviceGenerator, instances) -> argumentResolver.apply(serviceGenerator, serviceDescriptor);
+    }
+}
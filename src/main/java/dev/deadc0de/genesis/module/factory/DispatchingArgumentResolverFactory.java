@@ -2,6 +2,7 @@ package dev.deadc0de.genesis.module.factory;
 
 import dev.deadc0de.genesis.ServiceDescriptor;
 import dev.deadc0de.genesis.ServiceGenerator;
+import dev.deadc0de.genesis.module.Lazy;
 import dev.deadc0de.genesis.module.Parameter;
 import dev.deadc0de.genesis.module.Role;
 import java.util.function.BiFunction;
@@ -10,10 +11,16 @@ public class DispatchingArgumentResolverFactory implements ArgumentResolverFacto
 
     private final ArgumentResolverFactory parameterResolverFactory;
     private final ArgumentResolverFactory roleResolverFactory;
+    private final ArgumentResolverFactory lazyRoleResolverFactory;
 
     public DispatchingArgumentResolverFactory(ArgumentResolverFactory parameterResolverFactory, ArgumentResolverFactory roleResolverFactory) {
+        this(parameterResolverFactory, roleResolverFactory, LazyRoleResolver::create);
+    }
+
+    public DispatchingArgumentResolverFactory(ArgumentResolverFactory parameterResolverFactory, ArgumentResolverFactory roleResolverFactory, ArgumentResolverFactory lazyRoleResolverFactory) {
         this.parameterResolverFactory = parameterResolverFactory;
         this.roleResolverFactory = roleResolverFactory;
+        this.lazyRoleResolverFactory = lazyRoleResolverFactory;
     }
 
     @Override
@@ -25,11 +32,14 @@ public class DispatchingArgumentResolverFactory implements ArgumentResolverFacto
         }
         final Class<?> parameterType = methodParameter.getType();
         if (parameterType.equals(ServiceGenerator.class)) {
-            return (serviceGenerator, serviceDescriptor) -> serviceGenerator;
+            return new ServiceGeneratorResolver();
         }
         if (isParameter) {
             return parameterResolverFactory.createArgumentResolver(methodParameter);
         }
+        if (isRole && (methodParameter.isAnnotationPresent(Lazy.class) || LazyRoleResolver.isLazy(methodParameter))) {
+            return lazyRoleResolverFactory.createArgumentResolver(methodParameter);
+        }
         if (isRole) {
             return roleResolverFactory.createArgumentResolver(methodParameter);
         }
@@ -0,0 +1,418 @@
+package dev.deadc0de.genesis.module.factory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+final class LazyProxies {
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String SUPPLIER = "java/util/function/Supplier";
+    private static final String SUPPLIER_FIELD = "supplier";
+    private static final String TARGET_FIELD = "target";
+    private static final String TARGET_METHOD = "lazyTarget";
+    private static final AtomicInteger PROXY_COUNTER = new AtomicInteger();
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<MethodHandle>() {
+
+        @Override
+        protected MethodHandle computeValue(Class<?> interfaceType) {
+            return constructor(interfaceType);
+        }
+    };
+
+    private LazyProxies() {
+    }
+
+    public static void checkProxiable(Class<?> interfaceType) {
+        if (!interfaceType.isInterface() || !Modifier.isPublic(interfaceType.getModifiers())) {
+            throw new IllegalArgumentException("lazy role must be of a public interface type: " + interfaceType.getCanonicalName());
+        }
+    }
+
+    public static Object proxy(Class<?> interfaceType, Supplier<?> supplier) {
+        try {
+            return CONSTRUCTORS.get(interfaceType).invokeExact(supplier);
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    private static MethodHandle constructor(Class<?> interfaceType) {
+        checkProxiable(interfaceType);
+        final String proxyName = "dev.deadc0de.genesis.proxy.Lazy$" + interfaceType.getSimpleName() + "$" + PROXY_COUNTER.incrementAndGet();
+        final byte[] proxyClassFile = new ProxyClassFile(proxyName.replace('.', '/'), interfaceType).toByteArray();
+        final Class<?> proxyClass = new ProxyClassLoader(interfaceType.getClassLoader()).define(proxyName, proxyClassFile);
+        try {
+            return MethodHandles.publicLookup()
+                    .findConstructor(proxyClass, MethodType.methodType(void.class, Supplier.class))
+                    .asType(MethodType.methodType(Object.class, Supplier.class));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static String descriptor(Class<?> type) {
+        if (type.isPrimitive()) {
+            switch (type.getName()) {
+                case "void":
+                    return "V";
+                case "boolean":
+                    return "Z";
+                case "byte":
+                    return "B";
+                case "char":
+                    return "C";
+                case "short":
+                    return "S";
+                case "int":
+                    return "I";
+                case "long":
+                    return "J";
+                case "float":
+                    return "F";
+                default:
+                    return "D";
+            }
+        }
+        if (type.isArray()) {
+            return type.getName().replace('.', '/');
+        }
+        return "L" + type.getName().replace('.', '/') + ";";
+    }
+
+    private static String descriptor(Method method) {
+        final StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            descriptor.append(descriptor(parameterType));
+        }
+        return descriptor.append(')').append(descriptor(method.getReturnType())).toString();
+    }
+
+    private static int slots(Class<?> type) {
+        if (type == void.class) {
+            return 0;
+        }
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    private static class ProxyClassLoader extends ClassLoader {
+
+        public ProxyClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        public Class<?> define(String name, byte[] classFile) {
+            return defineClass(name, classFile, 0, classFile.length);
+        }
+    }
+
+    private static class ProxyClassFile {
+
+        private static final int CLASS_FILE_VERSION = 49;
+        private static final int ACC_PUBLIC = 0x0001;
+        private static final int ACC_PRIVATE = 0x0002;
+        private static final int ACC_FINAL = 0x0010;
+        private static final int ACC_SUPER = 0x0020;
+        private static final int ACC_VOLATILE = 0x0040;
+        private static final int MAGIC = 0xcafebabe;
+        private static final int ILOAD = 0x15;
+        private static final int LLOAD = 0x16;
+        private static final int FLOAD = 0x17;
+        private static final int DLOAD = 0x18;
+        private static final int ALOAD = 0x19;
+        private static final int ALOAD_0 = 0x2a;
+        private static final int ALOAD_1 = 0x2b;
+        private static final int POP = 0x57;
+        private static final int DUP = 0x59;
+        private static final int SWAP = 0x5f;
+        private static final int IRETURN = 0xac;
+        private static final int LRETURN = 0xad;
+        private static final int FRETURN = 0xae;
+        private static final int DRETURN = 0xaf;
+        private static final int ARETURN = 0xb0;
+        private static final int RETURN = 0xb1;
+        private static final int GETFIELD = 0xb4;
+        private static final int PUTFIELD = 0xb5;
+        private static final int INVOKEVIRTUAL = 0xb6;
+        private static final int INVOKESPECIAL = 0xb7;
+        private static final int INVOKEINTERFACE = 0xb9;
+        private static final int CHECKCAST = 0xc0;
+        private static final int IFNONNULL = 0xc7;
+
+        private final String proxyName;
+        private final String interfaceName;
+        private final Map<String, Method> interfaceMethods;
+        private final Map<String, Method> objectMethods;
+        private final ConstantPool constantPool;
+
+        public ProxyClassFile(String proxyName, Class<?> interfaceType) {
+            this.proxyName = proxyName;
+            interfaceName = interfaceType.getName().replace('.', '/');
+            objectMethods = new LinkedHashMap<>();
+            interfaceMethods = new LinkedHashMap<>();
+            try {
+                for (Method method : new Method[]{Object.class.getMethod("equals", Object.class), Object.class.getMethod("hashCode"), Object.class.getMethod("toString")}) {
+                    objectMethods.put(method.getName() + descriptor(method), method);
+                }
+            } catch (NoSuchMethodException exception) {
+                throw new IllegalStateException(exception);
+            }
+            for (Method method : interfaceType.getMethods()) {
+                final String key = method.getName() + descriptor(method);
+                if (!Modifier.isStatic(method.getModifiers()) && !objectMethods.containsKey(key)) {
+                    interfaceMethods.putIfAbsent(key, method);
+                }
+            }
+            constantPool = new ConstantPool();
+        }
+
+        public byte[] toByteArray() {
+            try {
+                final ByteArrayOutputStream body = new ByteArrayOutputStream();
+                final DataOutputStream out = new DataOutputStream(body);
+                out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+                out.writeShort(constantPool.classReference(proxyName));
+                out.writeShort(constantPool.classReference(OBJECT));
+                out.writeShort(1);
+                out.writeShort(constantPool.classReference(interfaceName));
+                out.writeShort(2);
+                writeField(out, ACC_PRIVATE | ACC_FINAL, SUPPLIER_FIELD, "L" + SUPPLIER + ";");
+                writeField(out, ACC_PRIVATE | ACC_VOLATILE, TARGET_FIELD, "L" + OBJECT + ";");
+                out.writeShort(2 + objectMethods.size() + interfaceMethods.size());
+                writeConstructor(out);
+                writeTargetMethod(out);
+                for (Method method : objectMethods.values()) {
+                    writeDelegatingMethod(out, method, false);
+                }
+                for (Method method : interfaceMethods.values()) {
+                    writeDelegatingMethod(out, method, true);
+                }
+                out.writeShort(0);
+                final ByteArrayOutputStream classFile = new ByteArrayOutputStream();
+                final DataOutputStream header = new DataOutputStream(classFile);
+                header.writeInt(MAGIC);
+                header.writeShort(0);
+                header.writeShort(CLASS_FILE_VERSION);
+                constantPool.writeTo(header);
+                body.writeTo(classFile);
+                return classFile.toByteArray();
+            } catch (IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        private void writeField(DataOutputStream out, int access, String name, String descriptor) throws IOException {
+            out.writeShort(access);
+            out.writeShort(constantPool.utf8(name));
+            out.writeShort(constantPool.utf8(descriptor));
+            out.writeShort(0);
+        }
+
+        private void writeConstructor(DataOutputStream out) throws IOException {
+            final Code code = new Code();
+            code.op(ALOAD_0);
+            code.op(INVOKESPECIAL).u2(constantPool.methodReference(OBJECT, "<init>", "()V", false));
+            code.op(ALOAD_0);
+            code.op(ALOAD_1);
+            code.op(PUTFIELD).u2(constantPool.fieldReference(proxyName, SUPPLIER_FIELD, "L" + SUPPLIER + ";"));
+            code.op(RETURN);
+            writeMethod(out, ACC_PUBLIC, "<init>", "(L" + SUPPLIER + ";)V", code, 2, 2);
+        }
+
+        private void writeTargetMethod(DataOutputStream out) throws IOException {
+            final int targetField = constantPool.fieldReference(proxyName, TARGET_FIELD, "L" + OBJECT + ";");
+            final Code code = new Code();
+            code.op(ALOAD_0);
+            code.op(GETFIELD).u2(targetField);
+            code.op(DUP);
+            code.op(IFNONNULL).u2(19);
+            code.op(POP);
+            code.op(ALOAD_0);
+            code.op(GETFIELD).u2(constantPool.fieldReference(proxyName, SUPPLIER_FIELD, "L" + SUPPLIER + ";"));
+            code.op(INVOKEINTERFACE).u2(constantPool.methodReference(SUPPLIER, "get", "()L" + OBJECT + ";", true)).op(1).op(0);
+            code.op(DUP);
+            code.op(ALOAD_0);
+            code.op(SWAP);
+            code.op(PUTFIELD).u2(targetField);
+            code.op(ARETURN);
+            writeMethod(out, ACC_PRIVATE, TARGET_METHOD, "()L" + OBJECT + ";", code, 3, 1);
+        }
+
+        private void writeDelegatingMethod(DataOutputStream out, Method method, boolean isInterfaceMethod) throws IOException {
+            final String descriptor = descriptor(method);
+            final Code code = new Code();
+            code.op(ALOAD_0);
+            code.op(INVOKESPECIAL).u2(constantPool.methodReference(proxyName, TARGET_METHOD, "()L" + OBJECT + ";", false));
+            if (isInterfaceMethod) {
+                code.op(CHECKCAST).u2(constantPool.classReference(interfaceName));
+            }
+            int slot = 1;
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                code.op(loadOpcode(parameterType)).op(slot);
+                slot += slots(parameterType);
+            }
+            if (isInterfaceMethod) {
+                code.op(INVOKEINTERFACE).u2(constantPool.methodReference(interfaceName, method.getName(), descriptor, true)).op(slot).op(0);
+            } else {
+                code.op(INVOKEVIRTUAL).u2(constantPool.methodReference(OBJECT, method.getName(), descriptor, false));
+            }
+            code.op(returnOpcode(method.getReturnType()));
+            writeMethod(out, ACC_PUBLIC, method.getName(), descriptor, code, Math.max(slot, slots(method.getReturnType())), slot);
+        }
+
+        private void writeMethod(DataOutputStream out, int access, String name, String descriptor, Code code, int maxStack, int maxLocals) throws IOException {
+            out.writeShort(access);
+            out.writeShort(constantPool.utf8(name));
+            out.writeShort(constantPool.utf8(descriptor));
+            out.writeShort(1);
+            out.writeShort(constantPool.utf8("Code"));
+            out.writeInt(12 + code.size());
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.size());
+            code.writeTo(out);
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+
+        private static int loadOpcode(Class<?> type) {
+            if (type == long.class) {
+                return LLOAD;
+            } else if (type == float.class) {
+                return FLOAD;
+            } else if (type == double.class) {
+                return DLOAD;
+            } else if (type.isPrimitive()) {
+                return ILOAD;
+            }
+            return ALOAD;
+        }
+
+        private static int returnOpcode(Class<?> type) {
+            if (type == void.class) {
+                return RETURN;
+            } else if (type == long.class) {
+                return LRETURN;
+            } else if (type == float.class) {
+                return FRETURN;
+            } else if (type == double.class) {
+                return DRETURN;
+            } else if (type.isPrimitive()) {
+                return IRETURN;
+            }
+            return ARETURN;
+        }
+    }
+
+    private static class Code {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        public Code op(int value) {
+            bytes.write(value);
+            return this;
+        }
+
+        public Code u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+            return this;
+        }
+
+        public int size() {
+            return bytes.size();
+        }
+
+        public void writeTo(DataOutputStream out) throws IOException {
+            bytes.writeTo(out);
+        }
+    }
+
+    private static class ConstantPool {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int count = 1;
+
+        public int utf8(String value) throws IOException {
+            final Integer index = indexes.get("U" + value);
+            if (index != null) {
+                return index;
+            }
+            out.writeByte(1);
+            out.writeUTF(value);
+            return register("U" + value);
+        }
+
+        public int classReference(String internalName) throws IOException {
+            final Integer index = indexes.get("C" + internalName);
+            if (index != null) {
+                return index;
+            }
+            final int name = utf8(internalName);
+            out.writeByte(7);
+            out.writeShort(name);
+            return register("C" + internalName);
+        }
+
+        public int fieldReference(String owner, String name, String descriptor) throws IOException {
+            return memberReference(9, owner, name, descriptor);
+        }
+
+        public int methodReference(String owner, String name, String descriptor, boolean isInterface) throws IOException {
+            return memberReference(isInterface ? 11 : 10, owner, name, descriptor);
+        }
+
+        private int memberReference(int tag, String owner, String name, String descriptor) throws IOException {
+            final String key = tag + owner + "." + name + descriptor;
+            final Integer index = indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            final int ownerIndex = classReference(owner);
+            final int nameAndType = nameAndType(name, descriptor);
+            out.writeByte(tag);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndType);
+            return register(key);
+        }
+
+        private int nameAndType(String name, String descriptor) throws IOException {
+            final String key = "N" + name + ":" + descriptor;
+            final Integer index = indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            final int nameIndex = utf8(name);
+            final int descriptorIndex = utf8(descriptor);
+            out.writeByte(12);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+            return register(key);
+        }
+
+        private int register(String key) {
+            final int index = count++;
+            indexes.put(key, index);
+            return index;
+        }
+
+        public void writeTo(DataOutputStream header) throws IOException {
+            header.writeShort(count);
+            bytes.writeTo(header);
+        }
+    }
+}
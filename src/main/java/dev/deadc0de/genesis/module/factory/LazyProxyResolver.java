@@ -0,0 +1,59 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.GenerationPlanner;
+import dev.deadc0de.genesis.PlannedArgument;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+import dev.deadc0de.genesis.module.Lazy;
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public class LazyProxyResolver implements CompilableArgumentResolver {
+
+    private final Class<?> methodParameterType;
+    private final Class<?> collaboratorType;
+    private final LazyRoleResolver supplierResolver;
+
+    public LazyProxyResolver(java.lang.reflect.Parameter methodParameter) {
+        this(lazyRoleName(methodParameter), methodParameter.getType(), RoleResolver.defaultCollaboratorNames(methodParameter));
+    }
+
+    public LazyProxyResolver(String roleName, Class<?> methodParameterType, Optional<List<String>> defaultCollaboratorNames) {
+        this.methodParameterType = methodParameterType;
+        collaboratorType = methodParameterType.isArray() ? methodParameterType.getComponentType() : methodParameterType;
+        LazyProxies.checkProxiable(collaboratorType);
+        supplierResolver = new LazyRoleResolver(roleName, methodParameterType.isArray() ? Supplier[].class : Supplier.class, collaboratorType, defaultCollaboratorNames);
+    }
+
+    private static String lazyRoleName(java.lang.reflect.Parameter methodParameter) {
+        if (!methodParameter.isAnnotationPresent(Lazy.class)) {
+            throw new IllegalArgumentException("method parameter must be annotated with @Lazy");
+        }
+        return RoleResolver.roleName(methodParameter);
+    }
+
+    @Override
+    public PlannedArgument compile(GenerationPlanner generationPlanner, ServiceDescriptor serviceDescriptor) {
+        final PlannedArgument suppliers = supplierResolver.compile(generationPlanner, serviceDescriptor);
+        return (serviceGenerator, instances) -> proxies(suppliers.resolve(serviceGenerator, instances));
+    }
+
+    @Override
+    public Object apply(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        return proxies(supplierResolver.apply(serviceGenerator, serviceDescriptor));
+    }
+
+    private Object proxies(Object suppliers) {
+        if (!methodParameterType.isArray()) {
+            return LazyProxies.proxy(collaboratorType, (Supplier<?>) suppliers);
+        }
+        final Supplier<?>[] collaboratorSuppliers = (Supplier<?>[]) suppliers;
+        final Object[] proxies = (Object[]) Array.newInstance(collaboratorType, collaboratorSuppliers.length);
+        for (int index = 0; index != proxies.length; ++index) {
+            proxies[index] = LazyProxies.proxy(collaboratorType, collaboratorSuppliers[index]);
+        }
+        return proxies;
+    }
+}
@@ -0,0 +1,151 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.GenerationPlanner;
+import dev.deadc0de.genesis.PlannedArgument;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+import dev.deadc0de.genesis.module.Lazy;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class LazyRoleResolver implements CompilableArgumentResolver {
+
+    private final String roleName;
+    private final Class<?> methodParameterType;
+    private final Class<?> collaboratorType;
+    private final Optional<List<ServiceDescriptor>> defaultCollaboratorDescriptors;
+
+    public LazyRoleResolver(java.lang.reflect.Parameter methodParameter) {
+        this(RoleResolver.roleName(methodParameter), methodParameter.getType(), collaboratorType(methodParameter), RoleResolver.defaultCollaboratorNames(methodParameter));
+    }
+
+    public LazyRoleResolver(String roleName, Class<?> methodParameterType, Class<?> collaboratorType, Optional<List<String>> defaultCollaboratorNames) {
+        if (!methodParameterType.equals(Supplier.class) && !methodParameterType.equals(Supplier[].class) && !methodParameterType.equals(List.class)) {
+            throw new IllegalArgumentException("lazy role must be of type Supplier, Supplier[] or List<Supplier>: " + methodParameterType.getCanonicalName());
+        }
+        this.roleName = roleName;
+        this.methodParameterType = methodParameterType;
+        this.collaboratorType = collaboratorType;
+        defaultCollaboratorDescriptors = defaultCollaboratorNames.map(collaboratorNames -> {
+            if (!isMultiple() && collaboratorNames.size() != 1) {
+                throw new IllegalArgumentException();
+            }
+            return collaboratorNames.stream().map(ServiceDescriptor::notParameterized).collect(Collectors.toList());
+        });
+    }
+
+    public static BiFunction<ServiceGenerator, ServiceDescriptor, Object> create(java.lang.reflect.Parameter methodParameter) {
+        if (methodParameter.isAnnotationPresent(Lazy.class)) {
+            return new LazyProxyResolver(methodParameter);
+        }
+        return new LazyRoleResolver(methodParameter);
+    }
+
+    public static boolean isLazy(java.lang.reflect.Parameter methodParameter) {
+        final Class<?> parameterType = methodParameter.getType();
+        if (parameterType.equals(Supplier.class) || parameterType.equals(Supplier[].class)) {
+            return true;
+        }
+        if (!parameterType.equals(List.class) || !(methodParameter.getParameterizedType() instanceof ParameterizedType)) {
+            return false;
+        }
+        final Type elementType = ((ParameterizedType) methodParameter.getParameterizedType()).getActualTypeArguments()[0];
+        return rawType(elementType).equals(Supplier.class);
+    }
+
+    public static Class<?> collaboratorType(java.lang.reflect.Parameter methodParameter) {
+        final Type parameterType = methodParameter.getParameterizedType();
+        if (parameterType instanceof GenericArrayType) {
+            return suppliedType(((GenericArrayType) parameterType).getGenericComponentType());
+        }
+        if (methodParameter.getType().equals(List.class)) {
+            return suppliedType(((ParameterizedType) parameterType).getActualTypeArguments()[0]);
+        }
+        return suppliedType(parameterType);
+    }
+
+    public static Class<?> roleType(java.lang.reflect.Parameter methodParameter) {
+        final Class<?> collaboratorType = collaboratorType(methodParameter);
+        return methodParameter.getType().equals(Supplier.class) ? collaboratorType : Array.newInstance(collaboratorType, 0).getClass();
+    }
+
+    private static Class<?> suppliedType(Type supplierType) {
+        if (supplierType instanceof ParameterizedType) {
+            return rawType(((ParameterizedType) supplierType).getActualTypeArguments()[0]);
+        }
+        return Object.class;
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return rawType(((ParameterizedType) type).getRawType());
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(rawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return rawType(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable) {
+            return rawType(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    private boolean isMultiple() {
+        return !methodParameterType.equals(Supplier.class);
+    }
+
+    @Override
+    public PlannedArgument compile(GenerationPlanner generationPlanner, ServiceDescriptor serviceDescriptor) {
+        final List<ServiceDescriptor> collaborators = checkedCollaboratorDescriptors(serviceDescriptor);
+        return (serviceGenerator, instances) -> suppliers(serviceGenerator, collaborators);
+    }
+
+    @Override
+    public Object apply(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        return suppliers(serviceGenerator, checkedCollaboratorDescriptors(serviceDescriptor));
+    }
+
+    private Object suppliers(ServiceGenerator serviceGenerator, List<ServiceDescriptor> collaborators) {
+        if (!isMultiple()) {
+            return new MemoizingSupplier<>(serviceGenerator, collaboratorType, collaborators.get(0));
+        }
+        final Supplier<?>[] suppliers = new Supplier<?>[collaborators.size()];
+        for (int index = 0; index != suppliers.length; ++index) {
+            suppliers[index] = new MemoizingSupplier<>(serviceGenerator, collaboratorType, collaborators.get(index));
+        }
+        return methodParameterType.isArray() ? suppliers : Collections.unmodifiableList(Arrays.asList(suppliers));
+    }
+
+    private List<ServiceDescriptor> checkedCollaboratorDescriptors(ServiceDescriptor serviceDescriptor) {
+        final List<ServiceDescriptor> collaborators = collaboratorDescriptors(serviceDescriptor);
+        if (!isMultiple() && collaborators.size() != 1) {
+            throw new IllegalStateException("expected a single collaborator, but " + collaborators.size() + " collaborators found");
+        }
+        return collaborators;
+    }
+
+    private List<ServiceDescriptor> collaboratorDescriptors(ServiceDescriptor serviceDescriptor) {
+        if (serviceDescriptor.collaborators.containsKey(roleName)) {
+            return serviceDescriptor.collaborators.get(roleName);
+        } else if (defaultCollaboratorDescriptors.isPresent()) {
+            return defaultCollaboratorDescriptors.get();
+        }
+        throw new IllegalStateException(String.format("missing collaborator: %s (%s)", roleName, collaboratorType.getCanonicalName()));
+    }
+}
@@ -0,0 +1,39 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+import java.util.function.Supplier;
+
+class MemoizingSupplier<T> implements Supplier<T> {
+
+    private final Class<T> serviceType;
+    private final ServiceDescriptor serviceDescriptor;
+    private ServiceGenerator serviceGenerator;
+    private volatile boolean generated;
+    private T service;
+
+    public MemoizingSupplier(ServiceGenerator serviceGenerator, Class<T> serviceType, ServiceDescriptor serviceDescriptor) {
+        this.serviceGenerator = serviceGenerator;
+        this.serviceType = serviceType;
+        this.serviceDescriptor = serviceDescriptor;
+    }
+
+    @Override
+    public T get() {
+        if (!generated) {
+            synchronized (this) {
+                if (!generated) {
+                    service = serviceGenerator.generate(serviceType, serviceDescriptor);
+                    serviceGenerator = null;
+                    generated = true;
+                }
+            }
+        }
+        return service;
+    }
+
+    @Override
+    public String toString() {
+        return generated ? "MemoizingSupplier(" + service + ")" : "MemoizingSupplier(" + serviceDescriptor + ")";
+    }
+}
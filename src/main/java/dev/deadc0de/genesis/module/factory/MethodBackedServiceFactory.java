@@ -1,56 +1,61 @@
 package dev.deadc0de.genesis.module.factory;
 
 import dev.deadc0de.genesis.AbstractServiceFactory;
+import dev.deadc0de.genesis.CompilableServiceFactory;
+import dev.deadc0de.genesis.GenerationEvents;
+import dev.deadc0de.genesis.GenerationPlanner;
+import dev.deadc0de.genesis.PlannedArgument;
+import dev.deadc0de.genesis.PooledServiceFactory;
+import dev.deadc0de.genesis.Scope;
 import dev.deadc0de.genesis.ServiceDescriptor;
 import dev.deadc0de.genesis.ServiceGenerationException;
 import dev.deadc0de.genesis.ServiceGenerator;
-import dev.deadc0de.genesis.module.Default;
-import dev.deadc0de.genesis.module.Parameter;
-import dev.deadc0de.genesis.module.Role;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-public class MethodBackedServiceFactory extends AbstractServiceFactory {
+public class MethodBackedServiceFactory extends AbstractServiceFactory implements CompilableServiceFactory, PooledServiceFactory {
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
 
     private final Object module;
-    private final Method method;
+    private final MethodInvoker methodInvoker;
+    private final BiFunction<ServiceGenerator, ServiceDescriptor, Object>[] resolvers;
     private final List<BiFunction<ServiceGenerator, ServiceDescriptor, Object>> argumentResolvers;
     private final Map<String, Optional<List<String>>> parameters;
     private final Map<String, Map.Entry<Class<?>, Optional<List<String>>>> roles;
+    private final Set<String> lazyRoles;
+    private final Scope scope;
+    private final int perThreadCapacity;
+    private final int sharedCapacity;
+    private final MethodHandle resetMethod;
 
     public MethodBackedServiceFactory(Object module, Method method, ArgumentResolverFactory argumentResolverFactory) {
-        super(method.getName(), method.getReturnType());
+        this(module, new ServiceMethod(method, argumentResolverFactory, false));
+    }
+
+    public MethodBackedServiceFactory(Object module, ServiceMethod serviceMethod) {
+        super(serviceMethod.method.getName(), serviceMethod.serviceType);
         this.module = module;
-        this.method = method;
-        parameters = new HashMap<>();
-        roles = new HashMap<>();
-        argumentResolvers = Stream.of(method.getParameters())
-                .peek(this::collectParameterOrRole)
-                .map(argumentResolverFactory::createArgumentResolver)
-                .collect(Collectors.toList());
+        this.methodInvoker = serviceMethod.invoker(module);
+        this.scope = serviceMethod.scope;
+        this.perThreadCapacity = serviceMethod.perThreadCapacity;
+        this.sharedCapacity = serviceMethod.sharedCapacity;
+        this.resetMethod = serviceMethod.resetMethod;
+        parameters = serviceMethod.parameters;
+        roles = serviceMethod.roles;
+        lazyRoles = serviceMethod.lazyRoles;
+        argumentResolvers = serviceMethod.argumentResolvers;
+        resolvers = serviceMethod.resolvers;
     }
 
-    private void collectParameterOrRole(java.lang.reflect.Parameter methodParameter) {
-        final Optional<List<String>> defaultValues = Optional.ofNullable(methodParameter.getAnnotation(Default.class))
-                .map(Default::value)
-                .map(Arrays::asList)
-                .map(Collections::unmodifiableList);
-        if (methodParameter.isAnnotationPresent(Parameter.class)) {
-            parameters.put(methodParameter.getAnnotation(Parameter.class).value(), defaultValues);
-        }
-        if (methodParameter.isAnnotationPresent(Role.class)) {
-            roles.put(methodParameter.getAnnotation(Role.class).value(), new AbstractMap.SimpleImmutableEntry<>(methodParameter.getType(), defaultValues));
-        }
+    protected List<BiFunction<ServiceGenerator, ServiceDescriptor, Object>> argumentResolvers() {
+        return argumentResolvers;
     }
 
     @Override
@@ -63,13 +68,81 @@ public class MethodBackedServiceFactory extends AbstractServiceFactory {
         return roles;
     }
 
+    @Override
+    public Set lazyRoles() {
+        return lazyRoles;
+    }
+
+    @Override
+    public Scope scope() {
+        return scope;
+    }
+
+    @Override
+    public int perThreadCapacity() {
+        return perThreadCapacity;
+    }
+
+    @Override
+    public int sharedCapacity() {
+        return sharedCapacity;
+    }
+
+    @Override
+    public void reset(Object service) {
+        if (resetMethod == null) {
+            return;
+        }
+        try {
+            resetMethod.invokeExact(service);
+        } catch (Throwable throwable) {
+            throw ServiceGenerationException.wrap(this, new InvocationTargetException(throwable));
+        }
+    }
+
     @Override
     public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        final Object event = GenerationEvents.beginCreation();
         try {
-            final Object[] arguments = argumentResolvers.stream().map(argumentResolver -> argumentResolver.apply(serviceGenerator, serviceDescriptor)).toArray();
-            return method.invoke(module, arguments);
+            final BiFunction<ServiceGenerator, ServiceDescriptor, Object>[] resolvers = this.resolvers;
+            final Object[] arguments = resolvers.length == 0 ? NO_ARGUMENTS : new Object[resolvers.length];
+            for (int index = 0; index != resolvers.length; ++index) {
+                arguments[index] = resolvers[index].apply(serviceGenerator, serviceDescriptor);
+            }
+            return methodInvoker.invoke(arguments);
         } catch (IllegalAccessException | InvocationTargetException | IllegalStateException exception) {
-            throw new ServiceGenerationException(this, exception);
+            throw ServiceGenerationException.wrap(this, exception, serviceGenerator);
+        } finally {
+            if (event != null) {
+                GenerationEvents.endCreation(event, this, module.getClass());
+            }
+        }
+    }
+
+    @Override
+    public PlannedArgument[] compile(GenerationPlanner generationPlanner, ServiceDescriptor serviceDescriptor) {
+        try {
+            final PlannedArgument[] plannedArguments = new PlannedArgument[resolvers.length];
+            for (int index = 0; index != resolvers.length; ++index) {
+                plannedArguments[index] = CompilableArgumentResolver.compile(resolvers[index], generationPlanner, serviceDescriptor);
+            }
+            return plannedArguments;
+        } catch (IllegalStateException exception) {
+            throw ServiceGenerationException.wrap(this, exception);
+        }
+    }
+
+    @Override
+    public Object create(ServiceGenerator serviceGenerator, Object[] arguments) {
+        final Object event = GenerationEvents.beginCreation();
+        try {
+            return methodInvoker.invoke(arguments);
+        } catch (IllegalAccessException | InvocationTargetException exception) {
+            throw ServiceGenerationException.wrap(this, exception, serviceGenerator);
+        } finally {
+            if (event != null) {
+                GenerationEvents.endCreation(event, this, module.getClass());
+            }
         }
     }
 
@@ -0,0 +1,39 @@
+package dev.deadc0de.genesis.module.factory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+public class MethodHandleInvoker implements MethodInvoker {
+
+    private final MethodHandle methodHandle;
+
+    public MethodHandleInvoker(Object module, Method method) throws IllegalAccessException {
+        this(bind(unreflect(method), module, method));
+    }
+
+    MethodHandleInvoker(MethodHandle methodHandle) {
+        this.methodHandle = methodHandle;
+    }
+
+    static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        final MethodHandle unreflected = MethodHandles.lookup().unreflect(method).asFixedArity();
+        return unreflected.asType(unreflected.type().generic());
+    }
+
+    static MethodHandle bind(MethodHandle unreflected, Object module, Method method) {
+        final MethodHandle bound = Modifier.isStatic(method.getModifiers()) ? unreflected : unreflected.bindTo(module);
+        return bound.asSpreader(Object[].class, method.getParameterCount());
+    }
+
+    @Override
+    public Object invoke(Object[] arguments) throws InvocationTargetException {
+        try {
+            return (Object) methodHandle.invokeExact(arguments);
+        } catch (Throwable throwable) {
+            throw new InvocationTargetException(throwable);
+        }
+    }
+}
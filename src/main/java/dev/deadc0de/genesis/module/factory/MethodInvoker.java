@@ -0,0 +1,17 @@
+package dev.deadc0de.genesis.module.factory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+public interface MethodInvoker {
+
+    Object invoke(Object[] arguments) throws IllegalAccessException, InvocationTargetException;
+
+    static MethodInvoker bind(Object module, Method method) {
+        try {
+            return new MethodHandleInvoker(module, method);
+        } catch (IllegalAccessException inaccessibleMethod) {
+            return new ReflectiveMethodInvoker(module, method);
+        }
+    }
+}
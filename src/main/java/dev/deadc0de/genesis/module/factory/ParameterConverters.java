@@ -0,0 +1,91 @@
+package dev.deadc0de.genesis.module.factory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class ParameterConverters {
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+)\\s*(ns|us|ms|s|m|h|d)");
+    private static final Map<Class<?>, Function<String, Object>> CONVERTERS = new HashMap<>();
+
+    static {
+        register(String.class, String.class, value -> value);
+        register(boolean.class, Boolean.class, ParameterConverters::parseBoolean);
+        register(char.class, Character.class, ParameterConverters::parseCharacter);
+        register(byte.class, Byte.class, Byte::valueOf);
+        register(short.class, Short.class, Short::valueOf);
+        register(int.class, Integer.class, Integer::valueOf);
+        register(long.class, Long.class, Long::valueOf);
+        register(float.class, Float.class, Float::valueOf);
+        register(double.class, Double.class, Double::valueOf);
+        register(BigInteger.class, BigInteger.class, BigInteger::new);
+        register(BigDecimal.class, BigDecimal.class, BigDecimal::new);
+        register(Duration.class, Duration.class, ParameterConverters::parseDuration);
+        register(Path.class, Path.class, value -> Paths.get(value));
+    }
+
+    private ParameterConverters() {
+    }
+
+    private static void register(Class<?> primitiveType, Class<?> boxedType, Function<String, Object> converter) {
+        CONVERTERS.put(primitiveType, converter);
+        CONVERTERS.put(boxedType, converter);
+    }
+
+    public static Optional<Function<String, Object>> converter(Class<?> parameterType) {
+        if (parameterType.isEnum()) {
+            return Optional.of(value -> Enum.valueOf((Class) parameterType, value));
+        }
+        return Optional.ofNullable(CONVERTERS.get(parameterType));
+    }
+
+    private static Object parseBoolean(String value) {
+        if (value.equals("true")) {
+            return Boolean.TRUE;
+        } else if (value.equals("false")) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("expected true or false");
+    }
+
+    private static Object parseCharacter(String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException("expected a single character");
+        }
+        return value.charAt(0);
+    }
+
+    private static Object parseDuration(String value) {
+        final Matcher matcher = DURATION.matcher(value);
+        if (!matcher.matches()) {
+            return Duration.parse(value);
+        }
+        final long amount = Long.parseLong(matcher.group(1));
+        switch (matcher.group(2)) {
+            case "ns":
+                return Duration.ofNanos(amount);
+            case "us":
+                return Duration.of(amount, ChronoUnit.MICROS);
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            default:
+                return Duration.ofDays(amount);
+        }
+    }
+}
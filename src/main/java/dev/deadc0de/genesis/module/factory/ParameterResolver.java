@@ -1,62 +1,138 @@
 package dev.deadc0de.genesis.module.factory;
 
+import dev.deadc0de.genesis.GenerationPlanner;
+import dev.deadc0de.genesis.PlannedArgument;
 import dev.deadc0de.genesis.ServiceDescriptor;
 import dev.deadc0de.genesis.ServiceGenerator;
 import dev.deadc0de.genesis.module.Default;
 import dev.deadc0de.genesis.module.Parameter;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.BiFunction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 
-public class ParameterResolver implements BiFunction<ServiceGenerator, ServiceDescriptor, Object> {
+public class ParameterResolver implements CompilableArgumentResolver {
+
+    private static final int CACHED_CONVERSIONS = 16;
 
     private final String parameterName;
-    private final Optional<List<String>> defaultParameters;
-    private final Function<List<String>, Object> parametersExtractor;
+    private final Class<?> parameterType;
+    private final Function<String, Object> converter;
+    private final Optional<Object> defaultArgument;
+    private final AtomicReferenceArray<Conversion> conversions = new AtomicReferenceArray<>(CACHED_CONVERSIONS);
 
     public ParameterResolver(java.lang.reflect.Parameter methodParameter) {
+        this(parameterName(methodParameter), methodParameter.getType(), defaultParameters(methodParameter));
+    }
+
+    public ParameterResolver(String parameterName, Class<?> parameterType, Optional<List<String>> defaultParameters) {
+        this.parameterName = parameterName;
+        this.parameterType = parameterType;
+        converter = ParameterConverters.converter(parameterType.isArray() ? parameterType.getComponentType() : parameterType)
+                .orElseThrow(() -> new IllegalArgumentException("method parameter must be of a string, primitive, boxed number, Duration, enum or Path type, or an array of them, but found " + parameterType.getCanonicalName()));
+        defaultArgument = defaultParameters.map(values -> {
+            if (!parameterType.isArray() && values.size() != 1) {
+                throw new IllegalArgumentException("only one default parameter must be specified when parameter type is not an array");
+            }
+            try {
+                return convert(values);
+            } catch (IllegalStateException exception) {
+                throw new IllegalArgumentException("invalid default value: " + exception.getMessage(), exception.getCause());
+            }
+        });
+    }
+
+    private static String parameterName(java.lang.reflect.Parameter methodParameter) {
         if (!methodParameter.isAnnotationPresent(Parameter.class)) {
             throw new IllegalArgumentException("method parameter must be annotated with @Parameter");
         }
-        final Class<?> parameterType = methodParameter.getType();
-        if (!isSupported(parameterType)) {
-            throw new IllegalArgumentException("method parameter must be of type String or String[], but found " + parameterType.getCanonicalName());
-        }
-        parameterName = methodParameter.getAnnotation(Parameter.class).value();
-        defaultParameters = Optional.ofNullable(methodParameter.getAnnotation(Default.class)).map(Default::value).map(values -> {
-            if (parameterType.equals(String.class) && values.length != 1) {
-                throw new IllegalArgumentException("only one default parameter must be specified when parameter type is String");
+        return methodParameter.getAnnotation(Parameter.class).value();
+    }
+
+    private static Optional<List<String>> defaultParameters(java.lang.reflect.Parameter methodParameter) {
+        return Optional.ofNullable(methodParameter.getAnnotation(Default.class)).map(Default::value).map(Arrays::asList);
+    }
+
+    private Object convert(List<String> parameters) {
+        if (!parameterType.isArray()) {
+            if (parameters.size() != 1) {
+                throw new IllegalStateException("expected a single parameter, but " + parameters.size() + " parameters found");
             }
-            return Arrays.asList(values);
-        });
-        parametersExtractor = parameterType.equals(String.class) ? ParameterResolver::extractString : ParameterResolver::extractStringArray;
+            return convert(parameters.get(0));
+        }
+        final Object arguments = Array.newInstance(parameterType.getComponentType(), parameters.size());
+        for (int index = 0; index != parameters.size(); ++index) {
+            Array.set(arguments, index, convert(parameters.get(index)));
+        }
+        return arguments;
     }
 
-    private static boolean isSupported(Class<?> parameterType) {
-        return parameterType.equals(String.class) || (parameterType.isArray() && parameterType.getComponentType().equals(String.class));
+    private Object convert(String parameter) {
+        try {
+            return converter.apply(parameter);
+        } catch (RuntimeException exception) {
+            throw new IllegalStateException(String.format("invalid parameter: %s (%s) cannot be converted to %s", parameterName, parameter, parameterType.getCanonicalName()), exception);
+        }
+    }
+
+    private Object converted(List<String> parameters) {
+        final int slot = System.identityHashCode(parameters) & (CACHED_CONVERSIONS - 1);
+        final Conversion conversion = conversions.get(slot);
+        if (conversion != null && conversion.get() == parameters) {
+            return conversion.argument;
+        }
+        final Object argument = convert(parameters);
+        conversions.set(slot, new Conversion(parameters, argument));
+        return argument;
+    }
+
+    private Object copy(Object argument) {
+        if (!parameterType.isArray()) {
+            return argument;
+        }
+        final int length = Array.getLength(argument);
+        if (length == 0) {
+            return argument;
+        }
+        final Object copy = Array.newInstance(parameterType.getComponentType(), length);
+        System.arraycopy(argument, 0, copy, 0, length);
+        return copy;
     }
 
-    private static Object extractString(List<String> parameters) {
-        if (parameters.size() != 1) {
-            throw new IllegalStateException("expected a single parameter, but " + parameters.size() + " parameters found");
+    private Object argument(ServiceDescriptor serviceDescriptor) {
+        final List<String> parameters = serviceDescriptor.configuration.get(parameterName);
+        if (parameters != null) {
+            return converted(parameters);
+        } else if (defaultArgument.isPresent()) {
+            return defaultArgument.get();
         }
-        return parameters.get(0);
+        throw new IllegalStateException(String.format("missing parameter: %s", parameterName));
     }
 
-    private static Object extractStringArray(List<String> parameters) {
-        return parameters.toArray(new String[parameters.size()]);
+    @Override
+    public PlannedArgument compile(GenerationPlanner generationPlanner, ServiceDescriptor serviceDescriptor) {
+        final Object argument = argument(serviceDescriptor);
+        if (parameterType.isArray()) {
+            return (serviceGenerator, instances) -> copy(argument);
+        }
+        return (serviceGenerator, instances) -> argument;
     }
 
     @Override
     public Object apply(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
-        if (serviceDescriptor.configuration.containsKey(parameterName)) {
-            final List<String> parameters = serviceDescriptor.configuration.get(parameterName);
-            return parametersExtractor.apply(parameters);
-        } else if (defaultParameters.isPresent()) {
-            return parametersExtractor.apply(defaultParameters.get());
+        return copy(argument(serviceDescriptor));
+    }
+
+    private static class Conversion extends WeakReference<List<String>> {
+
+        public final Object argument;
+
+        public Conversion(List<String> parameters, Object argument) {
+            super(parameters);
+            this.argument = argument;
         }
-        throw new IllegalStateException(String.format("missing parameter: %s", parameterName));
     }
 }
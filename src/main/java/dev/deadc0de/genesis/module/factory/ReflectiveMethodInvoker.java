@@ -0,0 +1,20 @@
+package dev.deadc0de.genesis.module.factory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+public class ReflectiveMethodInvoker implements MethodInvoker {
+
+    private final Object module;
+    private final Method method;
+
+    public ReflectiveMethodInvoker(Object module, Method method) {
+        this.module = module;
+        this.method = method;
+    }
+
+    @Override
+    public Object invoke(Object[] arguments) throws IllegalAccessException, InvocationTargetException {
+        return method.invoke(module, arguments);
+    }
+}
@@ -1,59 +1,123 @@
 package dev.deadc0de.genesis.module.factory;
 
+import dev.deadc0de.genesis.AsyncServiceGenerator;
+import dev.deadc0de.genesis.GenerationPlanner;
+import dev.deadc0de.genesis.PlannedArgument;
 import dev.deadc0de.genesis.ServiceDescriptor;
 import dev.deadc0de.genesis.ServiceGenerator;
 import dev.deadc0de.genesis.module.Default;
 import dev.deadc0de.genesis.module.Role;
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.BiFunction;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-public class RoleResolver implements BiFunction<ServiceGenerator, ServiceDescriptor, Object> {
+public class RoleResolver implements CompilableArgumentResolver, AsyncArgumentResolver {
 
     private final String roleName;
     private final Class<?> methodParameterType;
     private final Optional<List<ServiceDescriptor>> defaultCollaboratorDescriptors;
-    private final BiFunction<List<ServiceDescriptor>, ServiceGenerator, Object> collaboratorsExtractor;
+    private final Class<?> collaboratorType;
+    private final Object[] noCollaborators;
 
     public RoleResolver(java.lang.reflect.Parameter methodParameter) {
-        if (!methodParameter.isAnnotationPresent(Role.class)) {
-            throw new IllegalArgumentException("method parameter must be annotated with @Role");
-        }
-        roleName = methodParameter.getAnnotation(Role.class).value();
-        methodParameterType = methodParameter.getType();
-        defaultCollaboratorDescriptors = Optional.ofNullable(methodParameter.getAnnotation(Default.class)).map(Default::value).map(collaboratorNames -> {
-            if (!methodParameterType.isArray() && collaboratorNames.length != 1) {
+        this(roleName(methodParameter), methodParameter.getType(), defaultCollaboratorNames(methodParameter));
+    }
+
+    public RoleResolver(String roleName, Class<?> methodParameterType, Optional<List<String>> defaultCollaboratorNames) {
+        this.roleName = roleName;
+        this.methodParameterType = methodParameterType;
+        defaultCollaboratorDescriptors = defaultCollaboratorNames.map(collaboratorNames -> {
+            if (!methodParameterType.isArray() && collaboratorNames.size() != 1) {
                 throw new IllegalArgumentException();
             }
-            return Stream.of(collaboratorNames).map(ServiceDescriptor::notParameterized).collect(Collectors.toList());
+            return collaboratorNames.stream().map(ServiceDescriptor::notParameterized).collect(Collectors.toList());
         });
-        collaboratorsExtractor = methodParameterType.isArray() ? this::extractArray : this::extract;
+        collaboratorType = methodParameterType.isArray() ? methodParameterType.getComponentType() : methodParameterType;
+        noCollaborators = methodParameterType.isArray() ? (Object[]) Array.newInstance(collaboratorType, 0) : null;
+    }
+
+    static String roleName(java.lang.reflect.Parameter methodParameter) {
+        if (!methodParameter.isAnnotationPresent(Role.class)) {
+            throw new IllegalArgumentException("method parameter must be annotated with @Role");
+        }
+        return methodParameter.getAnnotation(Role.class).value();
+    }
+
+    static Optional<List<String>> defaultCollaboratorNames(java.lang.reflect.Parameter methodParameter) {
+        return Optional.ofNullable(methodParameter.getAnnotation(Default.class)).map(Default::value).map(Arrays::asList);
     }
 
     private Object extract(List<ServiceDescriptor> collaborators, ServiceGenerator serviceGenerator) {
         if (collaborators.size() != 1) {
             throw new IllegalStateException("expected a single collaborator, but " + collaborators.size() + " collaborators found");
         }
-        return serviceGenerator.generate(methodParameterType, collaborators.get(0));
+        return serviceGenerator.generate(collaboratorType, collaborators.get(0));
     }
 
     private Object extractArray(List<ServiceDescriptor> collaborators, ServiceGenerator serviceGenerator) {
+        final int size = collaborators.size();
+        if (size == 0) {
+            return noCollaborators;
+        }
+        final Object[] array = (Object[]) Array.newInstance(collaboratorType, size);
+        for (int index = 0; index != size; ++index) {
+            array[index] = serviceGenerator.generate(collaboratorType, collaborators.get(index));
+        }
+        return array;
+    }
+
+    @Override
+    public PlannedArgument compile(GenerationPlanner generationPlanner, ServiceDescriptor serviceDescriptor) {
+        final List<ServiceDescriptor> collaborators = collaboratorDescriptors(serviceDescriptor);
+        if (!methodParameterType.isArray()) {
+            if (collaborators.size() != 1) {
+                throw new IllegalStateException("expected a single collaborator, but " + collaborators.size() + " collaborators found");
+            }
+            final int slot = generationPlanner.collaborator(methodParameterType, collaborators.get(0));
+            return (serviceGenerator, instances) -> instances[slot];
+        }
         final Class<?> collaboratorType = methodParameterType.getComponentType();
-        return collaborators.stream()
-                .<Object>map(collaborator -> serviceGenerator.generate(methodParameterType.getComponentType(), collaborator))
-                .toArray(size -> (Object[]) Array.newInstance(collaboratorType, size));
+        final int[] slots = collaborators.stream().mapToInt(collaborator -> generationPlanner.collaborator(collaboratorType, collaborator)).toArray();
+        return (serviceGenerator, instances) -> {
+            final Object[] array = (Object[]) Array.newInstance(collaboratorType, slots.length);
+            for (int index = 0; index != slots.length; ++index) {
+                array[index] = instances[slots[index]];
+            }
+            return array;
+        };
     }
 
     @Override
     public Object apply(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
-        if (serviceDescriptor.collaborators.containsKey(roleName)) {
-            final List<ServiceDescriptor> collaborators = serviceDescriptor.collaborators.get(roleName);
-            return collaboratorsExtractor.apply(collaborators, serviceGenerator);
+        final List<ServiceDescriptor> collaborators = collaboratorDescriptors(serviceDescriptor);
+        return noCollaborators != null ? extractArray(collaborators, serviceGenerator) : extract(collaborators, serviceGenerator);
+    }
+
+    @Override
+    public CompletableFuture<Object> resolveAsync(AsyncServiceGenerator asyncServiceGenerator, ServiceDescriptor serviceDescriptor) {
+        final List<ServiceDescriptor> collaborators = collaboratorDescriptors(serviceDescriptor);
+        if (!methodParameterType.isArray()) {
+            if (collaborators.size() != 1) {
+                throw new IllegalStateException("expected a single collaborator, but " + collaborators.size() + " collaborators found");
+            }
+            return (CompletableFuture<Object>) asyncServiceGenerator.generateAsync(methodParameterType, collaborators.get(0));
+        }
+        final Class<?> collaboratorType = methodParameterType.getComponentType();
+        final CompletableFuture<?>[] futures = collaborators.stream()
+                .map(collaborator -> asyncServiceGenerator.generateAsync(collaboratorType, collaborator))
+                .toArray(CompletableFuture[]::new);
+        return (CompletableFuture) ArgumentFutures.inOrder(futures, (Object[]) Array.newInstance(collaboratorType, futures.length));
+    }
+
+    private List<ServiceDescriptor> collaboratorDescriptors(ServiceDescriptor serviceDescriptor) {
+        final List<ServiceDescriptor> collaborators = serviceDescriptor.collaborators.get(roleName);
+        if (collaborators != null) {
+            return collaborators;
         } else if (defaultCollaboratorDescriptors.isPresent()) {
-            return collaboratorsExtractor.apply(defaultCollaboratorDescriptors.get(), serviceGenerator);
+            return defaultCollaboratorDescriptors.get();
         }
         throw new IllegalStateException(String.format("missing collaborator: %s (%s)", roleName, methodParameterType.getCanonicalName()));
     }
@@ -0,0 +1,19 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.GenerationPlanner;
+import dev.deadc0de.genesis.PlannedArgument;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+
+public class ServiceGeneratorResolver implements CompilableArgumentResolver {
+
+    @Override
+    public Object apply(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+        return serviceGenerator;
+    }
+
+    @Override
+    public PlannedArgument compile(GenerationPlanner generationPlanner, ServiceDescriptor serviceDescriptor) {
+        return (serviceGenerator, instances) -> serviceGenerator;
+    }
+}
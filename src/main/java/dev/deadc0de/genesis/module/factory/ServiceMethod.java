@@ -0,0 +1,152 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.PooledServiceFactory;
+import dev.deadc0de.genesis.Scope;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+import dev.deadc0de.genesis.module.Default;
+import dev.deadc0de.genesis.module.Lazy;
+import dev.deadc0de.genesis.module.Parameter;
+import dev.deadc0de.genesis.module.Pooled;
+import dev.deadc0de.genesis.module.Role;
+import dev.deadc0de.genesis.module.Scoped;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+public final class ServiceMethod {
+
+    final Method method;
+    final boolean async;
+    final Class<?> serviceType;
+    final Scope scope;
+    final int perThreadCapacity;
+    final int sharedCapacity;
+    final MethodHandle resetMethod;
+    final Map<String, Optional<List<String>>> parameters;
+    final Map<String, Map.Entry<Class<?>, Optional<List<String>>>> roles;
+    final Set<String> lazyRoles;
+    final BiFunction<ServiceGenerator, ServiceDescriptor, Object>[] resolvers;
+    final List<BiFunction<ServiceGenerator, ServiceDescriptor, Object>> argumentResolvers;
+    private final MethodHandle unreflected;
+    private final MethodInvoker staticInvoker;
+
+    public ServiceMethod(Method method, ArgumentResolverFactory argumentResolverFactory) {
+        this(method, argumentResolverFactory, AsyncMethodBackedServiceFactory.returnsFuture(method));
+    }
+
+    ServiceMethod(Method method, ArgumentResolverFactory argumentResolverFactory, boolean async) {
+        this.method = method;
+        this.async = async;
+        serviceType = async ? AsyncMethodBackedServiceFactory.futureValueType(method) : method.getReturnType();
+        final Pooled pooled = method.getAnnotation(Pooled.class);
+        final Optional<Scope> declaredScope = Optional.ofNullable(method.getAnnotation(Scoped.class)).map(Scoped::value);
+        if (pooled != null && declaredScope.filter(value -> value != Scope.POOLED).isPresent()) {
+            throw new IllegalArgumentException("a @Pooled method cannot have a scope other than " + Scope.POOLED);
+        }
+        scope = pooled != null ? Scope.POOLED : declaredScope.orElse(Scope.PROTOTYPE);
+        perThreadCapacity = pooled != null ? pooled.perThread() : PooledServiceFactory.DEFAULT_PER_THREAD_CAPACITY;
+        sharedCapacity = pooled != null ? pooled.shared() : PooledServiceFactory.DEFAULT_SHARED_CAPACITY;
+        if (perThreadCapacity < 0 || sharedCapacity < 0) {
+            throw new IllegalArgumentException("pool capacities cannot be negative");
+        }
+        resetMethod = pooled == null || pooled.reset().isEmpty() ? null : resetMethod(serviceType, pooled.reset());
+        final Map<String, Optional<List<String>>> parameters = new HashMap<>();
+        final Map<String, Map.Entry<Class<?>, Optional<List<String>>>> roles = new HashMap<>();
+        final Set<String> lazyRoles = new HashSet<>();
+        final java.lang.reflect.Parameter[] methodParameters = method.getParameters();
+        resolvers = new BiFunction[methodParameters.length];
+        for (int index = 0; index != methodParameters.length; ++index) {
+            collectParameterOrRole(methodParameters[index], parameters, roles);
+            resolvers[index] = argumentResolverFactory.createArgumentResolver(methodParameters[index]);
+            if (isLazy(resolvers[index])) {
+                lazyRoles.add(methodParameters[index].getAnnotation(Role.class).value());
+            }
+        }
+        this.parameters = Collections.unmodifiableMap(parameters);
+        this.roles = Collections.unmodifiableMap(roles);
+        this.lazyRoles = Collections.unmodifiableSet(lazyRoles);
+        argumentResolvers = Collections.unmodifiableList(Arrays.asList(resolvers));
+        MethodHandle handle;
+        try {
+            handle = MethodHandleInvoker.unreflect(method);
+        } catch (IllegalAccessException inaccessibleMethod) {
+            handle = null;
+        }
+        unreflected = handle;
+        staticInvoker = handle != null && Modifier.isStatic(method.getModifiers()) ? new MethodHandleInvoker(MethodHandleInvoker.bind(handle, null, method)) : null;
+    }
+
+    private static boolean isLazy(BiFunction<ServiceGenerator, ServiceDescriptor, Object> resolver) {
+        return resolver instanceof LazyRoleResolver || resolver instanceof LazyProxyResolver;
+    }
+
+    private static MethodHandle resetMethod(Class<?> serviceType, String name) {
+        final Method resetMethod;
+        try {
+            resetMethod = serviceType.getMethod(name);
+        } catch (NoSuchMethodException missingMethod) {
+            throw new IllegalArgumentException(String.format("cannot find a public no-argument reset method %s on %s", name, serviceType.getCanonicalName()));
+        }
+        if (Modifier.isStatic(resetMethod.getModifiers())) {
+            throw new IllegalArgumentException(String.format("cannot find a public no-argument reset method %s on %s", name, serviceType.getCanonicalName()));
+        }
+        try {
+            return MethodHandles.lookup().unreflect(resetMethod).asType(MethodType.methodType(void.class, Object.class));
+        } catch (IllegalAccessException inaccessibleMethod) {
+            throw new IllegalArgumentException(String.format("the reset method %s of %s is not accessible", name, serviceType.getCanonicalName()), inaccessibleMethod);
+        }
+    }
+
+    private static void collectParameterOrRole(java.lang.reflect.Parameter methodParameter, Map<String, Optional<List<String>>> parameters, Map<String, Map.Entry<Class<?>, Optional<List<String>>>> roles) {
+        final Optional<List<String>> defaultValues = Optional.ofNullable(methodParameter.getAnnotation(Default.class))
+                .map(Default::value)
+                .map(Arrays::asList)
+                .map(Collections::unmodifiableList);
+        if (methodParameter.isAnnotationPresent(Parameter.class)) {
+            parameters.put(methodParameter.getAnnotation(Parameter.class).value(), defaultValues);
+        }
+        if (methodParameter.isAnnotationPresent(Role.class)) {
+            final Class<?> roleType = !methodParameter.isAnnotationPresent(Lazy.class) && LazyRoleResolver.isLazy(methodParameter) ? LazyRoleResolver.roleType(methodParameter) : methodParameter.getType();
+            roles.put(methodParameter.getAnnotation(Role.class).value(), new AbstractMap.SimpleImmutableEntry<>(roleType, defaultValues));
+        }
+    }
+
+    public Method method() {
+        return method;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public Set<String> lazyRoles() {
+        return lazyRoles;
+    }
+
+    MethodInvoker invoker(Object module) {
+        if (unreflected == null) {
+            return new ReflectiveMethodInvoker(module, method);
+        }
+        if (staticInvoker != null) {
+            return staticInvoker;
+        }
+        return new MethodHandleInvoker(MethodHandleInvoker.bind(unreflected, module, method));
+    }
+
+    public MethodBackedServiceFactory bind(Object module) {
+        return async ? new AsyncMethodBackedServiceFactory(module, this) : new MethodBackedServiceFactory(module, this);
+    }
+}
@@ -0,0 +1,30 @@
+package dev.deadc0de.genesis.monitoring;
+
+public final class FactoryStatistics {
+
+    public final String serviceName;
+    public final String serviceType;
+    public final long count;
+    public final long failures;
+    public final long p50Nanos;
+    public final long p99Nanos;
+    public final long totalNanos;
+    public final long allocatedBytes;
+
+    public FactoryStatistics(String serviceName, String serviceType, long count, long failures, long p50Nanos, long p99Nanos, long totalNanos, long allocatedBytes) {
+        this.serviceName = serviceName;
+        this.serviceType = serviceType;
+        this.count = count;
+        this.failures = failures;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.totalNanos = totalNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%s:%s) count=%d failures=%d p50=%dns p99=%dns total=%dns allocated=%s",
+                serviceName, serviceType, count, failures, p50Nanos, p99Nanos, totalNanos, allocatedBytes == ThreadAllocation.UNSUPPORTED ? "n/a" : allocatedBytes + "B");
+    }
+}
@@ -0,0 +1,156 @@
+package dev.deadc0de.genesis.monitoring;
+
+import dev.deadc0de.genesis.GenerationListener;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+public class GenerationStatistics implements GenerationListener {
+
+    private final ConcurrentMap<ServiceFactory<?>, LatencyHistogram> histograms;
+    private final boolean measuresAllocation;
+    private final ThreadLocal<AllocationMarks> allocationsAtStart;
+
+    public GenerationStatistics() {
+        histograms = new ConcurrentHashMap<>();
+        measuresAllocation = ThreadAllocation.supported();
+        allocationsAtStart = ThreadLocal.withInitial(AllocationMarks::new);
+    }
+
+    @Override
+    public void generationStarted(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor, int depth) {
+        if (measuresAllocation) {
+            allocationsAtStart.get().mark(serviceFactory, depth);
+        }
+    }
+
+    @Override
+    public void generationCompleted(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor, int depth, long nanos) {
+        histogram(serviceFactory).record(nanos, allocatedSince(serviceFactory, depth), false);
+    }
+
+    @Override
+    public void generationFailed(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor, int depth, long nanos, Throwable failure) {
+        histogram(serviceFactory).record(nanos, allocatedSince(serviceFactory, depth), true);
+    }
+
+    private LatencyHistogram histogram(ServiceFactory<?> serviceFactory) {
+        final LatencyHistogram histogram = histograms.get(serviceFactory);
+        if (histogram != null) {
+            return histogram;
+        }
+        return histograms.computeIfAbsent(serviceFactory, factory -> new LatencyHistogram());
+    }
+
+    private long allocatedSince(ServiceFactory<?> serviceFactory, int depth) {
+        if (!measuresAllocation) {
+            return ThreadAllocation.UNSUPPORTED;
+        }
+        return allocationsAtStart.get().allocatedSince(serviceFactory, depth);
+    }
+
+    public List<FactoryStatistics> snapshot() {
+        final List<FactoryStatistics> statistics = new ArrayList<>(histograms.size());
+        for (Map.Entry<ServiceFactory<?>, LatencyHistogram> entry : histograms.entrySet()) {
+            final LatencyHistogram histogram = entry.getValue();
+            final long[] percentiles = histogram.percentiles(0.5, 0.99);
+            statistics.add(new FactoryStatistics(
+                    entry.getKey().serviceName(),
+                    entry.getKey().serviceType().getCanonicalName(),
+                    histogram.count(),
+                    histogram.failures(),
+                    percentiles[0],
+                    percentiles[1],
+                    histogram.totalNanos(),
+                    measuresAllocation ? histogram.allocatedBytes() : ThreadAllocation.UNSUPPORTED));
+        }
+        statistics.sort(Comparator.comparingLong((FactoryStatistics factory) -> factory.totalNanos).reversed()
+                .thenComparing(factory -> factory.serviceName)
+                .thenComparing(factory -> factory.serviceType));
+        return statistics;
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    public String textReport() {
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format("%-40s %10s %10s %12s %12s %14s %14s%n", "factory", "count", "failures", "p50 (ns)", "p99 (ns)", "total (ns)", "allocated (B)"));
+        for (FactoryStatistics factory : snapshot()) {
+            report.append(String.format("%-40s %10d %10d %12d %12d %14d %14s%n",
+                    factory.serviceName + ':' + factory.serviceType,
+                    factory.count,
+                    factory.failures,
+                    factory.p50Nanos,
+                    factory.p99Nanos,
+                    factory.totalNanos,
+                    factory.allocatedBytes == ThreadAllocation.UNSUPPORTED ? "n/a" : Long.toString(factory.allocatedBytes)));
+        }
+        return report.toString();
+    }
+
+    public String jsonReport() {
+        return snapshot().stream().map(GenerationStatistics::json).collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String json(FactoryStatistics factory) {
+        return String.format("{\"serviceName\":%s,\"serviceType\":%s,\"count\":%d,\"failures\":%d,\"p50Nanos\":%d,\"p99Nanos\":%d,\"totalNanos\":%d,\"allocatedBytes\":%s}",
+                jsonString(factory.serviceName),
+                jsonString(factory.serviceType),
+                factory.count,
+                factory.failures,
+                factory.p50Nanos,
+                factory.p99Nanos,
+                factory.totalNanos,
+                factory.allocatedBytes == ThreadAllocation.UNSUPPORTED ? "null" : Long.toString(factory.allocatedBytes));
+    }
+
+    private static String jsonString(String value) {
+        if (value == null) {
+            return "null";
+        }
+        final StringBuilder json = new StringBuilder("\"");
+        for (char character : value.toCharArray()) {
+            if (character == '"' || character == '\\') {
+                json.append('\\').append(character);
+            } else if (character < 0x20) {
+                json.append(String.format("\\u%04x", (int) character));
+            } else {
+                json.append(character);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    private static final class AllocationMarks {
+
+        private long[] allocations = new long[16];
+        private ServiceFactory<?>[] serviceFactories = new ServiceFactory<?>[16];
+
+        public void mark(ServiceFactory<?> serviceFactory, int depth) {
+            if (depth >= allocations.length) {
+                final int length = Math.max(depth + 1, allocations.length * 2);
+                allocations = Arrays.copyOf(allocations, length);
+                serviceFactories = Arrays.copyOf(serviceFactories, length);
+            }
+            serviceFactories[depth] = serviceFactory;
+            allocations[depth] = ThreadAllocation.currentThreadAllocatedBytes();
+        }
+
+        public long allocatedSince(ServiceFactory<?> serviceFactory, int depth) {
+            if (depth >= serviceFactories.length || serviceFactories[depth] != serviceFactory) {
+                return ThreadAllocation.UNSUPPORTED;
+            }
+            serviceFactories[depth] = null;
+            return ThreadAllocation.currentThreadAllocatedBytes() - allocations[depth];
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package dev.deadc0de.genesis.monitoring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = LINEAR_BUCKETS + (63 - 4) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final LongAdder failures;
+    private final LongAdder totalNanos;
+    private final LongAdder allocatedBytes;
+
+    public LatencyHistogram() {
+        buckets = new AtomicLongArray(BUCKETS);
+        count = new LongAdder();
+        failures = new LongAdder();
+        totalNanos = new LongAdder();
+        allocatedBytes = new LongAdder();
+    }
+
+    public void record(long nanos, long allocated, boolean failed) {
+        final long latency = Math.max(0, nanos);
+        buckets.incrementAndGet(bucket(latency));
+        count.increment();
+        totalNanos.add(latency);
+        if (allocated > 0) {
+            allocatedBytes.add(allocated);
+        }
+        if (failed) {
+            failures.increment();
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long allocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    public long[] percentiles(double... quantiles) {
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int bucket = 0; bucket != BUCKETS; ++bucket) {
+            counts[bucket] = buckets.get(bucket);
+            total += counts[bucket];
+        }
+        final long[] percentiles = new long[quantiles.length];
+        for (int index = 0; index != quantiles.length; ++index) {
+            percentiles[index] = percentile(counts, total, quantiles[index]);
+        }
+        return percentiles;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket != counts.length; ++bucket) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return upperBound(bucket);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < LINEAR_BUCKETS) {
+            return (int) nanos;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        final int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        final int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+        final long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        final long next = (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+        return next < 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
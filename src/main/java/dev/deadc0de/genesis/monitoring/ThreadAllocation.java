@@ -0,0 +1,38 @@
+package dev.deadc0de.genesis.monitoring;
+
+import java.lang.management.ManagementFactory;
+
+final class ThreadAllocation {
+
+    public static final long UNSUPPORTED = -1;
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private ThreadAllocation() {
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        try {
+            final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean allocationThreads = (com.sun.management.ThreadMXBean) threads;
+                if (allocationThreads.isThreadAllocatedMemorySupported() && allocationThreads.isThreadAllocatedMemoryEnabled()) {
+                    return allocationThreads;
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException unsupported) {
+        }
+        return null;
+    }
+
+    public static boolean supported() {
+        return THREADS != null;
+    }
+
+    public static long currentThreadAllocatedBytes() {
+        if (THREADS == null) {
+            return UNSUPPORTED;
+        }
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
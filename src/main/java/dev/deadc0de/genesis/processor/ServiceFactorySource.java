@@ -0,0 +1,352 @@
+package dev.deadc0de.genesis.processor;
+
+import dev.deadc0de.genesis.Scope;
+import dev.deadc0de.genesis.ServiceGenerator;
+import dev.deadc0de.genesis.module.Default;
+import dev.deadc0de.genesis.module.Lazy;
+import dev.deadc0de.genesis.module.Parameter;
+import dev.deadc0de.genesis.module.Pooled;
+import dev.deadc0de.genesis.module.Role;
+import dev.deadc0de.genesis.module.Scoped;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+
+class ServiceFactorySource {
+
+    private final String className;
+    private final String serviceName;
+    private final String serviceType;
+    private final String serviceClass;
+    private final String methodName;
+    private final String methodOwner;
+    private final boolean returnsVoid;
+    private final Optional<Scope> scope;
+    private final Optional<Pooled> pooled;
+    private final List<ArgumentSource> arguments;
+
+    public ServiceFactorySource(ProcessingEnvironment processingEnvironment, TypeElement module, ExecutableElement method, int index) {
+        final Types types = processingEnvironment.getTypeUtils();
+        final TypeMirror returnType = types.erasure(method.getReturnType());
+        className = "Factory" + index;
+        serviceName = method.getSimpleName().toString();
+        serviceType = boxedTypeName(types, returnType);
+        serviceClass = typeName(returnType) + ".class";
+        methodName = method.getSimpleName().toString();
+        methodOwner = method.getModifiers().contains(Modifier.STATIC) ? typeName(types.erasure(module.asType())) : "module";
+        returnsVoid = returnType.getKind() == TypeKind.VOID;
+        pooled = Optional.ofNullable(method.getAnnotation(Pooled.class));
+        final Optional<Scope> declaredScope = Optional.ofNullable(method.getAnnotation(Scoped.class)).map(Scoped::value);
+        if (pooled.isPresent() && declaredScope.filter(value -> value != Scope.POOLED).isPresent()) {
+            throw new IllegalArgumentException("a @Pooled method cannot have a scope other than " + Scope.POOLED);
+        }
+        scope = pooled.isPresent() ? Optional.of(Scope.POOLED) : declaredScope;
+        pooled.ifPresent(value -> {
+            if (value.perThread() < 0 || value.shared() < 0) {
+                throw new IllegalArgumentException("pool capacities cannot be negative");
+            }
+            if (!value.reset().isEmpty() && !hasResetMethod(processingEnvironment, returnType, value.reset())) {
+                throw new IllegalArgumentException(String.format("cannot find a public no-argument reset method %s on %s", value.reset(), serviceType));
+            }
+        });
+        arguments = new ArrayList<>();
+        for (VariableElement methodParameter : method.getParameters()) {
+            arguments.add(new ArgumentSource(types, methodParameter, arguments.size()));
+        }
+    }
+
+    private static boolean hasResetMethod(ProcessingEnvironment processingEnvironment, TypeMirror serviceType, String name) {
+        if (serviceType.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        final TypeElement serviceElement = (TypeElement) ((DeclaredType) serviceType).asElement();
+        return ElementFilter.methodsIn(processingEnvironment.getElementUtils().getAllMembers(serviceElement)).stream()
+                .anyMatch(method -> method.getSimpleName().contentEquals(name)
+                        && method.getParameters().isEmpty()
+                        && method.getModifiers().contains(Modifier.PUBLIC)
+                        && !method.getModifiers().contains(Modifier.STATIC));
+    }
+
+    public String className() {
+        return className;
+    }
+
+    public void write(PrintWriter source, String moduleType) {
+        source.printf("%n    private static final class %s extends dev.deadc0de.genesis.AbstractServiceFactory<%s> implements dev.deadc0de.genesis.CompilableServiceFactory<%s>%s {%n%n", className, serviceType, serviceType,
+                pooled.isPresent() ? String.format(", dev.deadc0de.genesis.PooledServiceFactory<%s>", serviceType) : "");
+        source.printf("        private final %s module;%n", moduleType);
+        source.printf("        private static final java.util.Map<String, java.util.Optional<java.util.List<String>>> parameters;%n");
+        source.printf("        private static final java.util.Map<String, java.util.Map.Entry<Class<?>, java.util.Optional<java.util.List<String>>>> roles;%n");
+        source.printf("        private static final java.util.Set<String> lazyRoles;%n");
+        arguments.forEach(argument -> argument.writeField(source));
+        source.printf("%n        static {%n");
+        source.printf("            parameters = new java.util.HashMap<>();%n");
+        source.printf("            roles = new java.util.HashMap<>();%n");
+        source.printf("            lazyRoles = new java.util.HashSet<>();%n");
+        arguments.forEach(argument -> argument.writeMetadata(source));
+        source.printf("        }%n");
+        source.printf("%n        %s(%s module) {%n", className, moduleType);
+        source.printf("            super(%s, %s);%n", literal(serviceName), serviceClass);
+        source.printf("            this.module = module;%n");
+        arguments.forEach(argument -> argument.writeResolver(source));
+        source.printf("        }%n%n");
+        source.printf("        @Override%n");
+        source.printf("        public java.util.Map<String, java.util.Optional<java.util.List<String>>> parameters() {%n");
+        source.printf("            return parameters;%n");
+        source.printf("        }%n%n");
+        source.printf("        @Override%n");
+        source.printf("        public java.util.Map<String, java.util.Map.Entry<Class<?>, java.util.Optional<java.util.List<String>>>> roles() {%n");
+        source.printf("            return roles;%n");
+        source.printf("        }%n%n");
+        source.printf("        @Override%n");
+        source.printf("        public java.util.Set<String> lazyRoles() {%n");
+        source.printf("            return lazyRoles;%n");
+        source.printf("        }%n%n");
+        scope.ifPresent(value -> {
+            source.printf("        @Override%n");
+            source.printf("        public dev.deadc0de.genesis.Scope scope() {%n");
+            source.printf("            return dev.deadc0de.genesis.Scope.%s;%n", value.name());
+            source.printf("        }%n%n");
+        });
+        pooled.ifPresent(value -> writePoolMethods(source, value));
+        source.printf("        @Override%n");
+        source.printf("        public %s create(dev.deadc0de.genesis.ServiceGenerator serviceGenerator, dev.deadc0de.genesis.ServiceDescriptor serviceDescriptor) {%n", serviceType);
+        writeInvocation(source, arguments.stream().map(ArgumentSource::expression).collect(Collectors.joining(", ")));
+        source.printf("%n");
+        source.printf("        @Override%n");
+        source.printf("        public dev.deadc0de.genesis.PlannedArgument[] compile(dev.deadc0de.genesis.GenerationPlanner generationPlanner, dev.deadc0de.genesis.ServiceDescriptor serviceDescriptor) {%n");
+        source.printf("            try {%n");
+        source.printf("                return new dev.deadc0de.genesis.PlannedArgument[]{%s};%n", arguments.stream().map(ArgumentSource::compileExpression).collect(Collectors.joining(", ")));
+        source.printf("            } catch (IllegalStateException exception) {%n");
+        source.printf("                throw dev.deadc0de.genesis.ServiceGenerationException.wrap(this, exception);%n");
+        source.printf("            }%n");
+        source.printf("        }%n%n");
+        source.printf("        @Override%n");
+        source.printf("        public %s create(dev.deadc0de.genesis.ServiceGenerator serviceGenerator, Object[] arguments) {%n", serviceType);
+        writeInvocation(source, arguments.stream().map(ArgumentSource::plannedExpression).collect(Collectors.joining(", ")));
+        source.printf("    }%n");
+    }
+
+    private void writePoolMethods(PrintWriter source, Pooled pool) {
+        source.printf("        @Override%n");
+        source.printf("        public int perThreadCapacity() {%n");
+        source.printf("            return %d;%n", pool.perThread());
+        source.printf("        }%n%n");
+        source.printf("        @Override%n");
+        source.printf("        public int sharedCapacity() {%n");
+        source.printf("            return %d;%n", pool.shared());
+        source.printf("        }%n%n");
+        source.printf("        @Override%n");
+        source.printf("        public void reset(%s service) {%n", serviceType);
+        if (!pool.reset().isEmpty()) {
+            source.printf("            try {%n");
+            source.printf("                service.%s();%n", pool.reset());
+            source.printf("            } catch (Exception exception) {%n");
+            source.printf("                throw dev.deadc0de.genesis.ServiceGenerationException.wrap(this, exception);%n");
+            source.printf("            }%n");
+        }
+        source.printf("        }%n%n");
+    }
+
+    private void writeInvocation(PrintWriter source, String invocationArguments) {
+        final String invocation = String.format("%s.%s(%s)", methodOwner, methodName, invocationArguments);
+        source.printf("            try {%n");
+        if (returnsVoid) {
+            source.printf("                %s;%n", invocation);
+            source.printf("                return null;%n");
+        } else {
+            source.printf("                return %s;%n", invocation);
+        }
+        source.printf("            } catch (Exception exception) {%n");
+        source.printf("                throw dev.deadc0de.genesis.ServiceGenerationException.wrap(this, exception, serviceGenerator);%n");
+        source.printf("            }%n");
+        source.printf("        }%n");
+    }
+
+    public static String typeName(TypeMirror erasure) {
+        switch (erasure.getKind()) {
+            case ARRAY:
+                return typeName(((ArrayType) erasure).getComponentType()) + "[]";
+            case DECLARED:
+                return ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName().toString();
+            case VOID:
+                return "void";
+            default:
+                if (erasure.getKind().isPrimitive()) {
+                    return erasure.getKind().name().toLowerCase();
+                }
+                throw new IllegalArgumentException("unsupported type " + erasure);
+        }
+    }
+
+    private static String boxedTypeName(Types types, TypeMirror erasure) {
+        if (erasure.getKind() == TypeKind.VOID) {
+            return Void.class.getCanonicalName();
+        }
+        if (erasure.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) erasure).getQualifiedName().toString();
+        }
+        return typeName(erasure);
+    }
+
+    private static String literal(String value) {
+        final StringBuilder literal = new StringBuilder("\"");
+        for (char character : value.toCharArray()) {
+            if (character == '"' || character == '\\') {
+                literal.append('\\').append(character);
+            } else if (character < 0x20) {
+                literal.append(String.format("\\%03o", (int) character));
+            } else if (character > 0x7e) {
+                literal.append(String.format("\\u%04x", (int) character));
+            } else {
+                literal.append(character);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static class ArgumentSource {
+
+        private final String field;
+        private final int index;
+        private final String name;
+        private final String type;
+        private final String castType;
+        private final Optional<String[]> defaultValues;
+        private final boolean isParameter;
+        private final boolean isRole;
+        private final boolean isLazyProxy;
+        private final Optional<String> lazyCollaboratorType;
+
+        public ArgumentSource(Types types, VariableElement methodParameter, int index) {
+            final TypeMirror erasure = types.erasure(methodParameter.asType());
+            final Parameter parameter = methodParameter.getAnnotation(Parameter.class);
+            final Role role = methodParameter.getAnnotation(Role.class);
+            if (parameter != null && role != null) {
+                throw new IllegalArgumentException("method parameter cannot be annotated with both @Parameter and @Role");
+            }
+            field = "argument" + index;
+            this.index = index;
+            type = typeName(erasure);
+            castType = boxedTypeName(types, erasure);
+            defaultValues = Optional.ofNullable(methodParameter.getAnnotation(Default.class)).map(Default::value);
+            isParameter = parameter != null;
+            isRole = role != null;
+            isLazyProxy = isRole && methodParameter.getAnnotation(Lazy.class) != null;
+            lazyCollaboratorType = isRole && !isLazyProxy ? lazyCollaboratorType(types, methodParameter.asType()) : Optional.empty();
+            if (type.equals(ServiceGenerator.class.getCanonicalName())) {
+                name = null;
+            } else if (isParameter) {
+                name = parameter.value();
+            } else if (isRole) {
+                name = role.value();
+            } else {
+                throw new IllegalArgumentException("method parameter must be annotated with either @Parameter or @Role, or be of ServiceGenerator type");
+            }
+        }
+
+        private static Optional<String> lazyCollaboratorType(Types types, TypeMirror parameterType) {
+            if (parameterType.getKind() == TypeKind.ARRAY) {
+                return suppliedType(types, ((ArrayType) parameterType).getComponentType());
+            }
+            if (isDeclared(types, parameterType, List.class) && !((DeclaredType) parameterType).getTypeArguments().isEmpty()) {
+                return suppliedType(types, ((DeclaredType) parameterType).getTypeArguments().get(0));
+            }
+            return suppliedType(types, parameterType);
+        }
+
+        private static Optional<String> suppliedType(Types types, TypeMirror supplierType) {
+            if (!isDeclared(types, supplierType, Supplier.class)) {
+                return Optional.empty();
+            }
+            final List<? extends TypeMirror> typeArguments = ((DeclaredType) supplierType).getTypeArguments();
+            if (typeArguments.isEmpty()) {
+                return Optional.of(Object.class.getCanonicalName());
+            }
+            TypeMirror suppliedType = typeArguments.get(0);
+            if (suppliedType.getKind() == TypeKind.WILDCARD) {
+                final TypeMirror bound = ((WildcardType) suppliedType).getExtendsBound();
+                if (bound == null) {
+                    return Optional.of(Object.class.getCanonicalName());
+                }
+                suppliedType = bound;
+            }
+            return Optional.of(typeName(types.erasure(suppliedType)));
+        }
+
+        private static boolean isDeclared(Types types, TypeMirror type, Class<?> expected) {
+            return type.getKind() == TypeKind.DECLARED && typeName(types.erasure(type)).equals(expected.getCanonicalName());
+        }
+
+        public void writeField(PrintWriter source) {
+            source.printf("        private final dev.deadc0de.genesis.module.factory.CompilableArgumentResolver %s;%n", field);
+        }
+
+        public void writeMetadata(PrintWriter source) {
+            if (isParameter) {
+                source.printf("            parameters.put(%s, %s);%n", literal(name), defaultValuesExpression());
+            } else if (isLazyProxy) {
+                source.printf("            roles.put(%s, new java.util.AbstractMap.SimpleImmutableEntry<Class<?>, java.util.Optional<java.util.List<String>>>(%s.class, %s));%n", literal(name), type, defaultValuesExpression());
+                source.printf("            lazyRoles.add(%s);%n", literal(name));
+            } else if (lazyCollaboratorType.isPresent()) {
+                final String roleType = type.equals(Supplier.class.getCanonicalName()) ? lazyCollaboratorType.get() : lazyCollaboratorType.get() + "[]";
+                source.printf("            roles.put(%s, new java.util.AbstractMap.SimpleImmutableEntry<Class<?>, java.util.Optional<java.util.List<String>>>(%s.class, %s));%n", literal(name), roleType, defaultValuesExpression());
+                source.printf("            lazyRoles.add(%s);%n", literal(name));
+            } else if (isRole) {
+                source.printf("            roles.put(%s, new java.util.AbstractMap.SimpleImmutableEntry<Class<?>, java.util.Optional<java.util.List<String>>>(%s.class, %s));%n", literal(name), type, defaultValuesExpression());
+            }
+        }
+
+        public void writeResolver(PrintWriter source) {
+            if (isParameter) {
+                source.printf("            %s = new dev.deadc0de.genesis.module.factory.ParameterResolver(%s, %s.class, %s);%n", field, literal(name), type, defaultValuesExpression());
+            } else if (isLazyProxy) {
+                source.printf("            %s = new dev.deadc0de.genesis.module.factory.LazyProxyResolver(%s, %s.class, %s);%n", field, literal(name), type, defaultValuesExpression());
+            } else if (lazyCollaboratorType.isPresent()) {
+                source.printf("            %s = new dev.deadc0de.genesis.module.factory.LazyRoleResolver(%s, %s.class, %s.class, %s);%n", field, literal(name), type, lazyCollaboratorType.get(), defaultValuesExpression());
+            } else if (isRole) {
+                source.printf("            %s = new dev.deadc0de.genesis.module.factory.RoleResolver(%s, %s.class, %s);%n", field, literal(name), type, defaultValuesExpression());
+            } else {
+                source.printf("            %s = new dev.deadc0de.genesis.module.factory.ServiceGeneratorResolver();%n", field);
+            }
+        }
+
+        private String defaultValuesExpression() {
+            return defaultValues
+                    .map(values -> Stream.of(values).map(ServiceFactorySource::literal).collect(Collectors.joining(", ", "java.util.Optional.of(java.util.Collections.unmodifiableList(java.util.Arrays.<String>asList(", ")))")))
+                    .orElse("java.util.Optional.<java.util.List<String>>empty()");
+        }
+
+        public String expression() {
+            if (name == null) {
+                return "serviceGenerator";
+            }
+            return String.format("(%s) %s.apply(serviceGenerator, serviceDescriptor)", castType, field);
+        }
+
+        public String compileExpression() {
+            return String.format("%s.compile(generationPlanner, serviceDescriptor)", field);
+        }
+
+        public String plannedExpression() {
+            return String.format("(%s) arguments[%d]", castType, index);
+        }
+    }
+}
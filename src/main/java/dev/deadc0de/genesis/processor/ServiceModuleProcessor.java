@@ -0,0 +1,184 @@
+package dev.deadc0de.genesis.processor;
+
+import dev.deadc0de.genesis.module.ModuleAssembler;
+import dev.deadc0de.genesis.module.ServiceModule;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+@SupportedAnnotationTypes("*")
+public class ServiceModuleProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        final TypeElement serviceModule = processingEnv.getElementUtils().getTypeElement(ServiceModule.class.getCanonicalName());
+        if (serviceModule == null) {
+            return false;
+        }
+        final List<TypeElement> modules = new ArrayList<>();
+        collectModules(ElementFilter.typesIn(roundEnvironment.getRootElements()), serviceModule.asType(), modules);
+        modules.forEach(this::generateAssembler);
+        return false;
+    }
+
+    private void collectModules(Iterable<TypeElement> types, TypeMirror serviceModule, List<TypeElement> modules) {
+        for (TypeElement type : types) {
+            if (isModule(type, serviceModule)) {
+                modules.add(type);
+            }
+            collectModules(ElementFilter.typesIn(type.getEnclosedElements()), serviceModule, modules);
+        }
+    }
+
+    private boolean isModule(TypeElement type, TypeMirror serviceModule) {
+        return type.getKind() == ElementKind.CLASS
+                && !type.getModifiers().contains(Modifier.ABSTRACT)
+                && isAccessibleFromPackage(type)
+                && processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type.asType()), serviceModule);
+    }
+
+    private static boolean isAccessibleFromPackage(Element element) {
+        for (Element enclosing = element; enclosing.getKind() != ElementKind.PACKAGE; enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE) || !(enclosing instanceof TypeElement)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean returnsFuture(ExecutableElement method) {
+        final TypeMirror returnType = processingEnv.getTypeUtils().erasure(method.getReturnType());
+        return returnType.getKind() == TypeKind.DECLARED && ServiceFactorySource.typeName(returnType).equals(CompletableFuture.class.getCanonicalName());
+    }
+
+    private Optional<String> reflectiveAssembly(ExecutableElement method, PackageElement modulePackage) {
+        if (returnsFuture(method)) {
+            return Optional.of("returns a CompletableFuture");
+        }
+        final TypeMirror exception = processingEnv.getElementUtils().getTypeElement(Exception.class.getCanonicalName()).asType();
+        final TypeMirror error = processingEnv.getElementUtils().getTypeElement(Error.class.getCanonicalName()).asType();
+        for (TypeMirror thrown : method.getThrownTypes()) {
+            final TypeMirror erasure = processingEnv.getTypeUtils().erasure(thrown);
+            if (!processingEnv.getTypeUtils().isAssignable(erasure, exception) && !processingEnv.getTypeUtils().isAssignable(erasure, error)) {
+                return Optional.of("throws " + thrown);
+            }
+        }
+        final List<TypeMirror> signature = new ArrayList<>();
+        signature.add(method.getReturnType());
+        method.getParameters().forEach(parameter -> signature.add(parameter.asType()));
+        for (TypeMirror type : signature) {
+            if (!isAccessibleFrom(type, modulePackage)) {
+                return Optional.of("uses " + type + ", which is not accessible from the generated assembler");
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean isAccessibleFrom(TypeMirror type, PackageElement modulePackage) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return isAccessibleFrom(((ArrayType) type).getComponentType(), modulePackage);
+            case TYPEVAR:
+                return isAccessibleFrom(processingEnv.getTypeUtils().erasure(type), modulePackage);
+            case WILDCARD:
+                final WildcardType wildcard = (WildcardType) type;
+                return (wildcard.getExtendsBound() == null || isAccessibleFrom(wildcard.getExtendsBound(), modulePackage))
+                        && (wildcard.getSuperBound() == null || isAccessibleFrom(wildcard.getSuperBound(), modulePackage));
+            case DECLARED:
+                for (Element enclosing = ((DeclaredType) type).asElement(); enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+                    if (enclosing.getModifiers().contains(Modifier.PRIVATE)
+                            || !enclosing.getModifiers().contains(Modifier.PUBLIC) && !processingEnv.getElementUtils().getPackageOf(enclosing).equals(modulePackage)) {
+                        return false;
+                    }
+                }
+                for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments()) {
+                    if (!isAccessibleFrom(typeArgument, modulePackage)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    private void generateAssembler(TypeElement module) {
+        final PackageElement modulePackage = processingEnv.getElementUtils().getPackageOf(module);
+        final List<ServiceFactorySource> factories = new ArrayList<>();
+        final List<String> reflective = new ArrayList<>();
+        boolean valid = true;
+        for (ExecutableElement method : ElementFilter.methodsIn(module.getEnclosedElements())) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            final Optional<String> reflectiveAssembly = reflectiveAssembly(method, modulePackage);
+            if (reflectiveAssembly.isPresent()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "the service factory of " + method.getSimpleName() + " is assembled reflectively because the method " + reflectiveAssembly.get(), method);
+                reflective.add(method.getSimpleName().toString());
+            } else {
+                try {
+                    factories.add(new ServiceFactorySource(processingEnv, module, method, factories.size()));
+                } catch (IllegalArgumentException exception) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, exception.getMessage(), method);
+                    valid = false;
+                }
+            }
+        }
+        if (!valid) {
+            return;
+        }
+        final String assemblerName = ModuleAssembler.generatedAssemblerName(processingEnv.getElementUtils().getBinaryName(module).toString());
+        final String assemblerSimpleName = assemblerName.substring(assemblerName.lastIndexOf('.') + 1);
+        final String moduleType = ServiceFactorySource.typeName(processingEnv.getTypeUtils().erasure(module.asType()));
+        try (PrintWriter source = new PrintWriter(processingEnv.getFiler().createSourceFile(assemblerName, module).openWriter())) {
+            if (!modulePackage.isUnnamed()) {
+                source.printf("package %s;%n%n", modulePackage.getQualifiedName());
+            }
+            source.printf("@SuppressWarnings({\"unchecked\", \"rawtypes\"})%n");
+            source.printf("public final class %s implements %s<%s> {%n%n", assemblerSimpleName, ModuleAssembler.class.getCanonicalName(), moduleType);
+            source.printf("    @Override%n");
+            source.printf("    public java.util.stream.Stream<dev.deadc0de.genesis.ServiceFactory> assemble(%s module) {%n", moduleType);
+            source.printf("        return %sjava.util.stream.Stream.<dev.deadc0de.genesis.ServiceFactory>of(", reflective.isEmpty() ? "" : "java.util.stream.Stream.concat(");
+            for (int index = 0; index != factories.size(); ++index) {
+                source.printf("%snew %s(module)", index == 0 ? "" : ", ", factories.get(index).className());
+            }
+            if (reflective.isEmpty()) {
+                source.printf(");%n");
+            } else {
+                source.printf("), %s.assembleMethodsReflectively(module, %s));%n", ServiceModule.class.getCanonicalName(), reflective.stream().map(name -> "\"" + name + "\"").collect(Collectors.joining(", ")));
+            }
+            source.printf("    }%n");
+            factories.forEach(factory -> factory.write(source, moduleType));
+            source.printf("}%n");
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "cannot generate " + assemblerName + ": " + exception.getMessage(), module);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package dev.deadc0de.genesis;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+public final class GenerationEvents {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private GenerationEvents() {
+    }
+
+    public static Object beginGeneration() {
+        final GenerateEvent event = new GenerateEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        final int[] depth = DEPTH.get();
+        event.depth = depth[0]++;
+        event.begin();
+        return event;
+    }
+
+    public static void endGeneration(Object event, ServiceFactory<?> serviceFactory) {
+        final GenerateEvent generateEvent = (GenerateEvent) event;
+        generateEvent.end();
+        DEPTH.get()[0] = generateEvent.depth;
+        if (generateEvent.shouldCommit()) {
+            generateEvent.serviceName = serviceFactory.serviceName();
+            generateEvent.serviceType = serviceFactory.serviceType();
+            generateEvent.factoryClass = serviceFactory.getClass();
+            generateEvent.commit();
+        }
+    }
+
+    public static Object beginCreation() {
+        final CreateEvent event = new CreateEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.depth = Math.max(0, DEPTH.get()[0] - 1);
+        event.begin();
+        return event;
+    }
+
+    public static void endCreation(Object event, ServiceFactory<?> serviceFactory, Class<?> moduleClass) {
+        final CreateEvent createEvent = (CreateEvent) event;
+        createEvent.end();
+        if (createEvent.shouldCommit()) {
+            createEvent.serviceName = serviceFactory.serviceName();
+            createEvent.serviceType = serviceFactory.serviceType();
+            createEvent.moduleClass = moduleClass;
+            createEvent.commit();
+        }
+    }
+
+    public static Object beginResolution() {
+        final ResolveEvent event = new ResolveEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.depth = DEPTH.get()[0];
+        event.begin();
+        return event;
+    }
+
+    public static void endResolution(Object event, String serviceName, Class<?> requestedType, Class<?> resolvedType, int candidates) {
+        final ResolveEvent resolveEvent = (ResolveEvent) event;
+        resolveEvent.end();
+        if (resolveEvent.shouldCommit()) {
+            resolveEvent.serviceName = serviceName;
+            resolveEvent.requestedType = requestedType;
+            resolveEvent.resolvedType = resolvedType;
+            resolveEvent.candidates = candidates;
+            resolveEvent.commit();
+        }
+    }
+
+    @Name("dev.deadc0de.genesis.Generate")
+    @Label("Service Generation")
+    @Category("Genesis")
+    static class GenerateEvent extends Event {
+
+        @Label("Service Name")
+        String serviceName;
+
+        @Label("Service Type")
+        Class<?> serviceType;
+
+        @Label("Factory Class")
+        Class<?> factoryClass;
+
+        @Label("Depth")
+        int depth;
+    }
+
+    @Name("dev.deadc0de.genesis.Create")
+    @Label("Module Method Invocation")
+    @Category("Genesis")
+    static class CreateEvent extends Event {
+
+        @Label("Service Name")
+        String serviceName;
+
+        @Label("Service Type")
+        Class<?> serviceType;
+
+        @Label("Module Class")
+        Class<?> moduleClass;
+
+        @Label("Depth")
+        int depth;
+    }
+
+    @Name("dev.deadc0de.genesis.Resolve")
+    @Label("Service Factory Resolution")
+    @Category("Genesis")
+    static class ResolveEvent extends Event {
+
+        @Label("Service Name")
+        String serviceName;
+
+        @Label("Requested Type")
+        Class<?> requestedType;
+
+        @Label("Resolved Type")
+        Class<?> resolvedType;
+
+        @Label("Candidates")
+        int candidates;
+
+        @Label("Depth")
+        int depth;
+    }
+}
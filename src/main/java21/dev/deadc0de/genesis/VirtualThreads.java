@@ -0,0 +1,22 @@
+package dev.deadc0de.genesis;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+public final class VirtualThreads {
+
+    private static final ThreadFactory THREAD_FACTORY = Thread.ofVirtual().name("genesis-virtual-", 0).factory();
+    private static final Executor EXECUTOR = command -> THREAD_FACTORY.newThread(command).start();
+
+    private VirtualThreads() {
+    }
+
+    public static Optional<Executor> executor() {
+        return Optional.of(EXECUTOR);
+    }
+
+    static boolean isVirtual(Thread thread) {
+        return thread.isVirtual();
+    }
+}
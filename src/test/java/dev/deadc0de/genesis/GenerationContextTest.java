@@ -1,10 +1,33 @@
 package dev.deadc0de.genesis;
 
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
 public class GenerationContextTest {
@@ -19,6 +42,192 @@ public class GenerationContextTest {
         final GenerationContext notCreated = new GenerationContext(Stream.of(one, other));
     }
 
+    @Test
+    public void everyServiceFactoryWithSameNameAndTypeIsReportedInConstruction() {
+        final Stream<ServiceFactory> factories = Stream.of(
+                new DummyServiceFactory("second", Integer.class),
+                new DummyServiceFactory("first", Object.class),
+                new DummyServiceFactory("second", Integer.class),
+                new DummyServiceFactory("first", Object.class),
+                new DummyServiceFactory("first", Object.class),
+                new DummyServiceFactory("first", Integer.class));
+        try {
+            new GenerationContext(factories);
+            Assert.fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assert.assertEquals("found service factories with same name and type: [(first, class java.lang.Object), (second, class java.lang.Integer)]", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void theBuilderAssemblesEveryModule() {
+        final Object expected = new Object();
+        final List<String> modules = IntStream.range(0, 100).mapToObj(index -> "module" + index).collect(Collectors.toList());
+        final GenerationContext context = GenerationContext.builder()
+                .modules(modules, module -> Stream.of(new StubServiceFactory(expected, module, Object.class), new DummyServiceFactory(module + "-other", Object.class)))
+                .build();
+        modules.forEach(module -> Assert.assertSame(expected, context.generate(Object.class, ServiceDescriptor.notParameterized(module))));
+    }
+
+    @Test
+    public void theBuilderReportsDuplicatesAcrossModulesDeterministically() {
+        final List<Integer> modules = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        for (int attempt = 0; attempt != 10; ++attempt) {
+            try {
+                GenerationContext.builder()
+                        .modules(modules, module -> Stream.of(new DummyServiceFactory("shared" + module % 2, Object.class), new DummyServiceFactory("own" + module, Object.class)))
+                        .build();
+                Assert.fail("expected IllegalArgumentException");
+            } catch (IllegalArgumentException exception) {
+                Assert.assertEquals("found service factories with same name and type: [(shared0, class java.lang.Object), (shared1, class java.lang.Object)]", exception.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void theBuilderUsesTheGivenAsyncExecutor() {
+        final Object expected = new Object();
+        final List<Runnable> submitted = new ArrayList<>();
+        final GenerationContext context = GenerationContext.builder()
+                .serviceFactories(() -> Stream.of(new StubServiceFactory(expected, SERVICE_NAME, Object.class)))
+                .asyncExecutor(submitted::add)
+                .build();
+        final CompletableFuture<Object> service = context.generateAsync(Object.class, SERVICE);
+        Assert.assertFalse(service.isDone());
+        submitted.forEach(Runnable::run);
+        Assert.assertSame(expected, service.join());
+    }
+
+    @Test
+    public void derivedContextsGenerateTheAddedFactoriesWhileTheOriginalIsUnchanged() {
+        final Object expected = new Object();
+        final GenerationContext context = new GenerationContext(Stream.empty());
+        final GenerationContext derived = context.withServiceFactories(Stream.of(new StubServiceFactory(expected, SERVICE_NAME, Object.class)));
+        Assert.assertSame(expected, derived.generate(Object.class, SERVICE));
+        try {
+            context.generate(Object.class, SERVICE);
+            Assert.fail("expected IllegalStateException");
+        } catch (IllegalStateException exception) {
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void derivedContextsDoNotGenerateTheRemovedFactories() {
+        final ServiceFactory factory = new StubServiceFactory(new Object(), SERVICE_NAME, Object.class);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        context.generate(Object.class, SERVICE);
+        context.withoutServiceFactories(Stream.of(factory)).generate(Object.class, SERVICE);
+    }
+
+    @Test
+    public void derivedContextsCanReplaceAFactory() {
+        final Object expected = new Object();
+        final GenerationContext context = new GenerationContext(Stream.of(new StubServiceFactory(new Object(), SERVICE_NAME, Object.class)));
+        context.generate(Object.class, SERVICE);
+        final GenerationContext derived = context.derive(Stream.of(new StubServiceFactory(expected, SERVICE_NAME, Object.class)), Stream.of(new DummyServiceFactory(SERVICE_NAME, Object.class)));
+        Assert.assertSame(expected, derived.generate(Object.class, SERVICE));
+    }
+
+    @Test
+    public void removingFactoriesThatAreNotRegisteredThrows() {
+        final GenerationContext context = new GenerationContext(Stream.of(new DummyServiceFactory(SERVICE_NAME, Object.class)));
+        try {
+            context.withoutServiceFactories(Stream.of(new DummyServiceFactory(SERVICE_NAME, Integer.class), new DummyServiceFactory("other", Object.class)));
+            Assert.fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException exception) {
+            Assert.assertEquals("cannot remove service factories that are not registered: [(other, class java.lang.Object), (service, class java.lang.Integer)]", exception.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addingFactoriesWithTheNameAndTypeOfARegisteredOneThrows() {
+        final GenerationContext context = new GenerationContext(Stream.of(new DummyServiceFactory(SERVICE_NAME, Object.class)));
+        context.withServiceFactories(Stream.of(new DummyServiceFactory(SERVICE_NAME, Object.class)));
+    }
+
+    @Test
+    public void derivedContextsKeepTheSingletonsOfUnchangedServiceNames() {
+        final CountingServiceFactory factory = new CountingServiceFactory(SERVICE_NAME, Scope.SINGLETON);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final Object singleton = context.generate(Object.class, SERVICE);
+        final GenerationContext unrelatedChange = context.withServiceFactories(Stream.of(new DummyServiceFactory("other", Object.class)));
+        Assert.assertSame(singleton, unrelatedChange.generate(Object.class, SERVICE));
+        final GenerationContext relatedChange = unrelatedChange.derive(Stream.of(factory), Stream.of(factory));
+        Assert.assertNotSame(singleton, relatedChange.generate(Object.class, SERVICE));
+        Assert.assertEquals(2, factory.created.get());
+    }
+
+    @Test
+    public void derivedContextsDropTheSingletonsThatDependOnAChangedServiceName() {
+        final GenerationContext context = new GenerationContext(Stream.of(
+                new InterdependentSingletonFactory("a", "b", new CyclicBarrier(1)),
+                new StubServiceFactory(1, "b", Object.class)));
+        Assert.assertEquals(Collections.singletonList(1), context.generate(Object.class, ServiceDescriptor.notParameterized("a")));
+        final GenerationContext derived = context.derive(Stream.of(new StubServiceFactory(2, "b", Object.class)), Stream.of(new StubServiceFactory(1, "b", Object.class)));
+        Assert.assertEquals(2, derived.generate(Object.class, ServiceDescriptor.notParameterized("b")));
+        Assert.assertEquals(Collections.singletonList(2), derived.generate(Object.class, ServiceDescriptor.notParameterized("a")));
+    }
+
+    @Test
+    public void derivedContextsDropTheSingletonsThatDependOnADroppedSingleton() {
+        final GenerationContext context = new GenerationContext(Stream.of(
+                new InterdependentSingletonFactory("a", "middle", new CyclicBarrier(1)),
+                new InterdependentSingletonFactory("middle", "b", new CyclicBarrier(1)),
+                new StubServiceFactory(1, "b", Object.class),
+                new StubServiceFactory(3, "c", Object.class)));
+        context.generate(Object.class, ServiceDescriptor.notParameterized("middle"));
+        Assert.assertEquals(Collections.singletonList(Collections.singletonList(1)), context.generate(Object.class, ServiceDescriptor.notParameterized("a")));
+        final GenerationContext unrelatedChange = context.derive(Stream.of(new StubServiceFactory(4, "c", Object.class)), Stream.of(new StubServiceFactory(3, "c", Object.class)));
+        Assert.assertSame(context.generate(Object.class, ServiceDescriptor.notParameterized("a")), unrelatedChange.generate(Object.class, ServiceDescriptor.notParameterized("a")));
+        final GenerationContext relatedChange = unrelatedChange.derive(Stream.of(new StubServiceFactory(2, "b", Object.class)), Stream.of(new StubServiceFactory(1, "b", Object.class)));
+        Assert.assertEquals(Collections.singletonList(Collections.singletonList(2)), relatedChange.generate(Object.class, ServiceDescriptor.notParameterized("a")));
+    }
+
+    @Test
+    public void derivedContextsReuseThePlansOfUnchangedServiceNames() {
+        final CountingCompilableServiceFactory factory = new CountingCompilableServiceFactory(SERVICE_NAME);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        context.plan(Object.class, SERVICE).generate();
+        final GenerationContext unrelatedChange = context.withServiceFactories(Stream.of(new DummyServiceFactory("other", Object.class)));
+        Assert.assertNotNull(unrelatedChange.plan(Object.class, SERVICE).generate());
+        Assert.assertEquals(1, factory.compiled.get());
+        final GenerationContext relatedChange = unrelatedChange.derive(Stream.of(factory), Stream.of(factory));
+        Assert.assertNotNull(relatedChange.plan(Object.class, SERVICE).generate());
+        Assert.assertEquals(2, factory.compiled.get());
+    }
+
+    @Test
+    public void independentContextsResolveTheSameDescriptorAgainstTheirOwnFactories() {
+        final GenerationContext first = new GenerationContext(Stream.of(new StubServiceFactory("other", "other", Object.class), new StubServiceFactory("first", SERVICE_NAME, Object.class)));
+        final GenerationContext second = new GenerationContext(Stream.of(new StubServiceFactory("second", SERVICE_NAME, Object.class)));
+        Assert.assertEquals("first", first.generate(Object.class, SERVICE));
+        Assert.assertEquals("second", second.generate(Object.class, SERVICE));
+        Assert.assertEquals("other", first.generate(Object.class, ServiceDescriptor.notParameterized("other")));
+        try {
+            second.generate(Object.class, ServiceDescriptor.notParameterized("other"));
+            Assert.fail("expected IllegalStateException");
+        } catch (IllegalStateException exception) {
+        }
+    }
+
+    @Test
+    public void ambiguousServiceFactoryTypesAreReportedUpFront() {
+        final GenerationContext context = new GenerationContext(Stream.of(
+                new DummyServiceFactory(SERVICE_NAME, Number.class),
+                new DummyServiceFactory(SERVICE_NAME, Integer.class),
+                new DummyServiceFactory(SERVICE_NAME, Double.class),
+                new DummyServiceFactory("other", Object.class)));
+        Assert.assertEquals(Collections.singletonList("service service of type java.lang.Number is shadowed by multiple service factory types: [java.lang.Double,java.lang.Integer]"), context.ambiguities());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theBuilderCanRejectAmbiguousServiceFactoryTypes() {
+        GenerationContext.builder()
+                .serviceFactories(() -> Stream.of(new DummyServiceFactory(SERVICE_NAME, Object.class), new DummyServiceFactory(SERVICE_NAME, Integer.class), new DummyServiceFactory(SERVICE_NAME, Double.class)))
+                .rejectAmbiguities()
+                .build();
+    }
+
     @Test(expected = IllegalStateException.class)
     public void whenGeneratingAServiceWithoutAFactoryOfACompatibleSubtypeThenThrows() {
         final ServiceFactory integerFactory = new DummyServiceFactory(SERVICE_NAME, Integer.class);
@@ -34,6 +243,79 @@ public class GenerationContextTest {
         context.generate(Number.class, SERVICE);
     }
 
+    @Test
+    public void whenGeneratingRepeatedlyAServiceWithoutAFactoryOfACompatibleSubtypeThenThrowsEveryTime() {
+        final ServiceFactory integerFactory = new DummyServiceFactory(SERVICE_NAME, Integer.class);
+        final GenerationContext context = new GenerationContext(Stream.of(integerFactory));
+        for (int attempt = 0; attempt != 2; ++attempt) {
+            try {
+                context.generate(Double.class, SERVICE);
+                Assert.fail("expected IllegalStateException");
+            } catch (IllegalStateException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void factoriesAreSelectedIndependentlyForEachRequestedTypeUnderTheSameServiceName() {
+        final Object expected = new Object();
+        final ServiceFactory integerFactory = new StubServiceFactory(expected, SERVICE_NAME, Integer.class);
+        final ServiceFactory doubleFactory = new DummyServiceFactory(SERVICE_NAME, Double.class);
+        final GenerationContext context = new GenerationContext(Stream.of(integerFactory, doubleFactory));
+        try {
+            context.generate(Number.class, SERVICE);
+            Assert.fail("expected IllegalStateException");
+        } catch (IllegalStateException ambiguous) {
+        }
+        Assert.assertEquals(expected, context.generate(Integer.class, SERVICE));
+    }
+
+    @Test
+    public void factoriesRegisteredAfterADescriptorWasFirstLookedUpAreFoundThroughTheSameDescriptor() {
+        final Object expected = new Object();
+        final ServiceDescriptor lateService = ServiceDescriptor.notParameterized("late-registered-service");
+        final GenerationContext context = new GenerationContext(Stream.empty());
+        try {
+            context.generate(Object.class, lateService);
+            Assert.fail("expected IllegalStateException");
+        } catch (IllegalStateException exception) {
+        }
+        final GenerationContext derived = context.withServiceFactories(Stream.of(new StubServiceFactory(expected, "late-registered-service", Object.class)));
+        Assert.assertSame(expected, derived.generate(Object.class, lateService));
+        Assert.assertSame(expected, derived.generate(Object.class, ServiceDescriptor.notParameterized("late-registered-service")));
+    }
+
+    @Test
+    public void factoriesAreSelectedConsistentlyWhenManyTypesAreRequestedUnderTheSameServiceName() {
+        final Object expected = 1;
+        final GenerationContext context = new GenerationContext(Stream.of(new StubServiceFactory(expected, SERVICE_NAME, Integer.class)));
+        final List<Class> compatible = Arrays.asList(Integer.class, Number.class, Object.class, Comparable.class, Serializable.class);
+        final List<Class> incompatible = Arrays.asList(String.class, Long.class, Double.class, Float.class, Short.class, Byte.class, Character.class, Boolean.class,
+                CharSequence.class, Runnable.class, Iterable.class, List.class, Map.class, Thread.class, Class.class, Void.class);
+        for (int round = 0; round != 2; ++round) {
+            for (Class serviceType : compatible) {
+                Assert.assertSame(expected, context.generate(serviceType, SERVICE));
+            }
+            for (Class serviceType : incompatible) {
+                try {
+                    context.generate(serviceType, SERVICE);
+                    Assert.fail("expected IllegalStateException");
+                } catch (IllegalStateException exception) {
+                }
+            }
+        }
+    }
+
+    @Test
+    public void returnsTheServiceGeneratedByTheSameFactoryWhenTheSameServiceIsRequestedRepeatedly() {
+        final SpyServiceFactory factory = new SpyServiceFactory(SERVICE_NAME, Object.class);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        context.generate(Object.class, SERVICE);
+        factory.capturedDescriptor = Optional.empty();
+        context.generate(Object.class, SERVICE);
+        Assert.assertEquals(SERVICE, factory.capturedDescriptor.get());
+    }
+
     @Test
     public void returnsTheServiceGeneratedByTheFactoryMatchingTheServiceName() {
         final Object expected = new Object();
@@ -71,6 +353,457 @@ public class GenerationContextTest {
         Assert.assertEquals(SERVICE, factory.capturedDescriptor.get());
     }
 
+    @Test
+    public void prototypeScopedFactoriesCreateANewServiceOnEveryRequest() {
+        final CountingServiceFactory factory = new CountingServiceFactory(SERVICE_NAME, Scope.PROTOTYPE);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        Assert.assertNotSame(context.generate(Object.class, SERVICE), context.generate(Object.class, SERVICE));
+        Assert.assertEquals(2, factory.created.get());
+    }
+
+    @Test
+    public void singletonScopedFactoriesCreateTheServiceOnce() {
+        final CountingServiceFactory factory = new CountingServiceFactory(SERVICE_NAME, Scope.SINGLETON);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        Assert.assertSame(context.generate(Object.class, SERVICE), context.generate(Object.class, SERVICE));
+        Assert.assertEquals(1, factory.created.get());
+    }
+
+    @Test
+    public void theDescriptorScopeOverridesTheFactoryScope() {
+        final CountingServiceFactory factory = new CountingServiceFactory(SERVICE_NAME, Scope.PROTOTYPE);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final ServiceDescriptor singleton = new ServiceDescriptor(SERVICE_NAME, Collections.emptyMap(), Collections.emptyMap(), Optional.of(Scope.SINGLETON));
+        Assert.assertSame(context.generate(Object.class, singleton), context.generate(Object.class, singleton));
+        Assert.assertEquals(1, factory.created.get());
+    }
+
+    @Test
+    public void threadScopedFactoriesCreateTheServiceOncePerThread() throws Exception {
+        final CountingServiceFactory factory = new CountingServiceFactory(SERVICE_NAME, Scope.THREAD);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final Object service = context.generate(Object.class, SERVICE);
+        Assert.assertSame(service, context.generate(Object.class, SERVICE));
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Object otherThreadService = executor.submit(() -> context.generate(Object.class, SERVICE)).get();
+            Assert.assertNotSame(service, otherThreadService);
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(2, factory.created.get());
+    }
+
+    @Test
+    public void concurrentRequestsForASingletonCreateTheServiceOnce() throws Exception {
+        final CountDownLatch creationStarted = new CountDownLatch(1);
+        final CountDownLatch releaseCreation = new CountDownLatch(1);
+        final CountingServiceFactory factory = new CountingServiceFactory(SERVICE_NAME, Scope.SINGLETON) {
+            @Override
+            public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+                creationStarted.countDown();
+                try {
+                    releaseCreation.await();
+                } catch (InterruptedException exception) {
+                    throw new IllegalStateException(exception);
+                }
+                return super.create(serviceGenerator, serviceDescriptor);
+            }
+        };
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Object>> services = new ArrayList<>();
+            services.add(executor.submit(() -> context.generate(Object.class, SERVICE)));
+            creationStarted.await();
+            for (int request = 0; request != 3; ++request) {
+                services.add(executor.submit(() -> context.generate(Object.class, SERVICE)));
+            }
+            releaseCreation.countDown();
+            final Object expected = services.get(0).get();
+            for (Future<Object> service : services) {
+                Assert.assertSame(expected, service.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(1, factory.created.get());
+    }
+
+    @Test(timeout = 10000)
+    public void singletonsDependingOnEachOtherFromTwoThreadsFailInsteadOfDeadlocking() throws Exception {
+        final CyclicBarrier bothCreating = new CyclicBarrier(2);
+        final GenerationContext context = new GenerationContext(Stream.of(
+                new InterdependentSingletonFactory("first", "second", bothCreating),
+                new InterdependentSingletonFactory("second", "first", bothCreating)));
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Object> first = executor.submit(() -> context.generate(Object.class, ServiceDescriptor.notParameterized("first")));
+            final Future<Object> second = executor.submit(() -> context.generate(Object.class, ServiceDescriptor.notParameterized("second")));
+            for (Future<Object> service : Arrays.asList(first, second)) {
+                try {
+                    service.get();
+                    Assert.fail("expected IllegalStateException");
+                } catch (ExecutionException exception) {
+                    Assert.assertTrue(exception.getCause() instanceof IllegalStateException);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void leasedPooledServicesAreHandedOutAgainOnceReturned() {
+        final PoolingServiceFactory factory = new PoolingServiceFactory(4, 16);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final Object first;
+        try (Lease<Object> lease = context.lease(Object.class, SERVICE)) {
+            first = lease.get();
+        }
+        try (Lease<Object> lease = context.lease(Object.class, SERVICE)) {
+            Assert.assertSame(first, lease.get());
+        }
+        Assert.assertEquals(1, factory.created.get());
+        final PoolStatistics statistics = context.poolStatistics().get(0);
+        Assert.assertEquals(1, statistics.hits);
+        Assert.assertEquals(1, statistics.misses);
+        Assert.assertEquals(0, statistics.evictions);
+    }
+
+    @Test
+    public void pooledServicesAreResetWhenReturned() {
+        final PoolingServiceFactory factory = new PoolingServiceFactory(4, 16);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        context.lease(Object.class, SERVICE).close();
+        Assert.assertEquals(1, factory.resets.get());
+    }
+
+    @Test
+    public void generatedPooledServicesBypassThePool() {
+        final PoolingServiceFactory factory = new PoolingServiceFactory(4, 16);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final Object leased;
+        try (Lease<Object> lease = context.lease(Object.class, SERVICE)) {
+            leased = lease.get();
+        }
+        final Object generated = context.generate(Object.class, SERVICE);
+        Assert.assertNotSame(leased, generated);
+        Assert.assertNotSame(generated, context.generate(Object.class, SERVICE));
+        Assert.assertEquals(3, factory.created.get());
+        final PoolStatistics statistics = context.poolStatistics().get(0);
+        Assert.assertEquals(0, statistics.hits);
+        Assert.assertEquals(1, statistics.misses);
+        try (Lease<Object> lease = context.lease(Object.class, SERVICE)) {
+            Assert.assertSame(leased, lease.get());
+        }
+        Assert.assertEquals(1, context.poolStatistics().get(0).hits);
+    }
+
+    @Test
+    public void servicesReturnedBeyondThePoolCapacitiesAreEvicted() {
+        final PoolingServiceFactory factory = new PoolingServiceFactory(1, 1);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final List<Lease<Object>> leases = Arrays.asList(context.lease(Object.class, SERVICE), context.lease(Object.class, SERVICE), context.lease(Object.class, SERVICE));
+        leases.forEach(Lease::close);
+        final PoolStatistics statistics = context.poolStatistics().get(0);
+        Assert.assertEquals(3, statistics.misses);
+        Assert.assertEquals(1, statistics.evictions);
+        Assert.assertEquals(1, statistics.sharedIdle);
+    }
+
+    @Test
+    public void servicesReturnedToTheSharedPoolAreLeasedOnOtherThreads() throws Exception {
+        final PoolingServiceFactory factory = new PoolingServiceFactory(0, 4);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final Lease<Object> lease = context.lease(Object.class, SERVICE);
+        final Object returned = lease.get();
+        lease.close();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assert.assertSame(returned, executor.submit(() -> context.lease(Object.class, SERVICE).get()).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void servicesReturnedToAThreadPoolAreNotLeasedOnOtherThreads() throws Exception {
+        final PoolingServiceFactory factory = new PoolingServiceFactory(4, 0);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final Lease<Object> lease = context.lease(Object.class, SERVICE);
+        final Object returned = lease.get();
+        lease.close();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assert.assertNotSame(returned, executor.submit(() -> context.lease(Object.class, SERVICE).get()).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void servicesReturnedOnVirtualThreadsAreLeasedOnOtherVirtualThreads() throws Exception {
+        final Optional<Executor> virtualThreads = VirtualThreads.executor();
+        Assume.assumeTrue(virtualThreads.isPresent());
+        final PoolingServiceFactory factory = new PoolingServiceFactory(4, 16);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final Object returned = CompletableFuture.supplyAsync(() -> {
+            try (Lease<Object> lease = context.lease(Object.class, SERVICE)) {
+                return lease.get();
+            }
+        }, virtualThreads.get()).get();
+        Assert.assertSame(returned, CompletableFuture.supplyAsync(() -> context.lease(Object.class, SERVICE).get(), virtualThreads.get()).get());
+        Assert.assertEquals(1, context.poolStatistics().get(0).hits);
+    }
+
+    @Test
+    public void closingALeaseTwiceReturnsTheServiceOnce() {
+        final PoolingServiceFactory factory = new PoolingServiceFactory(4, 16);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final Lease<Object> lease = context.lease(Object.class, SERVICE);
+        lease.close();
+        lease.close();
+        Assert.assertEquals(1, factory.resets.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closedLeasesNoLongerHandOutTheirService() {
+        final GenerationContext context = new GenerationContext(Stream.of(new PoolingServiceFactory(4, 16)));
+        final Lease<Object> lease = context.lease(Object.class, SERVICE);
+        lease.close();
+        lease.get();
+    }
+
+    @Test
+    public void leasesOfServicesThatAreNotPooledDoNotReturnThem() {
+        final CountingServiceFactory factory = new CountingServiceFactory(SERVICE_NAME, Scope.SINGLETON);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final Object singleton = context.generate(Object.class, SERVICE);
+        try (Lease<Object> lease = context.lease(Object.class, SERVICE)) {
+            Assert.assertSame(singleton, lease.get());
+        }
+        Assert.assertTrue(context.poolStatistics().isEmpty());
+    }
+
+    @Test
+    public void theDescriptorScopeCanPoolServicesOfAnyFactory() {
+        final CountingServiceFactory factory = new CountingServiceFactory(SERVICE_NAME, Scope.PROTOTYPE);
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        final ServiceDescriptor pooled = ServiceDescriptor.builder(SERVICE_NAME).scope(Scope.POOLED).build();
+        context.lease(Object.class, pooled).close();
+        context.lease(Object.class, pooled).close();
+        Assert.assertEquals(1, factory.created.get());
+    }
+
+    @Test
+    public void validDescriptorTreesHaveNoProblems() {
+        final GenerationContext context = new GenerationContext(Stream.of(
+                new MetadataServiceFactory("root", Object.class, parameter("size", false), role("items", Number[].class, false)),
+                new MetadataServiceFactory("item", Integer.class, parameter("value", true), Collections.emptyMap())));
+        final ServiceDescriptor root = ServiceDescriptor.builder("root")
+                .parameter("size", "2")
+                .collaborator("items", ServiceDescriptor.notParameterized("item"), ServiceDescriptor.builder("item").parameter("value", "1").build())
+                .build();
+        Assert.assertEquals(Collections.emptyList(), context.validate(Object.class, root));
+    }
+
+    @Test
+    public void everyProblemOfADescriptorTreeIsReportedInOnePass() {
+        final GenerationContext context = new GenerationContext(Stream.of(
+                new MetadataServiceFactory("root", Object.class, parameter("size", false), role("single", Object.class, false)),
+                new MetadataServiceFactory("branch", Object.class, parameter("value", false), role("leaf", Object.class, false))));
+        final ServiceDescriptor root = ServiceDescriptor.builder("root")
+                .collaborator("single", ServiceDescriptor.notParameterized("branch"), ServiceDescriptor.notParameterized("missing"))
+                .build();
+        final ServiceDescriptor other = ServiceDescriptor.builder("root")
+                .parameter("size", "1")
+                .collaborator("single", ServiceDescriptor.notParameterized("branch"))
+                .build();
+        Assert.assertEquals(Arrays.asList(
+                "root > single=branch: missing collaborator: leaf (java.lang.Object)",
+                "root > single=branch: missing parameter: value",
+                "root: expected a single collaborator for single, but 2 collaborators found",
+                "root: missing parameter: size"),
+                context.validate(Object.class, Arrays.asList(root, other)));
+    }
+
+    @Test
+    public void servicesWithoutACompatibleFactoryAreReported() {
+        final GenerationContext context = new GenerationContext(Stream.of(
+                new MetadataServiceFactory("root", Object.class, Collections.emptyMap(), role("items", Number[].class, false)),
+                new MetadataServiceFactory("text", String.class, Collections.emptyMap(), Collections.emptyMap())));
+        final ServiceDescriptor root = ServiceDescriptor.builder("root")
+                .collaborator("items", ServiceDescriptor.notParameterized("text"), ServiceDescriptor.notParameterized("unknown"))
+                .build();
+        Assert.assertEquals(Arrays.asList(
+                "root > items[0]=text: cannot find a service factory for the requested service (java.lang.Number)",
+                "root > items[1]=unknown: cannot find a service factory for the requested service (java.lang.Number)"),
+                context.validate(Object.class, root));
+    }
+
+    @Test
+    public void defaultCollaboratorsAreValidatedAndTheirCyclesReported() {
+        final GenerationContext context = new GenerationContext(Stream.of(
+                new MetadataServiceFactory("first", Object.class, Collections.emptyMap(), role("next", Object.class, true, "second")),
+                new MetadataServiceFactory("second", Object.class, Collections.emptyMap(), role("next", Object.class, true, "first"))));
+        Assert.assertEquals(
+                Collections.singletonList("first > next=second > next=first: circular dependency detected"),
+                context.validate(Object.class, ServiceDescriptor.notParameterized("first")));
+    }
+
+    @Test
+    public void cyclesBrokenByALazyRoleAreNotReported() {
+        final GenerationContext context = new GenerationContext(Stream.of(
+                new MetadataServiceFactory("first", Object.class, Collections.emptyMap(), role("next", Object.class, true, "second"), "next"),
+                new MetadataServiceFactory("second", Object.class, Collections.emptyMap(), role("next", Object.class, true, "first"))));
+        Assert.assertEquals(Collections.emptyList(), context.validate(Object.class, ServiceDescriptor.notParameterized("first")));
+        Assert.assertEquals(Collections.emptyList(), context.validate(Object.class, ServiceDescriptor.notParameterized("second")));
+    }
+
+    @Test
+    public void theCollaboratorsOfALazyRoleAreStillValidated() {
+        final GenerationContext context = new GenerationContext(Stream.of(
+                new MetadataServiceFactory("first", Object.class, Collections.emptyMap(), role("next", Object.class, true, "second"), "next"),
+                new MetadataServiceFactory("second", Object.class, parameter("value", false), role("next", Object.class, true, "third")),
+                new MetadataServiceFactory("third", Object.class, Collections.emptyMap(), role("next", Object.class, true, "second"))));
+        Assert.assertEquals(Arrays.asList(
+                "first > next=second > next=third > next=second: circular dependency detected",
+                "first > next=second: missing parameter: value"),
+                context.validate(Object.class, ServiceDescriptor.notParameterized("first")));
+    }
+
+    @Test
+    public void largeDescriptorForestsAreValidatedWithoutCreatingAnyService() {
+        final GenerationContext context = new GenerationContext(Stream.of(
+                new MetadataServiceFactory("node", Object.class, parameter("id", false), role("children", Object[].class, true)),
+                new MetadataServiceFactory("leaf", Object.class, parameter("id", false), Collections.emptyMap())));
+        final List<ServiceDescriptor> forest = IntStream.range(0, 1000)
+                .mapToObj(tree -> ServiceDescriptor.builder("node")
+                        .parameter("id", String.valueOf(tree))
+                        .collaborators("children", IntStream.range(0, 10)
+                                .mapToObj(leaf -> tree % 250 == 0 && leaf == 3 ? ServiceDescriptor.notParameterized("leaf") : ServiceDescriptor.builder("leaf").parameter("id", tree + "." + leaf).build())
+                                .collect(Collectors.toList()))
+                        .build())
+                .collect(Collectors.toList());
+        Assert.assertEquals(Collections.singletonList("node > children[3]=leaf: missing parameter: id"), context.validate(Object.class, forest));
+    }
+
+    @Test
+    public void failedSingletonCreationsAreNotCached() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountingServiceFactory factory = new CountingServiceFactory(SERVICE_NAME, Scope.SINGLETON) {
+            @Override
+            public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+                if (attempts.getAndIncrement() == 0) {
+                    throw new IllegalStateException("first attempt fails");
+                }
+                return super.create(serviceGenerator, serviceDescriptor);
+            }
+        };
+        final GenerationContext context = new GenerationContext(Stream.of(factory));
+        try {
+            context.generate(Object.class, SERVICE);
+            Assert.fail("expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+        }
+        Assert.assertNotNull(context.generate(Object.class, SERVICE));
+        Assert.assertEquals(1, factory.created.get());
+    }
+
+    @Test
+    public void blockingFactoriesAreRunOnTheAsyncExecutor() {
+        final Object expected = new Object();
+        final List<Runnable> submitted = new ArrayList<>();
+        final GenerationContext context = new GenerationContext(Stream.of(new StubServiceFactory(expected, SERVICE_NAME, Object.class)), submitted::add);
+        final CompletableFuture<Object> service = context.generateAsync(Object.class, SERVICE);
+        Assert.assertFalse(service.isDone());
+        submitted.forEach(Runnable::run);
+        Assert.assertSame(expected, service.join());
+    }
+
+    @Test
+    public void missingFactoriesAreReportedAsFailedFutures() {
+        final GenerationContext context = new GenerationContext(Stream.empty());
+        final CompletableFuture<Object> service = context.generateAsync(Object.class, SERVICE);
+        try {
+            service.join();
+            Assert.fail("expected CompletionException");
+        } catch (CompletionException exception) {
+            Assert.assertTrue(exception.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void asyncSingletonsAreSharedWithSynchronousGeneration() {
+        final CountingServiceFactory factory = new CountingServiceFactory(SERVICE_NAME, Scope.SINGLETON);
+        final GenerationContext context = new GenerationContext(Stream.of(factory), Runnable::run);
+        final Object service = context.generateAsync(Object.class, SERVICE).join();
+        Assert.assertSame(service, context.generateAsync(Object.class, SERVICE).join());
+        Assert.assertSame(service, context.generate(Object.class, SERVICE));
+        Assert.assertEquals(1, factory.created.get());
+    }
+
+    @Test(timeout = 10000)
+    public void asyncSingletonCyclesFailInsteadOfHanging() throws InterruptedException {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final GenerationContext context = new GenerationContext(Stream.of(
+                    new InterdependentSingletonFactory("first", "second", new CyclicBarrier(1)),
+                    new InterdependentSingletonFactory("second", "first", new CyclicBarrier(1))), executor);
+            context.generateAsync(Object.class, ServiceDescriptor.notParameterized("first")).get(5, TimeUnit.SECONDS);
+            Assert.fail("expected ExecutionException");
+        } catch (ExecutionException exception) {
+            Assert.assertTrue(exception.getCause().getMessage().contains("circular dependency detected"));
+        } catch (TimeoutException exception) {
+            Assert.fail("the singleton cycle was not detected");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void listenersAreNotifiedOfNestedGenerationsWithTheirDepth() {
+        final ServiceFactory child = new StubServiceFactory(new Object(), "child", Object.class);
+        final ServiceFactory parent = new StubServiceFactory(null, "parent", Object.class) {
+            @Override
+            public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+                return serviceGenerator.generate(Object.class, ServiceDescriptor.notParameterized("child"));
+            }
+        };
+        final RecordingListener listener = new RecordingListener();
+        final GenerationContext context = new GenerationContext(Stream.of(parent, child), Runnable::run, listener);
+        context.generate(Object.class, ServiceDescriptor.notParameterized("parent"));
+        Assert.assertEquals(Arrays.asList("started parent 0", "started child 1", "completed child 1", "completed parent 0"), listener.events);
+    }
+
+    @Test
+    public void listenersAreNotifiedOfFailedGenerations() {
+        final ServiceFactory failing = new StubServiceFactory(null, SERVICE_NAME, Object.class) {
+            @Override
+            public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+                throw new IllegalStateException("failing");
+            }
+        };
+        final RecordingListener listener = new RecordingListener();
+        final GenerationContext context = new GenerationContext(Stream.of(failing), Runnable::run, listener);
+        try {
+            context.generate(Object.class, SERVICE);
+            Assert.fail("expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+        }
+        Assert.assertEquals(Arrays.asList("started service 0", "failed service 0"), listener.events);
+    }
+
+    @Test
+    public void singletonsAreReportedOnlyWhenCreated() {
+        final RecordingListener listener = new RecordingListener();
+        final GenerationContext context = new GenerationContext(Stream.of(new CountingServiceFactory(SERVICE_NAME, Scope.SINGLETON)), Runnable::run, listener);
+        context.generate(Object.class, SERVICE);
+        context.generate(Object.class, SERVICE);
+        Assert.assertEquals(Arrays.asList("started service 0", "completed service 0"), listener.events);
+    }
+
     private static class DummyServiceFactory extends AbstractServiceFactory {
 
         public DummyServiceFactory(String serviceName, Class serviceType) {
@@ -146,4 +879,202 @@ public class GenerationContextTest {
             return null;
         }
     }
+
+    static class RecordingListener implements GenerationListener {
+
+        public final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void generationStarted(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor, int depth) {
+            events.add("started " + serviceDescriptor.name + " " + depth);
+        }
+
+        @Override
+        public void generationCompleted(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor, int depth, long nanos) {
+            events.add("completed " + serviceDescriptor.name + " " + depth);
+        }
+
+        @Override
+        public void generationFailed(ServiceFactory<?> serviceFactory, ServiceDescriptor serviceDescriptor, int depth, long nanos, Throwable failure) {
+            events.add("failed " + serviceDescriptor.name + " " + depth);
+        }
+    }
+
+    private static class CountingCompilableServiceFactory extends AbstractServiceFactory implements CompilableServiceFactory {
+
+        public final AtomicInteger compiled;
+
+        public CountingCompilableServiceFactory(String serviceName) {
+            super(serviceName, Object.class);
+            compiled = new AtomicInteger();
+        }
+
+        @Override
+        public Map parameters() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map roles() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            return new Object();
+        }
+
+        @Override
+        public PlannedArgument[] compile(GenerationPlanner generationPlanner, ServiceDescriptor serviceDescriptor) {
+            compiled.incrementAndGet();
+            return new PlannedArgument[0];
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, Object[] arguments) {
+            return new Object();
+        }
+    }
+
+    private static class InterdependentSingletonFactory extends AbstractServiceFactory {
+
+        private final String collaboratorName;
+        private final CyclicBarrier bothCreating;
+
+        public InterdependentSingletonFactory(String serviceName, String collaboratorName, CyclicBarrier bothCreating) {
+            super(serviceName, Object.class);
+            this.collaboratorName = collaboratorName;
+            this.bothCreating = bothCreating;
+        }
+
+        @Override
+        public Map parameters() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map roles() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Scope scope() {
+            return Scope.SINGLETON;
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            try {
+                bothCreating.await();
+            } catch (InterruptedException | BrokenBarrierException exception) {
+                throw new IllegalStateException(exception);
+            }
+            return Collections.singletonList(serviceGenerator.generate(Object.class, ServiceDescriptor.notParameterized(collaboratorName)));
+        }
+    }
+
+    private static class PoolingServiceFactory extends CountingServiceFactory implements PooledServiceFactory {
+
+        public final AtomicInteger resets;
+        private final int perThreadCapacity;
+        private final int sharedCapacity;
+
+        public PoolingServiceFactory(int perThreadCapacity, int sharedCapacity) {
+            super(SERVICE_NAME, Scope.POOLED);
+            this.resets = new AtomicInteger();
+            this.perThreadCapacity = perThreadCapacity;
+            this.sharedCapacity = sharedCapacity;
+        }
+
+        @Override
+        public int perThreadCapacity() {
+            return perThreadCapacity;
+        }
+
+        @Override
+        public int sharedCapacity() {
+            return sharedCapacity;
+        }
+
+        @Override
+        public void reset(Object service) {
+            resets.incrementAndGet();
+        }
+    }
+
+    private static Map<String, Optional<List<String>>> parameter(String parameterName, boolean hasDefault) {
+        return Collections.singletonMap(parameterName, hasDefault ? Optional.of(Collections.singletonList("default")) : Optional.empty());
+    }
+
+    private static Map<String, Map.Entry<Class<?>, Optional<List<String>>>> role(String roleName, Class<?> roleType, boolean hasDefault, String... defaultCollaborators) {
+        final Optional<List<String>> defaults = hasDefault ? Optional.of(Arrays.asList(defaultCollaborators)) : Optional.empty();
+        return Collections.singletonMap(roleName, new AbstractMap.SimpleImmutableEntry<>(roleType, defaults));
+    }
+
+    private static class MetadataServiceFactory extends AbstractServiceFactory {
+
+        private final Map parameters;
+        private final Map roles;
+        private final Set lazyRoles;
+
+        public MetadataServiceFactory(String serviceName, Class serviceType, Map parameters, Map roles, String... lazyRoles) {
+            super(serviceName, serviceType);
+            this.parameters = parameters;
+            this.roles = roles;
+            this.lazyRoles = new HashSet<>(Arrays.asList(lazyRoles));
+        }
+
+        @Override
+        public Map parameters() {
+            return parameters;
+        }
+
+        @Override
+        public Map roles() {
+            return roles;
+        }
+
+        @Override
+        public Set lazyRoles() {
+            return lazyRoles;
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            throw new UnsupportedOperationException("validation must not create services");
+        }
+    }
+
+    private static class CountingServiceFactory extends AbstractServiceFactory {
+
+        public final AtomicInteger created;
+        private final Scope scope;
+
+        public CountingServiceFactory(String serviceName, Scope scope) {
+            super(serviceName, Object.class);
+            this.scope = scope;
+            created = new AtomicInteger();
+        }
+
+        @Override
+        public Map parameters() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map roles() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Scope scope() {
+            return scope;
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            created.incrementAndGet();
+            return new Object();
+        }
+    }
 }
@@ -0,0 +1,372 @@
+package dev.deadc0de.genesis;
+
+import dev.deadc0de.genesis.module.Parameter;
+import dev.deadc0de.genesis.module.Role;
+import dev.deadc0de.genesis.module.Scoped;
+import dev.deadc0de.genesis.module.ServiceModule;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenerationPlanTest {
+
+    private static final ServiceDescriptor SERVICE = ServiceDescriptor.builder("service")
+            .parameter("name", "planned")
+            .collaborator("parts", ServiceDescriptor.builder("part").parameter("id", "first").build(), ServiceDescriptor.builder("part").parameter("id", "second").build())
+            .collaborator("shared", ServiceDescriptor.notParameterized("shared"))
+            .build();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @Test
+    public void executingAPlanGeneratesTheSameServiceAsTheContext() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        final List<?> generated = context.generate(List.class, SERVICE);
+        final List<?> planned = context.plan(List.class, SERVICE).generate();
+        Assert.assertEquals(generated.get(0), planned.get(0));
+        Assert.assertEquals(((Part[]) generated.get(1)).length, ((Part[]) planned.get(1)).length);
+        Assert.assertSame(generated.get(2), planned.get(2));
+    }
+
+    @Test
+    public void plansAreCompiledOncePerServiceTypeAndDescriptor() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        final GenerationPlan<List> plan = context.plan(List.class, SERVICE);
+        Assert.assertSame(plan, context.plan(List.class, SERVICE));
+        Assert.assertSame(plan, context.plan(List.class, ServiceDescriptor.builder("service")
+                .parameter("name", "planned")
+                .collaborator("parts", ServiceDescriptor.builder("part").parameter("id", "first").build(), ServiceDescriptor.builder("part").parameter("id", "second").build())
+                .collaborator("shared", ServiceDescriptor.notParameterized("shared"))
+                .build()));
+    }
+
+    @Test
+    public void thePlanCacheDoesNotGrowOverDistinctDescriptors() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        for (int request = 0; request != 2 * GenerationContext.MAX_CACHED_PLANS; ++request) {
+            final Part part = context.plan(Part.class, ServiceDescriptor.builder("part").parameter("id", "request-" + request).build()).generate();
+            Assert.assertEquals("request-" + request, part.id);
+        }
+        Assert.assertEquals(GenerationContext.MAX_CACHED_PLANS, context.cachedPlans());
+    }
+
+    @Test
+    public void everyExecutionCreatesNewPrototypeCollaborators() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        final GenerationPlan<List> plan = context.plan(List.class, SERVICE);
+        final Part[] first = (Part[]) plan.generate().get(1);
+        final Part[] second = (Part[]) plan.generate().get(1);
+        Assert.assertNotSame(first[0], second[0]);
+    }
+
+    @Test
+    public void singletonCollaboratorsAreSharedAcrossExecutions() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        final GenerationPlan<List> plan = context.plan(List.class, SERVICE);
+        Assert.assertSame(plan.generate().get(2), plan.generate().get(2));
+    }
+
+    @Test
+    public void arrayCollaboratorsKeepTheDescriptorOrder() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        final Part[] parts = (Part[]) context.plan(List.class, SERVICE).generate().get(1);
+        Assert.assertEquals("first", parts[0].id);
+        Assert.assertEquals("second", parts[1].id);
+    }
+
+    @Test
+    public void failuresReportTheSameGenerationStackAsTheContext() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        final ServiceDescriptor failing = ServiceDescriptor.builder("service")
+                .parameter("name", "failing")
+                .collaborator("parts", ServiceDescriptor.notParameterized("failingPart"))
+                .collaborator("shared", ServiceDescriptor.notParameterized("shared"))
+                .build();
+        final GenerationPlan<List> plan = context.plan(List.class, failing);
+        Assert.assertEquals(generationStack(() -> context.generate(List.class, failing)), generationStack(plan::generate));
+    }
+
+    @Test
+    public void contextsWithLightweightExceptionsReportFailuresWithASingleException() {
+        final GenerationContext context = GenerationContext.builder()
+                .module(new TestModule(), ServiceModule::assembleModule)
+                .lightweightExceptions(true)
+                .build();
+        final ServiceDescriptor failing = ServiceDescriptor.builder("service")
+                .parameter("name", "failing")
+                .collaborator("parts", ServiceDescriptor.notParameterized("failingPart"))
+                .collaborator("shared", ServiceDescriptor.notParameterized("shared"))
+                .build();
+        for (ServiceGenerationException exception : Arrays.asList(failure(() -> context.generate(List.class, failing)), failure(context.plan(List.class, failing)::generate))) {
+            Assert.assertFalse(exception.getCause() instanceof ServiceGenerationException);
+            Assert.assertEquals(0, exception.getStackTrace().length);
+            Assert.assertEquals(2, exception.serviceGenerationStack().size());
+        }
+    }
+
+    @Test
+    public void contextsWithoutLightweightExceptionsReportFailuresWithAnExceptionPerServiceFactory() {
+        final GenerationContext context = GenerationContext.builder()
+                .module(new TestModule(), ServiceModule::assembleModule)
+                .lightweightExceptions(false)
+                .build();
+        final ServiceDescriptor failing = ServiceDescriptor.builder("service")
+                .parameter("name", "failing")
+                .collaborator("parts", ServiceDescriptor.notParameterized("failingPart"))
+                .collaborator("shared", ServiceDescriptor.notParameterized("shared"))
+                .build();
+        for (ServiceGenerationException exception : Arrays.asList(failure(() -> context.generate(List.class, failing)), failure(context.plan(List.class, failing)::generate))) {
+            Assert.assertTrue(exception.getCause() instanceof ServiceGenerationException);
+            Assert.assertNotEquals(0, exception.getStackTrace().length);
+            Assert.assertEquals(2, exception.serviceGenerationStack().size());
+        }
+    }
+
+    @Test(expected = ServiceGenerationException.class)
+    public void missingParametersAreReportedWhenCompilingThePlan() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        context.plan(Part.class, ServiceDescriptor.notParameterized("part"));
+    }
+
+    @Test
+    public void servicesOfFactoriesThatCannotBeCompiledAreGeneratedByTheirFactory() {
+        final Object expected = new Object();
+        final GenerationContext context = new GenerationContext(Stream.of(new StubServiceFactory(expected)));
+        Assert.assertSame(expected, context.plan(Object.class, ServiceDescriptor.notParameterized("stub")).generate());
+    }
+
+    @Test
+    public void parallelExecutionKeepsTheArgumentOrder() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        final List<?> service = context.generate(List.class, SERVICE, executor);
+        final Part[] parts = (Part[]) service.get(1);
+        Assert.assertEquals("planned", service.get(0));
+        Assert.assertEquals("first", parts[0].id);
+        Assert.assertEquals("second", parts[1].id);
+    }
+
+    @Test
+    public void independentCollaboratorsAreGeneratedConcurrently() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new ConcurrentModule(new CyclicBarrier(2))));
+        final ServiceDescriptor pair = ServiceDescriptor.builder("pair")
+                .collaborator("left", ServiceDescriptor.notParameterized("meeting"))
+                .collaborator("right", ServiceDescriptor.notParameterized("meeting"))
+                .build();
+        Assert.assertEquals(Arrays.asList("met", "met"), context.generate(List.class, pair, executor));
+    }
+
+    @Test
+    public void parallelFailuresReportTheSameGenerationStackAsSequentialExecution() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        final ServiceDescriptor failing = ServiceDescriptor.builder("service")
+                .parameter("name", "failing")
+                .collaborator("parts", ServiceDescriptor.builder("part").parameter("id", "first").build(), ServiceDescriptor.notParameterized("failingPart"), ServiceDescriptor.notParameterized("otherFailingPart"))
+                .collaborator("shared", ServiceDescriptor.notParameterized("shared"))
+                .build();
+        final GenerationPlan<List> plan = context.plan(List.class, failing);
+        final List<ServiceFactory<?>> expected = generationStack(plan::generate);
+        for (int attempt = 0; attempt != 100; ++attempt) {
+            Assert.assertEquals(expected, generationStack(() -> plan.generate(executor)));
+        }
+    }
+
+    @Test
+    public void threadScopedCollaboratorsAreGeneratedOnTheCallingThread() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new ConcurrentModule(new CyclicBarrier(1))));
+        final ServiceDescriptor pair = ServiceDescriptor.builder("pair")
+                .collaborator("left", ServiceDescriptor.notParameterized("currentThread"))
+                .collaborator("right", ServiceDescriptor.notParameterized("meeting"))
+                .build();
+        Assert.assertSame(Thread.currentThread(), context.generate(List.class, pair, executor).get(0));
+    }
+
+    @Test
+    public void collaboratorsFollowingAFailedOneAreNotStarted() {
+        final ConcurrentModule module = new ConcurrentModule(new CyclicBarrier(1));
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(module));
+        final ServiceDescriptor pair = ServiceDescriptor.builder("pair")
+                .collaborator("left", ServiceDescriptor.notParameterized("failing"))
+                .collaborator("right", ServiceDescriptor.notParameterized("meeting"))
+                .build();
+        final ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            generationStack(() -> context.generate(List.class, pair, singleThread));
+        } finally {
+            singleThread.shutdown();
+        }
+        Assert.assertEquals(0, module.met.get());
+    }
+
+    @Test(timeout = 10000)
+    public void runningCollaboratorsFollowingAFailedOneAreInterrupted() {
+        final ConcurrentModule module = new ConcurrentModule(new CyclicBarrier(2));
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(module));
+        final ServiceDescriptor pair = ServiceDescriptor.builder("pair")
+                .collaborator("left", ServiceDescriptor.notParameterized("failingOnceMet"))
+                .collaborator("right", ServiceDescriptor.notParameterized("sleeping"))
+                .build();
+        final List<ServiceFactory<?>> stack = generationStack(() -> context.generate(List.class, pair, executor));
+        Assert.assertEquals("failingOnceMet", stack.get(0).serviceName());
+        Assert.assertEquals(1, module.interrupted.get());
+    }
+
+    @Test
+    public void rejectedCollaboratorsAreReportedAsFailures() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        try {
+            context.generate(List.class, SERVICE, command -> {
+                throw new RejectedExecutionException("rejected");
+            });
+            Assert.fail("expected RejectedExecutionException");
+        } catch (RejectedExecutionException exception) {
+            Assert.assertEquals("rejected", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void compiledStepsAreReportedToListenersWithTheirDepth() {
+        final GenerationContextTest.RecordingListener listener = new GenerationContextTest.RecordingListener();
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()), Runnable::run, listener);
+        context.plan(List.class, SERVICE).generate();
+        Assert.assertEquals(Arrays.asList(
+                "started part 1", "completed part 1",
+                "started part 1", "completed part 1",
+                "started shared 1", "completed shared 1",
+                "started service 0", "completed service 0"), listener.events);
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    private static List<ServiceFactory<?>> generationStack(Runnable generation) {
+        return failure(generation).serviceGenerationStack();
+    }
+
+    private static ServiceGenerationException failure(Runnable generation) {
+        try {
+            generation.run();
+        } catch (ServiceGenerationException exception) {
+            return exception;
+        }
+        throw new AssertionError("expected ServiceGenerationException");
+    }
+
+    public static class TestModule {
+
+        public List<Object> service(@Parameter("name") String name, @Role("parts") Part[] parts, @Role("shared") Object shared) {
+            return Arrays.asList(name, parts, shared);
+        }
+
+        public Part part(@Parameter("id") String id) {
+            return new Part(id);
+        }
+
+        public Part failingPart() {
+            throw new UnsupportedOperationException("failing part");
+        }
+
+        public Part otherFailingPart() {
+            throw new UnsupportedOperationException("other failing part");
+        }
+
+        @Scoped(Scope.SINGLETON)
+        public Object shared() {
+            return new Object();
+        }
+    }
+
+    public static class ConcurrentModule {
+
+        private final CyclicBarrier barrier;
+        private final AtomicInteger met;
+        private final AtomicInteger interrupted;
+
+        public ConcurrentModule(CyclicBarrier barrier) {
+            this.barrier = barrier;
+            this.met = new AtomicInteger();
+            this.interrupted = new AtomicInteger();
+        }
+
+        public List<Object> pair(@Role("left") Object left, @Role("right") Object right) {
+            return Arrays.asList(left, right);
+        }
+
+        public String meeting() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+            met.incrementAndGet();
+            return "met";
+        }
+
+        public String failing() {
+            throw new UnsupportedOperationException("failing");
+        }
+
+        public String failingOnceMet() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+            throw new UnsupportedOperationException("failing once met");
+        }
+
+        public String sleeping() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException exception) {
+                interrupted.incrementAndGet();
+                throw exception;
+            }
+            return "slept";
+        }
+
+        @Scoped(Scope.THREAD)
+        public Thread currentThread() {
+            return Thread.currentThread();
+        }
+    }
+
+    public static class Part {
+
+        public final String id;
+
+        public Part(String id) {
+            this.id = id;
+        }
+    }
+
+    private static class StubServiceFactory extends AbstractServiceFactory {
+
+        private final Object service;
+
+        public StubServiceFactory(Object service) {
+            super("stub", Object.class);
+            this.service = service;
+        }
+
+        @Override
+        public Map parameters() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map roles() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            return service;
+        }
+    }
+}
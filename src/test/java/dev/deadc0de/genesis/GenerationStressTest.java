@@ -0,0 +1,193 @@
+package dev.deadc0de.genesis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenerationStressTest {
+
+    private static final int THREADS = 64;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private final CyclicBarrier allThreadsStarted = new CyclicBarrier(THREADS);
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test(timeout = 30000)
+    public void manyThreadsRequestingOneExpensiveSingletonTriggerASingleCreation() throws Exception {
+        final NodeServiceFactory expensive = new NodeServiceFactory("expensive", Collections.emptyList(), 50);
+        final GenerationContext context = new GenerationContext(Stream.of(expensive));
+        final List<Object> services = onEveryThread(thread -> context.generate(Object.class, node("expensive")));
+        Assert.assertEquals(1, expensive.created.get());
+        Assert.assertEquals(1, services.stream().distinct().count());
+    }
+
+    @Test(timeout = 30000)
+    public void interdependentSingletonsAreCreatedOnceUnderContention() throws Exception {
+        final Random random = new Random(42);
+        final List<NodeServiceFactory> nodes = new ArrayList<>();
+        for (int index = 0; index != 200; ++index) {
+            final List<String> collaborators = new ArrayList<>();
+            for (int collaborator = 0; index != 0 && collaborator != 3; ++collaborator) {
+                collaborators.add("node" + random.nextInt(index));
+            }
+            nodes.add(new NodeServiceFactory("node" + index, collaborators, 0));
+        }
+        final GenerationContext context = new GenerationContext(nodes.stream().map(ServiceFactory.class::cast));
+        onEveryThread(thread -> {
+            for (int request = 0; request != 500; ++request) {
+                final String serviceName = "node" + ThreadLocalRandom.current().nextInt(nodes.size());
+                if (request % 2 == 0) {
+                    context.generate(Object.class, node(serviceName));
+                } else {
+                    context.generateAsync(Object.class, node(serviceName)).join();
+                }
+            }
+            return null;
+        });
+        for (NodeServiceFactory node : nodes) {
+            final Node generated = (Node) context.generate(Object.class, node(node.serviceName()));
+            Assert.assertEquals(node.serviceName(), 1, node.created.get());
+            for (int collaborator = 0; collaborator != node.collaboratorNames.size(); ++collaborator) {
+                Assert.assertSame(context.generate(Object.class, node(node.collaboratorNames.get(collaborator))), generated.collaborators.get(collaborator));
+            }
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void aCycleOfSingletonsCreatedOnEveryThreadFailsInsteadOfDeadlocking() throws Exception {
+        final List<ServiceFactory> ring = IntStream.range(0, THREADS)
+                .mapToObj(index -> new NodeServiceFactory("ring" + index, Collections.singletonList("ring" + (index + 1) % THREADS), 0) {
+                    @Override
+                    protected void beforeCollaborators() {
+                        awaitAllThreads();
+                    }
+                })
+                .collect(Collectors.toList());
+        final GenerationContext context = new GenerationContext(ring.stream());
+        final List<Future<Object>> services = submitOnEveryThread(thread -> context.generate(Object.class, node("ring" + thread)));
+        for (Future<Object> service : services) {
+            try {
+                service.get();
+                Assert.fail("expected IllegalStateException");
+            } catch (ExecutionException exception) {
+                Assert.assertTrue(exception.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+
+    private List<Object> onEveryThread(ThreadTask task) throws Exception {
+        final List<Object> results = new ArrayList<>();
+        for (Future<Object> result : submitOnEveryThread(task)) {
+            results.add(result.get());
+        }
+        return results;
+    }
+
+    private List<Future<Object>> submitOnEveryThread(ThreadTask task) {
+        final List<Future<Object>> results = new ArrayList<>();
+        for (int thread = 0; thread != THREADS; ++thread) {
+            final int index = thread;
+            results.add(executor.submit(() -> {
+                awaitAllThreads();
+                return task.run(index);
+            }));
+        }
+        return results;
+    }
+
+    private void awaitAllThreads() {
+        try {
+            allThreadsStarted.await();
+        } catch (InterruptedException | BrokenBarrierException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static ServiceDescriptor node(String serviceName) {
+        return ServiceDescriptor.notParameterized(serviceName);
+    }
+
+    private interface ThreadTask {
+
+        Object run(int thread) throws Exception;
+    }
+
+    private static class Node {
+
+        public final List<Object> collaborators;
+
+        public Node(List<Object> collaborators) {
+            this.collaborators = collaborators;
+        }
+    }
+
+    private static class NodeServiceFactory extends AbstractServiceFactory {
+
+        public final AtomicInteger created;
+        private final List<String> collaboratorNames;
+        private final long creationMillis;
+
+        public NodeServiceFactory(String serviceName, List<String> collaboratorNames, long creationMillis) {
+            super(serviceName, Object.class);
+            this.created = new AtomicInteger();
+            this.collaboratorNames = collaboratorNames;
+            this.creationMillis = creationMillis;
+        }
+
+        @Override
+        public Map parameters() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map roles() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Scope scope() {
+            return Scope.SINGLETON;
+        }
+
+        protected void beforeCollaborators() {
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            created.incrementAndGet();
+            beforeCollaborators();
+            final List<Object> collaborators = new ArrayList<>();
+            for (String collaboratorName : collaboratorNames) {
+                collaborators.add(serviceGenerator.generate(Object.class, node(collaboratorName)));
+            }
+            if (creationMillis != 0) {
+                try {
+                    Thread.sleep(creationMillis);
+                } catch (InterruptedException exception) {
+                    throw new IllegalStateException(exception);
+                }
+            }
+            return new Node(collaborators);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.deadc0de.genesis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PersistentArrayTest {
+
+    @Test
+    public void theEmptyArrayHoldsNoValues() {
+        final PersistentArray<Object> array = PersistentArray.empty();
+        Assert.assertEquals(0, array.size());
+        Assert.assertNull(array.get(0));
+        Assert.assertNull(array.get(1 << 20));
+    }
+
+    @Test
+    public void setIndicesHoldTheirValue() {
+        final Object value = new Object();
+        final PersistentArray<Object> array = PersistentArray.empty().with(Collections.singletonMap(1000, value));
+        Assert.assertSame(value, array.get(1000));
+        Assert.assertNull(array.get(999));
+        Assert.assertEquals(1, array.size());
+    }
+
+    @Test
+    public void changesLeaveTheOriginalArrayUnchanged() {
+        final PersistentArray<Object> original = PersistentArray.empty().with(Collections.singletonMap(1, "first"));
+        original.with(Collections.singletonMap(1, "second"));
+        original.with(Collections.singletonMap(2, "other"));
+        Assert.assertEquals("first", original.get(1));
+        Assert.assertNull(original.get(2));
+        Assert.assertEquals(1, original.size());
+    }
+
+    @Test
+    public void nullValuesClearTheirIndex() {
+        final Map<Integer, Object> values = new HashMap<>();
+        values.put(1, "first");
+        values.put(2, "second");
+        final PersistentArray<Object> original = PersistentArray.empty().with(values);
+        final PersistentArray<Object> cleared = original.with(Collections.singletonMap(1, null));
+        Assert.assertNull(cleared.get(1));
+        Assert.assertEquals("second", cleared.get(2));
+        Assert.assertEquals(1, cleared.size());
+        Assert.assertEquals("first", original.get(1));
+    }
+
+    @Test
+    public void noChangesReturnTheSameArray() {
+        final PersistentArray<Object> array = PersistentArray.empty().with(Collections.singletonMap(1, "first"));
+        Assert.assertSame(array, array.with(Collections.emptyMap()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeIndicesAreRejected() {
+        PersistentArray.empty().with(Collections.singletonMap(-1, "negative"));
+    }
+
+    @Test
+    public void behavesLikeAHashMapUnderRandomChanges() {
+        final Random random = new Random(42);
+        final Map<Integer, Integer> expected = new HashMap<>();
+        PersistentArray<Integer> actual = PersistentArray.empty();
+        for (int batch = 0; batch != 2000; ++batch) {
+            final Map<Integer, Integer> changes = new HashMap<>();
+            for (int change = random.nextInt(10); change >= 0; --change) {
+                final int index = random.nextInt(3000);
+                final Integer value = random.nextInt(3) == 0 ? null : batch;
+                changes.put(index, value);
+                if (value == null) {
+                    expected.remove(index);
+                } else {
+                    expected.put(index, value);
+                }
+            }
+            actual = actual.with(changes);
+        }
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int index = 0; index != 3000; ++index) {
+            Assert.assertEquals(expected.get(index), actual.get(index));
+        }
+        final List<Integer> visited = new ArrayList<>();
+        actual.forEach(visited::add);
+        Assert.assertEquals(expected.size(), visited.size());
+    }
+}
@@ -0,0 +1,46 @@
+package dev.deadc0de.genesis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceDescriptorPoolTest {
+
+    @Test
+    public void equalDescriptorsAreInternedToTheSameInstance() {
+        final ServiceDescriptorPool pool = new ServiceDescriptorPool();
+        final ServiceDescriptor one = pool.intern(ServiceDescriptor.notParameterized("clock"));
+        final ServiceDescriptor other = pool.intern(ServiceDescriptor.notParameterized("clock"));
+        Assert.assertSame(one, other);
+    }
+
+    @Test
+    public void internedDescriptorsAreEqualToTheOriginalOnes() {
+        final ServiceDescriptorPool pool = new ServiceDescriptorPool();
+        final ServiceDescriptor original = ServiceDescriptor.builder("service").collaborator("clock", ServiceDescriptor.notParameterized("clock")).build();
+        Assert.assertEquals(original, pool.intern(original));
+    }
+
+    @Test
+    public void identicalCollaboratorSubtreesShareOneInstance() {
+        final ServiceDescriptorPool pool = new ServiceDescriptorPool();
+        final ServiceDescriptor one = pool.intern(ServiceDescriptor.builder("one").collaborator("clock", ServiceDescriptor.notParameterized("clock")).build());
+        final ServiceDescriptor other = pool.intern(ServiceDescriptor.builder("other").collaborator("clock", ServiceDescriptor.notParameterized("clock")).build());
+        Assert.assertSame(one.collaborators.get("clock").get(0), other.collaborators.get("clock").get(0));
+        Assert.assertEquals(3, pool.size());
+    }
+
+    @Test
+    public void differentDescriptorsInTheSamePoolAreNotEqual() {
+        final ServiceDescriptorPool pool = new ServiceDescriptorPool();
+        final ServiceDescriptor one = pool.intern(ServiceDescriptor.builder("service").parameter("size", "1").build());
+        final ServiceDescriptor other = pool.intern(ServiceDescriptor.builder("service").parameter("size", "2").build());
+        Assert.assertNotEquals(one, other);
+    }
+
+    @Test
+    public void descriptorsInternedInDifferentPoolsAreEqual() {
+        final ServiceDescriptor one = new ServiceDescriptorPool().intern(ServiceDescriptor.notParameterized("clock"));
+        final ServiceDescriptor other = new ServiceDescriptorPool().intern(ServiceDescriptor.notParameterized("clock"));
+        Assert.assertEquals(one, other);
+    }
+}
@@ -0,0 +1,75 @@
+package dev.deadc0de.genesis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceDescriptorTest {
+
+    private static final ServiceDescriptor CLOCK = ServiceDescriptor.notParameterized("clock");
+
+    @Test
+    public void descriptorsWithTheSameStructureAreEqualAndHaveTheSameHash() {
+        final ServiceDescriptor one = ServiceDescriptor.builder("service").parameter("size", "10").collaborator("clock", CLOCK).build();
+        final ServiceDescriptor other = ServiceDescriptor.builder("service").parameter("size", "10").collaborator("clock", ServiceDescriptor.notParameterized("clock")).build();
+        Assert.assertEquals(one, other);
+        Assert.assertEquals(one.hashCode(), other.hashCode());
+    }
+
+    @Test
+    public void descriptorsWithDifferentNamesAreNotEqual() {
+        Assert.assertNotEquals(ServiceDescriptor.notParameterized("one"), ServiceDescriptor.notParameterized("other"));
+    }
+
+    @Test
+    public void descriptorsWithDifferentConfigurationsAreNotEqual() {
+        final ServiceDescriptor one = ServiceDescriptor.builder("service").parameter("size", "10").build();
+        final ServiceDescriptor other = ServiceDescriptor.builder("service").parameter("size", "20").build();
+        Assert.assertNotEquals(one, other);
+    }
+
+    @Test
+    public void descriptorsWithDifferentCollaboratorsAreNotEqual() {
+        final ServiceDescriptor one = ServiceDescriptor.builder("service").collaborator("clock", CLOCK).build();
+        final ServiceDescriptor other = ServiceDescriptor.builder("service").collaborator("clock", ServiceDescriptor.notParameterized("other clock")).build();
+        Assert.assertNotEquals(one, other);
+    }
+
+    @Test
+    public void descriptorsWithDifferentScopesAreNotEqual() {
+        final ServiceDescriptor one = ServiceDescriptor.builder("service").build();
+        final ServiceDescriptor other = ServiceDescriptor.builder("service").scope(Scope.SINGLETON).build();
+        Assert.assertNotEquals(one, other);
+    }
+
+    @Test
+    public void laterChangesToTheGivenMapsDoNotAffectTheDescriptor() {
+        final List<String> values = new ArrayList<>(Arrays.asList("a", "b"));
+        final Map<String, List<String>> configuration = new HashMap<>();
+        configuration.put("values", values);
+        configuration.put("other", Collections.singletonList("c"));
+        final ServiceDescriptor descriptor = new ServiceDescriptor("service", configuration, Collections.emptyMap());
+        final int hash = descriptor.hashCode();
+        values.add("d");
+        configuration.clear();
+        Assert.assertEquals(Arrays.asList("a", "b"), descriptor.configuration.get("values"));
+        Assert.assertEquals(hash, descriptor.hashCode());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void theConfigurationCannotBeModified() {
+        final ServiceDescriptor descriptor = ServiceDescriptor.builder("service").parameter("values", "a", "b").parameter("other", "c").build();
+        descriptor.configuration.get("values").add("d");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void theCollaboratorsCannotBeModified() {
+        final ServiceDescriptor descriptor = ServiceDescriptor.builder("service").collaborator("clocks", CLOCK, CLOCK).build();
+        descriptor.collaborators.put("other", Collections.emptyList());
+    }
+}
@@ -23,6 +23,59 @@ public class ServiceGenerationExceptionTest {
         Assert.assertEquals(Arrays.asList(innerServiceFactory, outerServiceFactory), exception.serviceGenerationStack());
     }
 
+    @Test
+    public void lightweightWrappersAccumulateTheServiceFactoriesInTheInnermostException() {
+        final ServiceFactory<?> innerServiceFactory = new DummyServiceFactory();
+        final ServiceFactory<?> middleServiceFactory = new DummyServiceFactory();
+        final ServiceFactory<?> outerServiceFactory = new DummyServiceFactory();
+        final ServiceGenerationException inner = ServiceGenerationException.wrap(innerServiceFactory, new IllegalStateException("failure"), true);
+        final ServiceGenerationException outer = ServiceGenerationException.wrap(outerServiceFactory, ServiceGenerationException.wrap(middleServiceFactory, inner, true), true);
+        Assert.assertSame(inner, outer);
+        Assert.assertEquals(Arrays.asList(innerServiceFactory, middleServiceFactory, outerServiceFactory), outer.serviceGenerationStack());
+        Assert.assertEquals("failure", outer.getMessage());
+    }
+
+    @Test
+    public void lightweightWrappersDoNotFillInTheStackTrace() {
+        final Throwable cause = new IllegalStateException("failure");
+        final ServiceGenerationException exception = ServiceGenerationException.wrap(new DummyServiceFactory(), cause, true);
+        Assert.assertEquals(0, exception.getStackTrace().length);
+        Assert.assertSame(cause, exception.getCause());
+    }
+
+    @Test
+    public void defaultWrappersChainANewExceptionWithAStackTraceForEveryServiceFactory() {
+        final ServiceGenerationException inner = ServiceGenerationException.wrap(new DummyServiceFactory(), new IllegalStateException("failure"), false);
+        final ServiceGenerationException outer = ServiceGenerationException.wrap(new DummyServiceFactory(), inner, false);
+        Assert.assertSame(inner, outer.getCause());
+        Assert.assertNotEquals(0, outer.getStackTrace().length);
+    }
+
+    @Test
+    public void sharedExceptionsAreNotModifiedWhenWrappedAgain() {
+        final ServiceFactory<?> innerServiceFactory = new DummyServiceFactory();
+        final ServiceFactory<?> outerServiceFactory = new DummyServiceFactory();
+        final ServiceGenerationException inner = ServiceGenerationException.shared(ServiceGenerationException.wrap(innerServiceFactory, new IllegalStateException("failure"), true));
+        final ServiceGenerationException outer = ServiceGenerationException.wrap(outerServiceFactory, inner, true);
+        Assert.assertNotSame(inner, outer);
+        Assert.assertEquals(Collections.singletonList(innerServiceFactory), inner.serviceGenerationStack());
+        Assert.assertEquals(Arrays.asList(innerServiceFactory, outerServiceFactory), outer.serviceGenerationStack());
+    }
+
+    @Test
+    public void exceptionsCreatedOnAnotherThreadAreNotModifiedWhenWrapped() throws InterruptedException {
+        final ServiceFactory<?> innerServiceFactory = new DummyServiceFactory();
+        final ServiceGenerationException[] inner = new ServiceGenerationException[1];
+        final Thread thread = new Thread(() -> inner[0] = ServiceGenerationException.wrap(innerServiceFactory, new IllegalStateException("failure"), true));
+        thread.start();
+        thread.join();
+        final ServiceFactory<?> outerServiceFactory = new DummyServiceFactory();
+        final ServiceGenerationException outer = ServiceGenerationException.wrap(outerServiceFactory, inner[0], true);
+        Assert.assertNotSame(inner[0], outer);
+        Assert.assertEquals(Collections.singletonList(innerServiceFactory), inner[0].serviceGenerationStack());
+        Assert.assertEquals(Arrays.asList(innerServiceFactory, outerServiceFactory), outer.serviceGenerationStack());
+    }
+
     private static class DummyServiceFactory implements ServiceFactory {
 
         @Override
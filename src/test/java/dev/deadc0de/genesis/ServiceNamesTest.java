@@ -0,0 +1,80 @@
+package dev.deadc0de.genesis;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceNamesTest {
+
+    @Test
+    public void namesThatWereNeverInternedAreUnknown() {
+        Assert.assertEquals(ServiceNames.UNKNOWN, new ServiceNames().find("never-interned-service"));
+    }
+
+    @Test
+    public void internedNamesKeepTheirId() {
+        final ServiceNames serviceNames = new ServiceNames();
+        final int id = serviceNames.intern("interned-service");
+        Assert.assertTrue(id > 0);
+        Assert.assertEquals(id, serviceNames.intern(new String("interned-service")));
+        Assert.assertEquals(id, serviceNames.find("interned-service"));
+    }
+
+    @Test
+    public void eachTableNumbersItsOwnNamesDensely() {
+        final ServiceNames first = new ServiceNames();
+        final ServiceNames second = new ServiceNames();
+        Assert.assertEquals(1, first.intern("first-service"));
+        Assert.assertEquals(2, first.intern("second-service"));
+        Assert.assertEquals(1, second.intern("second-service"));
+        Assert.assertEquals(ServiceNames.UNKNOWN, second.find("first-service"));
+    }
+
+    @Test
+    public void descriptorsCacheTheIdOfTheirName() {
+        final ServiceNames serviceNames = new ServiceNames();
+        final int id = serviceNames.intern("described-service");
+        final ServiceDescriptor serviceDescriptor = ServiceDescriptor.notParameterized("described-service");
+        Assert.assertEquals(id, serviceNames.find(serviceDescriptor));
+        final ServiceNames.Id cached = serviceDescriptor.nameId;
+        Assert.assertNotNull(cached);
+        Assert.assertEquals(id, serviceNames.find(serviceDescriptor));
+        Assert.assertSame(cached, serviceDescriptor.nameId);
+    }
+
+    @Test
+    public void idsCachedByAnotherTableAreNotReused() {
+        final ServiceNames first = new ServiceNames();
+        final ServiceNames second = new ServiceNames();
+        first.intern("other-service");
+        final ServiceDescriptor serviceDescriptor = ServiceDescriptor.notParameterized("shared-service");
+        Assert.assertEquals(2, first.intern("shared-service"));
+        Assert.assertEquals(2, first.find(serviceDescriptor));
+        Assert.assertEquals(ServiceNames.UNKNOWN, second.find(serviceDescriptor));
+        Assert.assertEquals(1, second.intern("shared-service"));
+        Assert.assertEquals(1, second.find(serviceDescriptor));
+        Assert.assertEquals(2, first.find(serviceDescriptor));
+    }
+
+    @Test
+    public void unknownNamesAreNotCachedOnTheDescriptor() {
+        final ServiceNames serviceNames = new ServiceNames();
+        final ServiceDescriptor serviceDescriptor = ServiceDescriptor.notParameterized("late-service");
+        Assert.assertEquals(ServiceNames.UNKNOWN, serviceNames.find(serviceDescriptor));
+        final int id = serviceNames.intern("late-service");
+        Assert.assertEquals(id, serviceNames.find(serviceDescriptor));
+    }
+
+    @Test
+    public void concurrentlyInternedNamesGetDistinctIds() {
+        final ServiceNames serviceNames = new ServiceNames();
+        final Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 10000).parallel().forEach(index -> ids.add(serviceNames.intern("concurrent-service" + index)));
+        Assert.assertEquals(10000, ids.size());
+        Assert.assertEquals(10000, Collections.max(ids).intValue());
+        IntStream.range(0, 10000).parallel().forEach(index -> Assert.assertTrue(ids.contains(serviceNames.find("concurrent-service" + index))));
+    }
+}
@@ -0,0 +1,116 @@
+package dev.deadc0de.genesis;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceTypeLatticeTest {
+
+    private static final List<Class<?>> TYPES = Arrays.asList(
+            Object.class, Number.class, Integer.class, Double.class, Long.class, Comparable.class, Serializable.class,
+            CharSequence.class, String.class, StringBuilder.class, Appendable.class, Cloneable.class, Runnable.class, Thread.class,
+            Float.class, Short.class, Byte.class, Boolean.class, Character.class, StringBuffer.class, ArrayList.class, LinkedList.class,
+            AbstractList.class, List.class, Collection.class, Iterable.class, RandomAccess.class, Deque.class,
+            Object[].class, Number[].class, Integer[].class, String[].class, CharSequence[].class, int[].class, int.class);
+
+    @Test
+    public void aSingleTypeIsTheWidestSubtypeOfItsSupertypes() {
+        final ServiceTypeLattice lattice = new ServiceTypeLattice(Collections.singleton(Integer.class));
+        Assert.assertEquals(Collections.singletonList(Integer.class), lattice.widestSubtypes(Number.class));
+        Assert.assertEquals(Collections.emptyList(), lattice.widestSubtypes(Double.class));
+    }
+
+    @Test
+    public void theMostDerivedTypeOfAChainIsSelected() {
+        final ServiceTypeLattice lattice = new ServiceTypeLattice(types(Object.class, Number.class, Integer.class));
+        Assert.assertEquals(Collections.singletonList(Integer.class), lattice.widestSubtypes(Object.class));
+        Assert.assertEquals(Collections.singletonList(Integer.class), lattice.widestSubtypes(Number.class));
+        Assert.assertEquals(Collections.singletonList(Integer.class), lattice.widestSubtypes(Comparable.class));
+    }
+
+    @Test
+    public void unrelatedSubtypesOfTheRequestedTypeAreAllReturned() {
+        final ServiceTypeLattice lattice = new ServiceTypeLattice(types(Number.class, Integer.class, Double.class));
+        Assert.assertEquals(Arrays.asList(Double.class, Integer.class), lattice.widestSubtypes(Number.class));
+        Assert.assertEquals(Collections.singletonList(Integer.class), lattice.widestSubtypes(Integer.class));
+    }
+
+    @Test
+    public void arrayTypesAreSelectedCovariantly() {
+        final ServiceTypeLattice lattice = new ServiceTypeLattice(types(Object[].class, String[].class, Integer.class));
+        Assert.assertEquals(Collections.singletonList(String[].class), lattice.widestSubtypes(Object[].class));
+        Assert.assertEquals(Collections.singletonList(String[].class), lattice.widestSubtypes(CharSequence[].class));
+        Assert.assertEquals(Collections.singletonList(String[].class), lattice.widestSubtypes(Cloneable.class));
+        Assert.assertEquals(Arrays.asList(String[].class, Integer.class), lattice.widestSubtypes(Object.class));
+    }
+
+    @Test
+    public void manyUnrelatedTypesAreSelectedThroughTheirSupertypes() {
+        final ServiceTypeLattice lattice = new ServiceTypeLattice(types(Integer.class, Long.class, Double.class, Float.class, Short.class, Byte.class, String.class, StringBuilder.class, Thread.class, Boolean.class));
+        Assert.assertEquals(Arrays.asList(Byte.class, Double.class, Float.class, Integer.class, Long.class, Short.class), lattice.widestSubtypes(Number.class));
+        Assert.assertEquals(Arrays.asList(String.class, StringBuilder.class), lattice.widestSubtypes(CharSequence.class));
+        Assert.assertEquals(Collections.singletonList(Thread.class), lattice.widestSubtypes(Runnable.class));
+        Assert.assertEquals(Collections.singletonList(Integer.class), lattice.widestSubtypes(Integer.class));
+        Assert.assertEquals(Collections.emptyList(), lattice.widestSubtypes(List.class));
+    }
+
+    @Test
+    public void primitiveTypesOnlyMatchThemselves() {
+        final ServiceTypeLattice lattice = new ServiceTypeLattice(types(int.class, Integer.class));
+        Assert.assertEquals(Collections.singletonList(int.class), lattice.widestSubtypes(int.class));
+        Assert.assertEquals(Collections.singletonList(Integer.class), lattice.widestSubtypes(Object.class));
+    }
+
+    @Test
+    public void registeredTypesShadowedByUnrelatedSubtypesAreReportedAsAmbiguities() {
+        final ServiceTypeLattice lattice = new ServiceTypeLattice(types(Number.class, Integer.class, Double.class, String.class));
+        Assert.assertEquals(Collections.singletonList("service numbers of type java.lang.Number is shadowed by multiple service factory types: [java.lang.Double,java.lang.Integer]"), lattice.ambiguities("numbers"));
+    }
+
+    @Test
+    public void selectsTheSameTypesAsThePairwiseComparisonOfEveryRegisteredType() {
+        final Random random = new Random(7);
+        for (int attempt = 0; attempt != 500; ++attempt) {
+            final List<Class<?>> registered = new ArrayList<>();
+            for (Class<?> type : TYPES) {
+                if (random.nextBoolean()) {
+                    registered.add(type);
+                }
+            }
+            if (registered.isEmpty()) {
+                continue;
+            }
+            final ServiceTypeLattice lattice = new ServiceTypeLattice(new HashSet<>(registered));
+            for (Class<?> requested : TYPES) {
+                Assert.assertEquals(registered + " as " + requested, pairwiseWidestSubtypes(registered, requested), new HashSet<>(lattice.widestSubtypes(requested)));
+            }
+        }
+    }
+
+    private static Set<Class<?>> types(Class<?>... types) {
+        return new HashSet<>(Arrays.asList(types));
+    }
+
+    private static Set<Class<?>> pairwiseWidestSubtypes(List<Class<?>> registered, Class<?> requested) {
+        final Set<Class<?>> widest = new HashSet<>();
+        registered.stream().filter(requested::isAssignableFrom).forEach(type -> {
+            widest.removeIf(supertype -> supertype.isAssignableFrom(type));
+            if (widest.stream().noneMatch(type::isAssignableFrom)) {
+                widest.add(type);
+            }
+        });
+        return widest;
+    }
+}
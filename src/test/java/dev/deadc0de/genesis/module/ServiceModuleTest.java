@@ -1,6 +1,18 @@
 package dev.deadc0de.genesis.module;
 
+import dev.deadc0de.genesis.GenerationContext;
+import dev.deadc0de.genesis.ServiceDescriptor;
 import dev.deadc0de.genesis.ServiceFactory;
+import dev.deadc0de.genesis.ServiceGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.Assert;
 import org.junit.Test;
@@ -25,6 +37,137 @@ public class ServiceModuleTest {
         Assert.assertEquals(0, assembledFactories.count());
     }
 
+    @Test
+    public void reflectivelyAssembledModulesOfTheSameClassShareTheirMetadata() {
+        final ServiceFactory first = ServiceModule.assembleModuleReflectively(new ModuleWithState("first")).findFirst().get();
+        final ServiceFactory second = ServiceModule.assembleModuleReflectively(new ModuleWithState("second")).findFirst().get();
+        Assert.assertSame(first.parameters(), second.parameters());
+        Assert.assertSame(first.roles(), second.roles());
+    }
+
+    @Test
+    public void reflectivelyAssembledFactoriesInvokeTheirOwnModuleInstance() {
+        final ServiceDescriptor serviceDescriptor = ServiceDescriptor.notParameterized("state");
+        final ServiceFactory first = ServiceModule.assembleModuleReflectively(new ModuleWithState("first")).findFirst().get();
+        final ServiceFactory second = ServiceModule.assembleModuleReflectively(new ModuleWithState("second")).findFirst().get();
+        Assert.assertEquals("first!", first.create(new DummyServiceGenerator(), serviceDescriptor));
+        Assert.assertEquals("second!", second.create(new DummyServiceGenerator(), serviceDescriptor));
+    }
+
+    @Test
+    public void cyclesBrokenBySuppliedRolesPassValidation() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new ModuleWithLazyCycle()));
+        Assert.assertEquals(Collections.emptyList(), context.validate(String.class, ServiceDescriptor.notParameterized("a")));
+        Assert.assertEquals("a", context.generate(String.class, ServiceDescriptor.notParameterized("a")));
+    }
+
+    @Test
+    public void repeatedGenerationsOfTheSameDescriptorConvertItsParametersOnce() {
+        final ServiceDescriptor serviceDescriptor = ServiceDescriptor.builder("amount").parameter("amount", "1.5").build();
+        final ServiceFactory factory = ServiceModule.assembleModule(new ModuleWithConvertedParameter()).findFirst().get();
+        final Object first = new GenerationContext(Stream.of(factory)).generate(BigDecimal.class, serviceDescriptor);
+        Assert.assertSame(first, new GenerationContext(Stream.of(factory)).generate(BigDecimal.class, serviceDescriptor));
+    }
+
+    @Test
+    public void assembledModulesDoNotPinTheClassLoaderOfTheirClass() throws Exception {
+        final WeakReference<ClassLoader> classLoader = assembleRedeployedModule();
+        for (int attempt = 0; attempt != 50 && classLoader.get() != null; ++attempt) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(classLoader.get());
+    }
+
+    private static WeakReference<ClassLoader> assembleRedeployedModule() throws Exception {
+        final ClassLoader classLoader = new RedeployingClassLoader(RedeployableModule.class.getName());
+        final Object module = classLoader.loadClass(RedeployableModule.class.getName()).getDeclaredConstructor().newInstance();
+        Assert.assertSame(classLoader, module.getClass().getClassLoader());
+        final List<ServiceFactory> factories = ServiceModule.assembleModule(module).collect(Collectors.toList());
+        Assert.assertEquals("redeployed!", factories.get(0).create(new DummyServiceGenerator(), ServiceDescriptor.notParameterized("redeployed")));
+        return new WeakReference<>(classLoader);
+    }
+
+    public static class RedeployableModule {
+
+        public String redeployed(@Parameter("suffix") @Default("!") String suffix) {
+            return "redeployed" + suffix;
+        }
+    }
+
+    private static class RedeployingClassLoader extends ClassLoader {
+
+        private final String redeployedClassName;
+
+        public RedeployingClassLoader(String redeployedClassName) {
+            super(ServiceModuleTest.class.getClassLoader());
+            this.redeployedClassName = redeployedClassName;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(redeployedClassName)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                final Class<?> loaded = findLoadedClass(name);
+                return loaded != null ? loaded : defineRedeployedClass(name);
+            }
+        }
+
+        private Class<?> defineRedeployedClass(String name) throws ClassNotFoundException {
+            try (InputStream classFile = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[4096];
+                for (int read = classFile.read(buffer); read != -1; read = classFile.read(buffer)) {
+                    bytes.write(buffer, 0, read);
+                }
+                return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+            } catch (IOException exception) {
+                throw new ClassNotFoundException(name, exception);
+            }
+        }
+    }
+
+    private static class DummyServiceGenerator implements ServiceGenerator {
+
+        @Override
+        public <T> T generate(Class<T> serviceType, ServiceDescriptor serviceDescriptor) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static class ModuleWithState {
+
+        private final String state;
+
+        public ModuleWithState(String state) {
+            this.state = state;
+        }
+
+        public String state(@Parameter("suffix") @Default("!") String suffix) {
+            return state + suffix;
+        }
+    }
+
+    public static class ModuleWithConvertedParameter {
+
+        public BigDecimal amount(@Parameter("amount") BigDecimal amount) {
+            return amount;
+        }
+    }
+
+    public static class ModuleWithLazyCycle {
+
+        public String a(@Role("b") @Default("b") Supplier<Integer> b) {
+            return "a";
+        }
+
+        public Integer b(@Role("a") @Default("a") String a) {
+            return 1;
+        }
+    }
+
     private static class ModuleWithPublicStaticMethod {
 
         public static void nothing() {
@@ -0,0 +1,151 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.GenerationContext;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceFactory;
+import dev.deadc0de.genesis.ServiceGenerationException;
+import dev.deadc0de.genesis.module.Role;
+import dev.deadc0de.genesis.module.ServiceModule;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsyncMethodBackedServiceFactoryTest {
+
+    private static final ServiceDescriptor DECORATED_PENDING = ServiceDescriptor.builder("decorated")
+            .collaborator("value", ServiceDescriptor.notParameterized("pending"))
+            .build();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateAnAsyncFactoryForMethodsNotReturningAFuture() throws NoSuchMethodException {
+        final Method method = AsyncModule.class.getDeclaredMethod("blocking");
+        final AsyncMethodBackedServiceFactory notCreated = new AsyncMethodBackedServiceFactory(new AsyncModule(), method, new DispatchingArgumentResolverFactory(ParameterResolver::new, RoleResolver::new));
+    }
+
+    @Test
+    public void factoryServiceTypeIsTheFutureValueType() throws NoSuchMethodException {
+        final Method method = AsyncModule.class.getDeclaredMethod("pending");
+        final AsyncMethodBackedServiceFactory factory = new AsyncMethodBackedServiceFactory(new AsyncModule(), method, new DispatchingArgumentResolverFactory(ParameterResolver::new, RoleResolver::new));
+        Assert.assertEquals(String.class, factory.serviceType());
+    }
+
+    @Test
+    public void modulesAssembleAsyncFactoriesForMethodsReturningAFuture() {
+        Assert.assertTrue(ServiceModule.assembleModule(new AsyncModule())
+                .filter(factory -> factory.serviceName().equals("pending"))
+                .allMatch(factory -> factory instanceof AsyncMethodBackedServiceFactory));
+    }
+
+    @Test
+    public void collaboratorFuturesAreComposedWithoutBlocking() {
+        final AsyncModule module = new AsyncModule();
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(module));
+        final CompletableFuture<String> decorated = context.generateAsync(String.class, DECORATED_PENDING);
+        Assert.assertFalse(decorated.isDone());
+        module.pending.complete("value");
+        Assert.assertEquals("value!", decorated.join());
+    }
+
+    @Test
+    public void synchronousGenerationWaitsForTheFuture() {
+        final AsyncModule module = new AsyncModule();
+        module.pending.complete("value");
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(module));
+        Assert.assertEquals("value!", context.generate(String.class, DECORATED_PENDING));
+        Assert.assertEquals("value!", context.plan(String.class, DECORATED_PENDING).generate());
+    }
+
+    @Test
+    public void arrayCollaboratorsKeepTheDescriptorOrder() {
+        final AsyncModule module = new AsyncModule();
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(module));
+        final ServiceDescriptor joined = ServiceDescriptor.builder("joined")
+                .collaborator("values", ServiceDescriptor.notParameterized("pending"), ServiceDescriptor.notParameterized("completed"))
+                .build();
+        final CompletableFuture<List> values = context.generateAsync(List.class, joined);
+        module.pending.complete("pending");
+        Assert.assertEquals(Arrays.asList("pending", "completed"), values.join());
+    }
+
+    @Test
+    public void failuresCarryTheServiceGenerationStack() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new AsyncModule()));
+        final ServiceDescriptor decoratedFailing = ServiceDescriptor.builder("decorated")
+                .collaborator("value", ServiceDescriptor.notParameterized("failing"))
+                .build();
+        try {
+            context.generateAsync(String.class, decoratedFailing).join();
+            Assert.fail("expected CompletionException");
+        } catch (CompletionException exception) {
+            final List<ServiceFactory<?>> stack = ((ServiceGenerationException) exception.getCause()).serviceGenerationStack();
+            Assert.assertEquals(Arrays.asList("failing", "decorated"), Arrays.asList(stack.get(0).serviceName(), stack.get(1).serviceName()));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void collaboratorsFollowingAFailedOneAreCancelled() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new AsyncModule()));
+        final ServiceDescriptor pair = ServiceDescriptor.builder("pair")
+                .collaborator("first", ServiceDescriptor.notParameterized("failing"))
+                .collaborator("second", ServiceDescriptor.notParameterized("pending"))
+                .build();
+        try {
+            context.generateAsync(String.class, pair).join();
+            Assert.fail("expected CompletionException");
+        } catch (CompletionException exception) {
+            final List<ServiceFactory<?>> stack = ((ServiceGenerationException) exception.getCause()).serviceGenerationStack();
+            Assert.assertEquals("failing", stack.get(0).serviceName());
+        }
+    }
+
+    @Test
+    public void missingCollaboratorsAreReportedAsServiceGenerationExceptions() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new AsyncModule()));
+        final CompletableFuture<String> decorated = context.generateAsync(String.class, ServiceDescriptor.notParameterized("decorated"));
+        try {
+            decorated.join();
+            Assert.fail("expected CompletionException");
+        } catch (CompletionException exception) {
+            Assert.assertTrue(exception.getCause() instanceof ServiceGenerationException);
+        }
+    }
+
+    public static class AsyncModule implements ServiceModule {
+
+        private final CompletableFuture<String> pending = new CompletableFuture<>();
+
+        public CompletableFuture<String> pending() {
+            return pending;
+        }
+
+        public CompletableFuture<String> completed() {
+            return CompletableFuture.completedFuture("completed");
+        }
+
+        public CompletableFuture<String> decorated(@Role("value") String value) {
+            return CompletableFuture.completedFuture(value + "!");
+        }
+
+        public CompletableFuture<String> pair(@Role("first") String first, @Role("second") String second) {
+            return CompletableFuture.completedFuture(first + second);
+        }
+
+        public CompletableFuture<List> joined(@Role("values") String[] values) {
+            return CompletableFuture.completedFuture(Arrays.asList(values));
+        }
+
+        public CompletableFuture<String> failing() {
+            final CompletableFuture<String> failing = new CompletableFuture<>();
+            failing.completeExceptionally(new UnsupportedOperationException("failing"));
+            return failing;
+        }
+
+        public String blocking() {
+            return "blocking";
+        }
+    }
+}
@@ -6,6 +6,7 @@ import dev.deadc0de.genesis.module.Parameter;
 import dev.deadc0de.genesis.module.Role;
 import java.lang.reflect.Method;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -69,6 +70,21 @@ public class DispatchingArgumentResolverFactoryTest {
         Assert.assertEquals(roleResolver, argumentResolverFactory.createArgumentResolver(method.getParameters()[0]));
     }
 
+    @Test
+    public void whenMethodParameterIsAnnotatedWithRoleAndIsASupplierThenTheArgumentResolverCreatedByTheLazyRoleResolverFactoryIsReturned() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("lazyRoleType", Supplier.class);
+        final BiFunction<ServiceGenerator, ServiceDescriptor, Object> lazyRoleResolver = (serviceGenerator, serviceDescriptor) -> new Object();
+        final ArgumentResolverFactory argumentResolverFactory = new DispatchingArgumentResolverFactory(new DummyArgumentResolverFactory(), new DummyArgumentResolverFactory(), new StubArgumentResolverFactory(lazyRoleResolver));
+        Assert.assertEquals(lazyRoleResolver, argumentResolverFactory.createArgumentResolver(method.getParameters()[0]));
+    }
+
+    @Test
+    public void lazyRolesAreResolvedByLazyRoleResolversByDefault() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("lazyRoleType", Supplier.class);
+        final ArgumentResolverFactory argumentResolverFactory = new DispatchingArgumentResolverFactory(new DummyArgumentResolverFactory(), new DummyArgumentResolverFactory());
+        Assert.assertTrue(argumentResolverFactory.createArgumentResolver(method.getParameters()[0]) instanceof LazyRoleResolver);
+    }
+
     private static class TestModule {
 
         public void unknownType(Object unknownType) {
@@ -85,6 +101,9 @@ public class DispatchingArgumentResolverFactoryTest {
 
         public void roleType(@Role("role") Object collaborator) {
         }
+
+        public void lazyRoleType(@Role("role") Supplier<Object> collaborator) {
+        }
     }
 
     private static class DummyServiceGenerator implements ServiceGenerator {
@@ -0,0 +1,320 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.GenerationPlanner;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+import dev.deadc0de.genesis.module.Default;
+import dev.deadc0de.genesis.module.Lazy;
+import dev.deadc0de.genesis.module.Role;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LazyProxyResolverTest {
+
+    private static final String ROLE_NAME = "role";
+    private static final ServiceDescriptor SERVICE_DESCRIPTOR = new ServiceDescriptor(
+            "service",
+            Collections.emptyMap(),
+            Collections.singletonMap(ROLE_NAME, Collections.singletonList(ServiceDescriptor.notParameterized("collaborator"))));
+    private static final ServiceDescriptor SERVICE_DESCRIPTOR_WITH_MULTIPLE_COLLABORATORS = new ServiceDescriptor(
+            "service",
+            Collections.emptyMap(),
+            Collections.singletonMap(ROLE_NAME, Arrays.asList(ServiceDescriptor.notParameterized("first"), ServiceDescriptor.notParameterized("second"))));
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateLazyProxyResolverWhenTheMethodParameterIsNotAnnotatedWithLazy() throws NoSuchMethodException {
+        final LazyProxyResolver notCreated = new LazyProxyResolver(parameter("notLazy", Collaborator.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateLazyProxyResolverWhenTheMethodParameterTypeIsNotAnInterface() throws NoSuchMethodException {
+        final LazyProxyResolver notCreated = new LazyProxyResolver(parameter("notAnInterface", Object.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateLazyProxyResolverWhenTheMethodParameterTypeIsNotPublic() throws NoSuchMethodException {
+        final LazyProxyResolver notCreated = new LazyProxyResolver(parameter("notPublic", HiddenCollaborator.class));
+    }
+
+    @Test
+    public void theProxyIsAGeneratedClassImplementingTheInterface() throws NoSuchMethodException {
+        final Object proxy = new LazyProxyResolver(parameter("lazy", Collaborator.class)).apply(new CountingServiceGenerator(), SERVICE_DESCRIPTOR);
+        Assert.assertTrue(proxy instanceof Collaborator);
+        Assert.assertFalse(Proxy.isProxyClass(proxy.getClass()));
+    }
+
+    @Test
+    public void theServiceGeneratorIsNotCalledUntilAMethodIsInvoked() throws NoSuchMethodException {
+        final CountingServiceGenerator serviceGenerator = new CountingServiceGenerator();
+        final Collaborator proxy = (Collaborator) new LazyProxyResolver(parameter("lazy", Collaborator.class)).apply(serviceGenerator, SERVICE_DESCRIPTOR);
+        Assert.assertEquals(0, serviceGenerator.calls.get());
+        Assert.assertEquals("collaborator", proxy.name());
+        Assert.assertEquals(Collaborator.class, serviceGenerator.capturedServiceType);
+    }
+
+    @Test
+    public void theCollaboratorIsGeneratedOnlyOnce() throws NoSuchMethodException {
+        final CountingServiceGenerator serviceGenerator = new CountingServiceGenerator();
+        final Collaborator proxy = (Collaborator) new LazyProxyResolver(parameter("lazy", Collaborator.class)).apply(serviceGenerator, SERVICE_DESCRIPTOR);
+        proxy.name();
+        proxy.name();
+        proxy.add(1, 2L);
+        Assert.assertEquals(1, serviceGenerator.calls.get());
+    }
+
+    @Test
+    public void primitiveAndWideArgumentsAndResultsAreDelegated() throws NoSuchMethodException {
+        final Collaborator proxy = (Collaborator) new LazyProxyResolver(parameter("lazy", Collaborator.class)).apply(new CountingServiceGenerator(), SERVICE_DESCRIPTOR);
+        Assert.assertEquals(3L, proxy.add(1, 2L));
+        Assert.assertEquals(2.5d, proxy.scale(1.25d, 2f), 0d);
+        Assert.assertTrue(proxy.test(true, 'x', (byte) 1, (short) 2));
+        Assert.assertArrayEquals(new String[]{"b", "a"}, proxy.reverse(new String[]{"a", "b"}));
+    }
+
+    @Test
+    public void defaultMethodsAreDelegatedToTheCollaborator() throws NoSuchMethodException {
+        final Collaborator proxy = (Collaborator) new LazyProxyResolver(parameter("lazy", Collaborator.class)).apply(new CountingServiceGenerator(), SERVICE_DESCRIPTOR);
+        Assert.assertEquals("overridden", proxy.greeting());
+    }
+
+    @Test
+    public void objectMethodsAreDelegatedToTheCollaborator() throws NoSuchMethodException {
+        final Collaborator proxy = (Collaborator) new LazyProxyResolver(parameter("lazy", Collaborator.class)).apply(new CountingServiceGenerator(), SERVICE_DESCRIPTOR);
+        Assert.assertEquals("TestCollaborator(collaborator)", proxy.toString());
+        Assert.assertEquals("collaborator".hashCode(), proxy.hashCode());
+        Assert.assertTrue(proxy.equals(new TestCollaborator("collaborator")));
+    }
+
+    @Test(expected = IOException.class)
+    public void checkedExceptionsArePropagatedUnchanged() throws Exception {
+        final Collaborator proxy = (Collaborator) new LazyProxyResolver(parameter("lazy", Collaborator.class)).apply(new CountingServiceGenerator(), SERVICE_DESCRIPTOR);
+        proxy.fail();
+    }
+
+    @Test
+    public void generationFailuresArePropagatedAndRetriedOnTheNextInvocation() throws NoSuchMethodException {
+        final FailingOnceServiceGenerator serviceGenerator = new FailingOnceServiceGenerator();
+        final Collaborator proxy = (Collaborator) new LazyProxyResolver(parameter("lazy", Collaborator.class)).apply(serviceGenerator, SERVICE_DESCRIPTOR);
+        try {
+            proxy.name();
+            Assert.fail("expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+        }
+        Assert.assertEquals("collaborator", proxy.name());
+    }
+
+    @Test
+    public void theCollaboratorIsGeneratedOnlyOnceWhenInvokedConcurrently() throws Exception {
+        final CountingServiceGenerator serviceGenerator = new CountingServiceGenerator();
+        final Collaborator proxy = (Collaborator) new LazyProxyResolver(parameter("lazy", Collaborator.class)).apply(serviceGenerator, SERVICE_DESCRIPTOR);
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<String>> results = new ArrayList<>();
+            for (int thread = 0; thread != threads; ++thread) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return proxy.name();
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                Assert.assertEquals("collaborator", result.get());
+            }
+            Assert.assertEquals(1, serviceGenerator.calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void anArrayOfProxiesIsReturnedForEachCollaborator() throws NoSuchMethodException {
+        final CountingServiceGenerator serviceGenerator = new CountingServiceGenerator();
+        final Object argument = new LazyProxyResolver(parameter("lazyArray", Collaborator[].class)).apply(serviceGenerator, SERVICE_DESCRIPTOR_WITH_MULTIPLE_COLLABORATORS);
+        Assert.assertEquals(Collaborator[].class, argument.getClass());
+        final Collaborator[] proxies = (Collaborator[]) argument;
+        Assert.assertEquals("second", proxies[1].name());
+        Assert.assertEquals(1, serviceGenerator.calls.get());
+    }
+
+    @Test
+    public void interfacesOfTheBootstrapClassLoaderCanBeProxied() {
+        final LazyProxyResolver resolver = new LazyProxyResolver(ROLE_NAME, CharSequence.class, Optional.empty());
+        final CharSequence proxy = (CharSequence) resolver.apply(new StubServiceGenerator("abc"), SERVICE_DESCRIPTOR);
+        Assert.assertEquals(3, proxy.length());
+        Assert.assertEquals('b', proxy.charAt(1));
+    }
+
+    @Test
+    public void compiledProxiesDoNotPlanTheirCollaborators() throws NoSuchMethodException {
+        final GenerationPlanner generationPlanner = (serviceType, serviceDescriptor) -> {
+            throw new AssertionError("lazy collaborators must not be planned");
+        };
+        final CountingServiceGenerator serviceGenerator = new CountingServiceGenerator();
+        final Collaborator proxy = (Collaborator) new LazyProxyResolver(parameter("lazyWithDefaultValue", Collaborator.class)).compile(generationPlanner, ServiceDescriptor.notParameterized("service")).resolve(serviceGenerator, new Object[0]);
+        Assert.assertEquals(0, serviceGenerator.calls.get());
+        Assert.assertEquals("default", proxy.name());
+    }
+
+    private static java.lang.reflect.Parameter parameter(String methodName, Class<?> parameterType) throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod(methodName, parameterType);
+        return method.getParameters()[0];
+    }
+
+    public interface Collaborator {
+
+        String name();
+
+        long add(int first, long second);
+
+        double scale(double value, float factor);
+
+        boolean test(boolean flag, char character, byte small, short medium);
+
+        String[] reverse(String[] values);
+
+        void fail() throws IOException;
+
+        default String greeting() {
+            return "default";
+        }
+    }
+
+    interface HiddenCollaborator {
+    }
+
+    private static class TestCollaborator implements Collaborator {
+
+        private final String name;
+
+        public TestCollaborator(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public long add(int first, long second) {
+            return first + second;
+        }
+
+        @Override
+        public double scale(double value, float factor) {
+            return value * factor;
+        }
+
+        @Override
+        public boolean test(boolean flag, char character, byte small, short medium) {
+            return flag && character == 'x' && small == 1 && medium == 2;
+        }
+
+        @Override
+        public String[] reverse(String[] values) {
+            return new String[]{values[1], values[0]};
+        }
+
+        @Override
+        public void fail() throws IOException {
+            throw new IOException("failing");
+        }
+
+        @Override
+        public String greeting() {
+            return "overridden";
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TestCollaborator && ((TestCollaborator) obj).name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "TestCollaborator(" + name + ")";
+        }
+    }
+
+    private static class TestModule {
+
+        public void lazy(@Role(ROLE_NAME) @Lazy Collaborator collaborator) {
+        }
+
+        public void lazyArray(@Role(ROLE_NAME) @Lazy Collaborator[] collaborators) {
+        }
+
+        public void lazyWithDefaultValue(@Role(ROLE_NAME) @Lazy @Default("default") Collaborator collaborator) {
+        }
+
+        public void notLazy(@Role(ROLE_NAME) Collaborator collaborator) {
+        }
+
+        public void notAnInterface(@Role(ROLE_NAME) @Lazy Object collaborator) {
+        }
+
+        public void notPublic(@Role(ROLE_NAME) @Lazy HiddenCollaborator collaborator) {
+        }
+    }
+
+    private static class CountingServiceGenerator implements ServiceGenerator {
+
+        public final AtomicInteger calls = new AtomicInteger();
+        public volatile Class<?> capturedServiceType;
+
+        @Override
+        public Object generate(Class serviceType, ServiceDescriptor serviceDescriptor) {
+            calls.incrementAndGet();
+            capturedServiceType = serviceType;
+            return new TestCollaborator(serviceDescriptor.name);
+        }
+    }
+
+    private static class StubServiceGenerator implements ServiceGenerator {
+
+        private final Object generatedCollaborator;
+
+        public StubServiceGenerator(Object generatedCollaborator) {
+            this.generatedCollaborator = generatedCollaborator;
+        }
+
+        @Override
+        public Object generate(Class serviceType, ServiceDescriptor serviceDescriptor) {
+            return generatedCollaborator;
+        }
+    }
+
+    private static class FailingOnceServiceGenerator implements ServiceGenerator {
+
+        private boolean failed;
+
+        @Override
+        public Object generate(Class serviceType, ServiceDescriptor serviceDescriptor) {
+            if (!failed) {
+                failed = true;
+                throw new IllegalStateException("failing once");
+            }
+            return new TestCollaborator(serviceDescriptor.name);
+        }
+    }
+}
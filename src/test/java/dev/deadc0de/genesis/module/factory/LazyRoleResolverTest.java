@@ -0,0 +1,233 @@
+package dev.deadc0de.genesis.module.factory;
+
+import dev.deadc0de.genesis.GenerationPlanner;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceGenerator;
+import dev.deadc0de.genesis.module.Default;
+import dev.deadc0de.genesis.module.Role;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LazyRoleResolverTest {
+
+    private static final String ROLE_NAME = "role";
+    private static final ServiceDescriptor COLLABORATOR_DESCRIPTOR = ServiceDescriptor.notParameterized("collaborator");
+    private static final ServiceDescriptor SERVICE_DESCRIPTOR = new ServiceDescriptor(
+            "service",
+            Collections.emptyMap(),
+            Collections.singletonMap(ROLE_NAME, Collections.singletonList(COLLABORATOR_DESCRIPTOR)));
+    private static final List<ServiceDescriptor> COLLABORATOR_DESCRIPTORS = Arrays.asList(
+            ServiceDescriptor.notParameterized("collaborator1"),
+            ServiceDescriptor.notParameterized("collaborator2"));
+    private static final ServiceDescriptor SERVICE_DESCRIPTOR_WITH_MULTIPLE_COLLABORATORS = new ServiceDescriptor(
+            "service",
+            Collections.emptyMap(),
+            Collections.singletonMap(ROLE_NAME, COLLABORATOR_DESCRIPTORS));
+
+    @Test
+    public void supplierListAndArrayOfSuppliersAnnotatedWithRoleAreLazy() throws NoSuchMethodException {
+        Assert.assertTrue(LazyRoleResolver.isLazy(parameter("supplier", Supplier.class)));
+        Assert.assertTrue(LazyRoleResolver.isLazy(parameter("suppliers", Supplier[].class)));
+        Assert.assertTrue(LazyRoleResolver.isLazy(parameter("supplierList", List.class)));
+        Assert.assertFalse(LazyRoleResolver.isLazy(parameter("stringList", List.class)));
+        Assert.assertFalse(LazyRoleResolver.isLazy(parameter("eager", String.class)));
+    }
+
+    @Test
+    public void theCollaboratorTypeIsTakenFromTheGenericParameterType() throws NoSuchMethodException {
+        Assert.assertEquals(String.class, LazyRoleResolver.collaboratorType(parameter("supplier", Supplier.class)));
+        Assert.assertEquals(Integer.class, LazyRoleResolver.collaboratorType(parameter("suppliers", Supplier[].class)));
+        Assert.assertEquals(Number.class, LazyRoleResolver.collaboratorType(parameter("supplierList", List.class)));
+        Assert.assertEquals(Object.class, LazyRoleResolver.collaboratorType(parameter("rawSupplier", Supplier.class)));
+    }
+
+    @Test
+    public void theRoleTypeIsAnArrayOfTheCollaboratorTypeWhenMultipleCollaboratorsAreSupplied() throws NoSuchMethodException {
+        Assert.assertEquals(String.class, LazyRoleResolver.roleType(parameter("supplier", Supplier.class)));
+        Assert.assertEquals(Integer[].class, LazyRoleResolver.roleType(parameter("suppliers", Supplier[].class)));
+        Assert.assertEquals(Number[].class, LazyRoleResolver.roleType(parameter("supplierList", List.class)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateLazyRoleResolverWhenTheMethodParameterTypeIsNotASupplier() throws NoSuchMethodException {
+        final LazyRoleResolver notCreated = new LazyRoleResolver(parameter("eager", String.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateLazyRoleResolverForASingleSupplierWithMultipleDefaultValues() throws NoSuchMethodException {
+        final LazyRoleResolver notCreated = new LazyRoleResolver(parameter("supplierWithMultipleDefaultValues", Supplier.class));
+    }
+
+    @Test
+    public void theServiceGeneratorIsNotCalledUntilTheSupplierIsQueried() throws NoSuchMethodException {
+        final CountingServiceGenerator serviceGenerator = new CountingServiceGenerator();
+        final Supplier<?> supplier = (Supplier<?>) new LazyRoleResolver(parameter("supplier", Supplier.class)).apply(serviceGenerator, SERVICE_DESCRIPTOR);
+        Assert.assertEquals(0, serviceGenerator.calls.get());
+        Assert.assertEquals("collaborator", supplier.get());
+        Assert.assertEquals(String.class, serviceGenerator.capturedServiceType);
+    }
+
+    @Test
+    public void theSuppliedCollaboratorIsGeneratedOnlyOnce() throws NoSuchMethodException {
+        final CountingServiceGenerator serviceGenerator = new CountingServiceGenerator();
+        final Supplier<?> supplier = (Supplier<?>) new LazyRoleResolver(parameter("supplier", Supplier.class)).apply(serviceGenerator, SERVICE_DESCRIPTOR);
+        Assert.assertSame(supplier.get(), supplier.get());
+        Assert.assertEquals(1, serviceGenerator.calls.get());
+    }
+
+    @Test
+    public void theSuppliedCollaboratorIsGeneratedOnlyOnceWhenQueriedConcurrently() throws Exception {
+        final CountingServiceGenerator serviceGenerator = new CountingServiceGenerator();
+        final Supplier<?> supplier = (Supplier<?>) new LazyRoleResolver(parameter("supplier", Supplier.class)).apply(serviceGenerator, SERVICE_DESCRIPTOR);
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<Object>> results = new ArrayList<>();
+            for (int thread = 0; thread != threads; ++thread) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return supplier.get();
+                }));
+            }
+            start.countDown();
+            final Object first = results.get(0).get();
+            for (Future<Object> result : results) {
+                Assert.assertSame(first, result.get());
+            }
+            Assert.assertEquals(1, serviceGenerator.calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void aFailedGenerationIsRetriedOnTheNextQuery() throws NoSuchMethodException {
+        final FailingOnceServiceGenerator serviceGenerator = new FailingOnceServiceGenerator();
+        final Supplier<?> supplier = (Supplier<?>) new LazyRoleResolver(parameter("supplier", Supplier.class)).apply(serviceGenerator, SERVICE_DESCRIPTOR);
+        try {
+            supplier.get();
+            Assert.fail("expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+        }
+        Assert.assertEquals("collaborator", supplier.get());
+    }
+
+    @Test
+    public void anArrayOfSuppliersIsReturnedForEachCollaborator() throws NoSuchMethodException {
+        final CountingServiceGenerator serviceGenerator = new CountingServiceGenerator();
+        final Object argument = new LazyRoleResolver(parameter("suppliers", Supplier[].class)).apply(serviceGenerator, SERVICE_DESCRIPTOR_WITH_MULTIPLE_COLLABORATORS);
+        Assert.assertEquals(Supplier[].class, argument.getClass());
+        final Supplier<?>[] suppliers = (Supplier<?>[]) argument;
+        Assert.assertEquals(2, suppliers.length);
+        Assert.assertEquals("collaborator2", suppliers[1].get());
+        Assert.assertEquals(1, serviceGenerator.calls.get());
+        Assert.assertEquals(Integer.class, serviceGenerator.capturedServiceType);
+    }
+
+    @Test
+    public void aListOfSuppliersIsReturnedForEachCollaborator() throws NoSuchMethodException {
+        final CountingServiceGenerator serviceGenerator = new CountingServiceGenerator();
+        final List<Supplier<?>> suppliers = (List<Supplier<?>>) new LazyRoleResolver(parameter("supplierList", List.class)).apply(serviceGenerator, SERVICE_DESCRIPTOR_WITH_MULTIPLE_COLLABORATORS);
+        Assert.assertEquals(2, suppliers.size());
+        Assert.assertEquals("collaborator1", suppliers.get(0).get());
+        Assert.assertEquals(Number.class, serviceGenerator.capturedServiceType);
+    }
+
+    @Test
+    public void defaultCollaboratorsAreSuppliedWhenTheRoleIsMissing() throws NoSuchMethodException {
+        final Supplier<?> supplier = (Supplier<?>) new LazyRoleResolver(parameter("supplierWithDefaultValue", Supplier.class)).apply(new CountingServiceGenerator(), ServiceDescriptor.notParameterized("service"));
+        Assert.assertEquals("default", supplier.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void missingCollaboratorsAreReportedEagerly() throws NoSuchMethodException {
+        new LazyRoleResolver(parameter("supplier", Supplier.class)).apply(new CountingServiceGenerator(), ServiceDescriptor.notParameterized("service"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void multipleCollaboratorsForASingleSupplierAreReportedEagerly() throws NoSuchMethodException {
+        new LazyRoleResolver(parameter("supplier", Supplier.class)).apply(new CountingServiceGenerator(), SERVICE_DESCRIPTOR_WITH_MULTIPLE_COLLABORATORS);
+    }
+
+    @Test
+    public void compiledSuppliersDoNotPlanTheirCollaborators() throws NoSuchMethodException {
+        final GenerationPlanner generationPlanner = (serviceType, serviceDescriptor) -> {
+            throw new AssertionError("lazy collaborators must not be planned");
+        };
+        final CountingServiceGenerator serviceGenerator = new CountingServiceGenerator();
+        final Supplier<?> supplier = (Supplier<?>) new LazyRoleResolver(parameter("supplier", Supplier.class)).compile(generationPlanner, SERVICE_DESCRIPTOR).resolve(serviceGenerator, new Object[0]);
+        Assert.assertEquals(0, serviceGenerator.calls.get());
+        Assert.assertEquals("collaborator", supplier.get());
+    }
+
+    private static java.lang.reflect.Parameter parameter(String methodName, Class<?> parameterType) throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod(methodName, parameterType);
+        return method.getParameters()[0];
+    }
+
+    private static class TestModule {
+
+        public void supplier(@Role(ROLE_NAME) Supplier<String> collaborator) {
+        }
+
+        public void rawSupplier(@Role(ROLE_NAME) Supplier collaborator) {
+        }
+
+        public void suppliers(@Role(ROLE_NAME) Supplier<Integer>[] collaborators) {
+        }
+
+        public void supplierList(@Role(ROLE_NAME) List<Supplier<? extends Number>> collaborators) {
+        }
+
+        public void stringList(@Role(ROLE_NAME) List<String> collaborators) {
+        }
+
+        public void eager(@Role(ROLE_NAME) String collaborator) {
+        }
+
+        public void supplierWithDefaultValue(@Role(ROLE_NAME) @Default("default") Supplier<String> collaborator) {
+        }
+
+        public void supplierWithMultipleDefaultValues(@Role(ROLE_NAME) @Default({"first", "second"}) Supplier<String> collaborator) {
+        }
+    }
+
+    private static class CountingServiceGenerator implements ServiceGenerator {
+
+        public final AtomicInteger calls = new AtomicInteger();
+        public volatile Class<?> capturedServiceType;
+
+        @Override
+        public Object generate(Class serviceType, ServiceDescriptor serviceDescriptor) {
+            calls.incrementAndGet();
+            capturedServiceType = serviceType;
+            return new String(serviceDescriptor.name);
+        }
+    }
+
+    private static class FailingOnceServiceGenerator implements ServiceGenerator {
+
+        private boolean failed;
+
+        @Override
+        public Object generate(Class serviceType, ServiceDescriptor serviceDescriptor) {
+            if (!failed) {
+                failed = true;
+                throw new IllegalStateException("failing once");
+            }
+            return serviceDescriptor.name;
+        }
+    }
+}
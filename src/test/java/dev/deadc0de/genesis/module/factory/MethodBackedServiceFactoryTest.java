@@ -1,13 +1,19 @@
 package dev.deadc0de.genesis.module.factory;
 
+import dev.deadc0de.genesis.PooledServiceFactory;
+import dev.deadc0de.genesis.Scope;
 import dev.deadc0de.genesis.ServiceDescriptor;
 import dev.deadc0de.genesis.ServiceFactory;
+import dev.deadc0de.genesis.ServiceGenerationException;
 import dev.deadc0de.genesis.ServiceGenerator;
 import dev.deadc0de.genesis.module.Default;
 import dev.deadc0de.genesis.module.Parameter;
+import dev.deadc0de.genesis.module.Pooled;
 import dev.deadc0de.genesis.module.Role;
+import dev.deadc0de.genesis.module.Scoped;
 import java.lang.reflect.Method;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -106,6 +112,73 @@ public class MethodBackedServiceFactoryTest {
         Assert.assertEquals(service, serviceFactory.create(new DummyServiceGenerator(), ServiceDescriptor.notParameterized("service")));
     }
 
+    @Test
+    public void factoryScopeIsPrototypeWhenTheMethodIsNotAnnotatedWithScoped() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("service");
+        final ServiceFactory serviceFactory = new MethodBackedServiceFactory(new TestModule(), method, new DummyArgumentResolverFactory());
+        Assert.assertEquals(Scope.PROTOTYPE, serviceFactory.scope());
+    }
+
+    @Test
+    public void factoryScopeIsTheOneDeclaredByTheScopedAnnotation() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("singleton");
+        final ServiceFactory serviceFactory = new MethodBackedServiceFactory(new TestModule(), method, new DummyArgumentResolverFactory());
+        Assert.assertEquals(Scope.SINGLETON, serviceFactory.scope());
+    }
+
+    @Test
+    public void pooledMethodsDeclareThePoolCapacitiesAndThePooledScope() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("pooledBuffer");
+        final PooledServiceFactory serviceFactory = new MethodBackedServiceFactory(new TestModule(), method, new DummyArgumentResolverFactory());
+        Assert.assertEquals(Scope.POOLED, serviceFactory.scope());
+        Assert.assertEquals(2, serviceFactory.perThreadCapacity());
+        Assert.assertEquals(8, serviceFactory.sharedCapacity());
+    }
+
+    @Test
+    public void pooledServicesAreResetWithTheDeclaredMethod() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("pooledBuffer");
+        final PooledServiceFactory serviceFactory = new MethodBackedServiceFactory(new TestModule(), method, new DummyArgumentResolverFactory());
+        final List<String> buffer = new ArrayList<>(Arrays.asList("stale", "content"));
+        serviceFactory.reset(buffer);
+        Assert.assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void failuresOfTheResetMethodAreWrappedWithTheirCause() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("pooledBuffer");
+        final PooledServiceFactory serviceFactory = new MethodBackedServiceFactory(new TestModule(), method, new DummyArgumentResolverFactory());
+        try {
+            serviceFactory.reset(Arrays.asList("fixed", "size"));
+            Assert.fail("expected ServiceGenerationException");
+        } catch (ServiceGenerationException exception) {
+            Assert.assertTrue(exception.getCause().getCause() instanceof UnsupportedOperationException);
+        }
+    }
+
+    @Test
+    public void pooledServicesWithoutAResetMethodAreReturnedAsTheyAre() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("pooledWithDefaults");
+        final PooledServiceFactory serviceFactory = new MethodBackedServiceFactory(new TestModule(), method, new DummyArgumentResolverFactory());
+        final List<String> buffer = new ArrayList<>(Arrays.asList("kept"));
+        serviceFactory.reset(buffer);
+        Assert.assertEquals(Arrays.asList("kept"), buffer);
+        Assert.assertEquals(PooledServiceFactory.DEFAULT_PER_THREAD_CAPACITY, serviceFactory.perThreadCapacity());
+        Assert.assertEquals(PooledServiceFactory.DEFAULT_SHARED_CAPACITY, serviceFactory.sharedCapacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenTheResetMethodDoesNotExistThenThrows() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("pooledWithMissingReset");
+        new MethodBackedServiceFactory(new TestModule(), method, new DummyArgumentResolverFactory());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenAPooledMethodDeclaresAnotherScopeThenThrows() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("pooledSingleton");
+        new MethodBackedServiceFactory(new TestModule(), method, new DummyArgumentResolverFactory());
+    }
+
     private static class TestModule {
 
         public static final String PARAMETER_NAME = "parameter";
@@ -115,6 +188,32 @@ public class MethodBackedServiceFactoryTest {
         public void service() {
         }
 
+        @Scoped(Scope.SINGLETON)
+        public Object singleton() {
+            return new Object();
+        }
+
+        @Pooled(perThread = 2, shared = 8, reset = "clear")
+        public List<String> pooledBuffer() {
+            return new ArrayList<>();
+        }
+
+        @Pooled
+        public List<String> pooledWithDefaults() {
+            return new ArrayList<>();
+        }
+
+        @Pooled(reset = "missing")
+        public List<String> pooledWithMissingReset() {
+            return new ArrayList<>();
+        }
+
+        @Pooled
+        @Scoped(Scope.SINGLETON)
+        public Object pooledSingleton() {
+            return new Object();
+        }
+
         public void methodWithParameter(@Parameter(PARAMETER_NAME) Object methodParameter) {
         }
 
@@ -0,0 +1,91 @@
+package dev.deadc0de.genesis.module.factory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MethodHandleInvokerTest {
+
+    @Test
+    public void invokesTheInstanceMethodOnTheBoundModule() throws Exception {
+        final Object service = new Object();
+        final Method method = TestModule.class.getDeclaredMethod("service");
+        final MethodInvoker methodInvoker = new MethodHandleInvoker(new TestModule(service), method);
+        Assert.assertEquals(service, methodInvoker.invoke(new Object[0]));
+    }
+
+    @Test
+    public void invokesStaticMethodsIgnoringTheModule() throws Exception {
+        final Method method = TestModule.class.getDeclaredMethod("concatenate", String.class, String.class, String.class);
+        final MethodInvoker methodInvoker = new MethodHandleInvoker(new TestModule(null), method);
+        Assert.assertEquals("abc", methodInvoker.invoke(new Object[]{"a", "b", "c"}));
+    }
+
+    @Test
+    public void primitiveArgumentsAreUnboxedAndPrimitiveResultsAreBoxed() throws Exception {
+        final Method method = TestModule.class.getDeclaredMethod("sum", int.class, int.class);
+        final MethodInvoker methodInvoker = new MethodHandleInvoker(new TestModule(null), method);
+        Assert.assertEquals(3, methodInvoker.invoke(new Object[]{1, 2}));
+    }
+
+    @Test
+    public void voidMethodsReturnNull() throws Exception {
+        final Method method = TestModule.class.getDeclaredMethod("nothing");
+        final MethodInvoker methodInvoker = new MethodHandleInvoker(new TestModule(null), method);
+        Assert.assertNull(methodInvoker.invoke(new Object[0]));
+    }
+
+    @Test
+    public void arrayArgumentsOfVariableArityMethodsAreNotCollected() throws Exception {
+        final Method method = TestModule.class.getDeclaredMethod("count", String[].class);
+        final MethodInvoker methodInvoker = new MethodHandleInvoker(new TestModule(null), method);
+        Assert.assertEquals(2, methodInvoker.invoke(new Object[]{new String[]{"a", "b"}}));
+    }
+
+    @Test
+    public void exceptionsThrownByTheMethodAreWrappedInAnInvocationTargetException() throws Exception {
+        final Method method = TestModule.class.getDeclaredMethod("failing");
+        final MethodInvoker methodInvoker = new MethodHandleInvoker(new TestModule(null), method);
+        try {
+            methodInvoker.invoke(new Object[0]);
+            Assert.fail("expected InvocationTargetException");
+        } catch (InvocationTargetException exception) {
+            Assert.assertEquals(TestModule.FAILURE, exception.getCause());
+        }
+    }
+
+    private static class TestModule {
+
+        public static final RuntimeException FAILURE = new UnsupportedOperationException();
+
+        private final Object service;
+
+        public TestModule(Object service) {
+            this.service = service;
+        }
+
+        public Object service() {
+            return service;
+        }
+
+        public static String concatenate(String first, String second, String third) {
+            return first + second + third;
+        }
+
+        public int sum(int first, int second) {
+            return first + second;
+        }
+
+        public void nothing() {
+        }
+
+        public int count(String... values) {
+            return values.length;
+        }
+
+        public Object failing() {
+            throw FAILURE;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package dev.deadc0de.genesis.module.factory;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MethodInvokerTest {
+
+    @Test
+    public void accessibleMethodsAreBoundToMethodHandles() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("service");
+        final MethodInvoker methodInvoker = MethodInvoker.bind(new TestModule(), method);
+        Assert.assertTrue(methodInvoker instanceof MethodHandleInvoker);
+    }
+
+    @Test
+    public void inaccessibleMethodsFallBackToReflectiveInvocation() throws NoSuchMethodException {
+        final List<?> module = Collections.emptyList();
+        final Method method = module.getClass().getMethod("size");
+        final MethodInvoker methodInvoker = MethodInvoker.bind(module, method);
+        Assert.assertTrue(methodInvoker instanceof ReflectiveMethodInvoker);
+    }
+
+    private static class TestModule {
+
+        public Object service() {
+            return new Object();
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package dev.deadc0de.genesis.module.factory;
 
+import dev.deadc0de.genesis.PlannedArgument;
 import dev.deadc0de.genesis.ServiceDescriptor;
 import dev.deadc0de.genesis.ServiceGenerator;
 import dev.deadc0de.genesis.module.Default;
 import dev.deadc0de.genesis.module.Parameter;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -102,6 +109,118 @@ public class ParameterResolverTest {
         Assert.assertArrayEquals(new String[]{"default", "arguments"}, (String[]) argument);
     }
 
+    @Test
+    public void compiledParametersResolveToTheConfiguredArgument() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("parameterNamePresentInConfiguration", String.class);
+        final ParameterResolver parameterResolver = new ParameterResolver(method.getParameters()[0]);
+        final PlannedArgument plannedArgument = parameterResolver.compile(null, SERVICE_DESCRIPTOR);
+        Assert.assertEquals(PARAMETER_VALUE, plannedArgument.resolve(new DummyServiceGenerator(), new Object[0]));
+    }
+
+    @Test
+    public void compiledArrayParametersResolveToADistinctArrayOnEveryResolution() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("parameterNamePresentInConfiguration", String[].class);
+        final ParameterResolver parameterResolver = new ParameterResolver(method.getParameters()[0]);
+        final PlannedArgument plannedArgument = parameterResolver.compile(null, SERVICE_DESCRIPTOR_WITH_MULTIPLE_PARAMETERS);
+        final String[] first = (String[]) plannedArgument.resolve(new DummyServiceGenerator(), new Object[0]);
+        final String[] second = (String[]) plannedArgument.resolve(new DummyServiceGenerator(), new Object[0]);
+        Assert.assertArrayEquals(PARAMETER_VALUES, first);
+        Assert.assertNotSame(first, second);
+    }
+
+    @Test
+    public void primitiveAndBoxedParametersAreConverted() {
+        Assert.assertEquals(42, new ParameterResolver(PARAMETER_NAME, int.class, Optional.empty()).apply(new DummyServiceGenerator(), configured("42")));
+        Assert.assertEquals(42L, new ParameterResolver(PARAMETER_NAME, Long.class, Optional.empty()).apply(new DummyServiceGenerator(), configured("42")));
+        Assert.assertEquals(0.5d, new ParameterResolver(PARAMETER_NAME, double.class, Optional.empty()).apply(new DummyServiceGenerator(), configured("0.5")));
+        Assert.assertEquals(Boolean.TRUE, new ParameterResolver(PARAMETER_NAME, boolean.class, Optional.empty()).apply(new DummyServiceGenerator(), configured("true")));
+        Assert.assertEquals('x', new ParameterResolver(PARAMETER_NAME, char.class, Optional.empty()).apply(new DummyServiceGenerator(), configured("x")));
+    }
+
+    @Test
+    public void durationParametersAcceptIsoAndShortFormats() {
+        final ParameterResolver parameterResolver = new ParameterResolver(PARAMETER_NAME, Duration.class, Optional.empty());
+        Assert.assertEquals(Duration.ofSeconds(90), parameterResolver.apply(new DummyServiceGenerator(), configured("PT1M30S")));
+        Assert.assertEquals(Duration.ofMillis(500), parameterResolver.apply(new DummyServiceGenerator(), configured("500ms")));
+        Assert.assertEquals(Duration.ofHours(2), parameterResolver.apply(new DummyServiceGenerator(), configured("2h")));
+    }
+
+    @Test
+    public void enumAndPathParametersAreConverted() {
+        Assert.assertEquals(TimeUnit.SECONDS, new ParameterResolver(PARAMETER_NAME, TimeUnit.class, Optional.empty()).apply(new DummyServiceGenerator(), configured("SECONDS")));
+        Assert.assertEquals(Paths.get("/tmp/genesis"), new ParameterResolver(PARAMETER_NAME, Path.class, Optional.empty()).apply(new DummyServiceGenerator(), configured("/tmp/genesis")));
+    }
+
+    @Test
+    public void arraysOfPrimitiveParametersAreConverted() {
+        final Object argument = new ParameterResolver(PARAMETER_NAME, int[].class, Optional.empty()).apply(new DummyServiceGenerator(), configured("1", "2", "3"));
+        Assert.assertArrayEquals(new int[]{1, 2, 3}, (int[]) argument);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void whenAConfiguredParameterCannotBeConvertedThenThrows() {
+        new ParameterResolver(PARAMETER_NAME, int.class, Optional.empty()).apply(new DummyServiceGenerator(), configured("forty-two"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateParameterResolverWhenTheDefaultValueCannotBeConverted() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("invalidDefaultValue", int.class);
+        final ParameterResolver notCreated = new ParameterResolver(method.getParameters()[0]);
+    }
+
+    @Test
+    public void defaultValuesAreConvertedToTheParameterType() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("durationWithDefaultValue", Duration.class);
+        final ParameterResolver parameterResolver = new ParameterResolver(method.getParameters()[0]);
+        Assert.assertEquals(Duration.ofSeconds(5), parameterResolver.apply(new DummyServiceGenerator(), SERVICE_DESCRIPTOR));
+    }
+
+    @Test
+    public void compiledParametersAreConvertedOncePerPlan() {
+        final ParameterResolver parameterResolver = new ParameterResolver(PARAMETER_NAME, BigDecimal.class, Optional.empty());
+        final PlannedArgument plannedArgument = parameterResolver.compile(null, configured("1.5"));
+        final Object first = plannedArgument.resolve(new DummyServiceGenerator(), new Object[0]);
+        Assert.assertEquals(new BigDecimal("1.5"), first);
+        Assert.assertSame(first, plannedArgument.resolve(new DummyServiceGenerator(), new Object[0]));
+    }
+
+    @Test
+    public void repeatedResolutionsOfTheSameConfigurationConvertItOnce() {
+        final ParameterResolver parameterResolver = new ParameterResolver(PARAMETER_NAME, BigDecimal.class, Optional.empty());
+        final ServiceDescriptor serviceDescriptor = configured("1.5");
+        final Object first = parameterResolver.apply(new DummyServiceGenerator(), serviceDescriptor);
+        Assert.assertSame(first, parameterResolver.apply(new DummyServiceGenerator(), serviceDescriptor));
+        Assert.assertSame(first, parameterResolver.compile(null, serviceDescriptor).resolve(new DummyServiceGenerator(), new Object[0]));
+    }
+
+    @Test
+    public void resolversDoNotShareConversionsBetweenDescriptors() {
+        final ParameterResolver parameterResolver = new ParameterResolver(PARAMETER_NAME, BigDecimal.class, Optional.empty());
+        Assert.assertEquals(new BigDecimal("1.5"), parameterResolver.apply(new DummyServiceGenerator(), configured("1.5")));
+        Assert.assertEquals(new BigDecimal("2.5"), parameterResolver.apply(new DummyServiceGenerator(), configured("2.5")));
+        Assert.assertEquals(new BigDecimal("1.5"), parameterResolver.apply(new DummyServiceGenerator(), configured("1.5")));
+    }
+
+    @Test
+    public void convertedArraysAreCopiedOnEveryResolution() {
+        final ParameterResolver parameterResolver = new ParameterResolver(PARAMETER_NAME, long[].class, Optional.empty());
+        final ServiceDescriptor serviceDescriptor = configured("1", "2");
+        final long[] first = (long[]) parameterResolver.apply(new DummyServiceGenerator(), serviceDescriptor);
+        first[0] = 3;
+        Assert.assertArrayEquals(new long[]{1, 2}, (long[]) parameterResolver.apply(new DummyServiceGenerator(), serviceDescriptor));
+    }
+
+    @Test
+    public void emptyArraysAreSharedBetweenResolutions() {
+        final ParameterResolver parameterResolver = new ParameterResolver(PARAMETER_NAME, String[].class, Optional.of(Collections.emptyList()));
+        final ServiceDescriptor serviceDescriptor = ServiceDescriptor.notParameterized("service");
+        Assert.assertSame(parameterResolver.apply(new DummyServiceGenerator(), serviceDescriptor), parameterResolver.apply(new DummyServiceGenerator(), serviceDescriptor));
+    }
+
+    private static ServiceDescriptor configured(String... values) {
+        return new ServiceDescriptor("service", Collections.singletonMap(PARAMETER_NAME, Arrays.asList(values)), Collections.emptyMap());
+    }
+
     private static class TestModule {
 
         public static final String DEFAULT_VALUE = "default argument";
@@ -135,6 +254,12 @@ public class ParameterResolverTest {
 
         public void defaultValueProvidedAndParameterNameMissingFromConfiguration(@Parameter("not present") @Default({"default", "arguments"}) String[] argument) {
         }
+
+        public void invalidDefaultValue(@Parameter(PARAMETER_NAME) @Default("forty-two") int argument) {
+        }
+
+        public void durationWithDefaultValue(@Parameter("not present") @Default("5s") Duration argument) {
+        }
     }
 
     private static class DummyServiceGenerator implements ServiceGenerator {
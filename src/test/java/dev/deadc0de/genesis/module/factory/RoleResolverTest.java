@@ -178,6 +178,16 @@ public class RoleResolverTest {
         Assert.assertArrayEquals(new Object[]{collaborator, collaborator}, (Object[]) argument);
     }
 
+    @Test
+    public void anEmptyArrayOfTheRequiredTypeIsSharedWhenNoCollaboratorsAreConfigured() throws NoSuchMethodException {
+        final Method method = TestModule.class.getDeclaredMethod("collaboratorsArrayOfStringType", String[].class);
+        final RoleResolver roleResolver = new RoleResolver(method.getParameters()[0]);
+        final ServiceDescriptor serviceDescriptor = new ServiceDescriptor("service", Collections.emptyMap(), Collections.singletonMap(ROLE_NAME, Collections.emptyList()));
+        final Object argument = roleResolver.apply(new DummyServiceGenerator(), serviceDescriptor);
+        Assert.assertEquals(String[].class, argument.getClass());
+        Assert.assertSame(argument, roleResolver.apply(new DummyServiceGenerator(), serviceDescriptor));
+    }
+
     private static class TestModule {
 
         public static final String DEFAULT_COLLABORATOR_NAME = "default collaborator";
@@ -0,0 +1,163 @@
+package dev.deadc0de.genesis.monitoring;
+
+import dev.deadc0de.genesis.AbstractServiceFactory;
+import dev.deadc0de.genesis.GenerationContext;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceFactory;
+import dev.deadc0de.genesis.ServiceGenerator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenerationStatisticsTest {
+
+    private static final ServiceDescriptor SERVICE = ServiceDescriptor.notParameterized("service");
+
+    @Test
+    public void countsAndFailuresAreAggregatedPerFactory() {
+        final GenerationStatistics statistics = new GenerationStatistics();
+        final ServiceFactory<?> factory = new StubServiceFactory("service");
+        final ServiceFactory<?> other = new StubServiceFactory("other");
+        generation(statistics, factory, 100);
+        generation(statistics, factory, 100);
+        statistics.generationStarted(other, SERVICE, 0);
+        statistics.generationFailed(other, SERVICE, 0, 100, new IllegalStateException());
+        final List<FactoryStatistics> snapshot = statistics.snapshot();
+        Assert.assertEquals(2, snapshot.size());
+        Assert.assertEquals("service", snapshot.get(0).serviceName);
+        Assert.assertEquals(2, snapshot.get(0).count);
+        Assert.assertEquals(0, snapshot.get(0).failures);
+        Assert.assertEquals(1, snapshot.get(1).count);
+        Assert.assertEquals(1, snapshot.get(1).failures);
+    }
+
+    @Test
+    public void percentilesBoundTheRecordedLatencies() {
+        final GenerationStatistics statistics = new GenerationStatistics();
+        final ServiceFactory<?> factory = new StubServiceFactory("service");
+        for (int latency = 1; latency <= 100; ++latency) {
+            generation(statistics, factory, latency * 1000L);
+        }
+        final FactoryStatistics snapshot = statistics.snapshot().get(0);
+        Assert.assertTrue(snapshot.p50Nanos >= 50000 && snapshot.p50Nanos <= 50000 * 9 / 8);
+        Assert.assertTrue(snapshot.p99Nanos >= 99000 && snapshot.p99Nanos <= 99000 * 9 / 8);
+        Assert.assertEquals(5050000, snapshot.totalNanos);
+    }
+
+    @Test
+    public void generationsOfAContextAreRecorded() {
+        final GenerationStatistics statistics = new GenerationStatistics();
+        final GenerationContext context = new GenerationContext(Stream.of(new StubServiceFactory("service")), Runnable::run, statistics);
+        context.generate(Object.class, SERVICE);
+        context.generate(Object.class, SERVICE);
+        Assert.assertEquals(2, statistics.snapshot().get(0).count);
+    }
+
+    @Test
+    public void asyncGenerationsOfAContextAreRecordedOnceTheirServiceIsCreated() {
+        final GenerationStatistics statistics = new GenerationStatistics();
+        final List<Runnable> pending = new ArrayList<>();
+        final GenerationContext context = new GenerationContext(Stream.of(new StubServiceFactory("service")), pending::add, statistics);
+        final CompletableFuture<Object> service = context.generateAsync(Object.class, SERVICE);
+        Assert.assertTrue(statistics.snapshot().isEmpty());
+        pending.forEach(Runnable::run);
+        Assert.assertNotNull(service.join());
+        Assert.assertEquals(1, statistics.snapshot().get(0).count);
+        Assert.assertEquals(0, statistics.snapshot().get(0).failures);
+    }
+
+    @Test
+    public void failedAsyncGenerationsOfAContextAreRecordedAsFailures() {
+        final GenerationStatistics statistics = new GenerationStatistics();
+        final GenerationContext context = new GenerationContext(Stream.of(new FailingServiceFactory("service")), Runnable::run, statistics);
+        Assert.assertTrue(context.generateAsync(Object.class, SERVICE).isCompletedExceptionally());
+        Assert.assertEquals(1, statistics.snapshot().get(0).count);
+        Assert.assertEquals(1, statistics.snapshot().get(0).failures);
+    }
+
+    @Test
+    public void generationsCompletedOnAnotherThreadAreNotChargedItsAllocations() throws InterruptedException {
+        final GenerationStatistics statistics = new GenerationStatistics();
+        final ServiceFactory<?> factory = new StubServiceFactory("service");
+        statistics.generationStarted(factory, SERVICE, 0);
+        final Thread completion = new Thread(() -> {
+            final byte[] allocated = new byte[1 << 20];
+            statistics.generationCompleted(factory, SERVICE, 0, allocated.length);
+        });
+        completion.start();
+        completion.join();
+        Assert.assertEquals(1, statistics.snapshot().get(0).count);
+        Assert.assertTrue(statistics.snapshot().get(0).allocatedBytes <= 0);
+    }
+
+    @Test
+    public void resettingDiscardsTheRecordedGenerations() {
+        final GenerationStatistics statistics = new GenerationStatistics();
+        generation(statistics, new StubServiceFactory("service"), 100);
+        statistics.reset();
+        Assert.assertTrue(statistics.snapshot().isEmpty());
+    }
+
+    @Test
+    public void textReportsListEveryFactory() {
+        final GenerationStatistics statistics = new GenerationStatistics();
+        generation(statistics, new StubServiceFactory("service"), 100);
+        generation(statistics, new StubServiceFactory("other"), 100);
+        final String report = statistics.textReport();
+        Assert.assertTrue(report.contains("service:java.lang.Object"));
+        Assert.assertTrue(report.contains("other:java.lang.Object"));
+    }
+
+    @Test
+    public void jsonReportsEscapeServiceNames() {
+        final GenerationStatistics statistics = new GenerationStatistics();
+        generation(statistics, new StubServiceFactory("quoted \"service\""), 100);
+        final String report = statistics.jsonReport();
+        Assert.assertTrue(report.startsWith("[{\"serviceName\":\"quoted \\\"service\\\"\",\"serviceType\":\"java.lang.Object\",\"count\":1,"));
+        Assert.assertTrue(report.endsWith("}]"));
+    }
+
+    private static void generation(GenerationStatistics statistics, ServiceFactory<?> factory, long nanos) {
+        statistics.generationStarted(factory, SERVICE, 0);
+        statistics.generationCompleted(factory, SERVICE, 0, nanos);
+    }
+
+    private static class StubServiceFactory extends AbstractServiceFactory {
+
+        public StubServiceFactory(String serviceName) {
+            super(serviceName, Object.class);
+        }
+
+        @Override
+        public Map parameters() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map roles() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            return new Object();
+        }
+    }
+
+    private static class FailingServiceFactory extends StubServiceFactory {
+
+        public FailingServiceFactory(String serviceName) {
+            super(serviceName);
+        }
+
+        @Override
+        public Object create(ServiceGenerator serviceGenerator, ServiceDescriptor serviceDescriptor) {
+            throw new IllegalStateException("failing factory");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package dev.deadc0de.genesis.monitoring;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsBoundTheirValuesWithinAnEighth() {
+        for (long value = 0; value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            final long upperBound = LatencyHistogram.upperBound(LatencyHistogram.bucket(value));
+            Assert.assertTrue(upperBound >= value);
+            Assert.assertTrue(upperBound - value <= value / 8 + 1);
+        }
+    }
+
+    @Test
+    public void theLargestValuesFallInTheLastBucket() {
+        Assert.assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.bucket(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void anEmptyHistogramHasZeroPercentiles() {
+        Assert.assertArrayEquals(new long[]{0, 0}, new LatencyHistogram().percentiles(0.5, 0.99));
+    }
+}
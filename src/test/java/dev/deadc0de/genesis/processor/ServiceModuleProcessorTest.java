@@ -0,0 +1,308 @@
+package dev.deadc0de.genesis.processor;
+
+import dev.deadc0de.genesis.GenerationContext;
+import dev.deadc0de.genesis.PooledServiceFactory;
+import dev.deadc0de.genesis.Scope;
+import dev.deadc0de.genesis.ServiceDescriptor;
+import dev.deadc0de.genesis.ServiceFactory;
+import dev.deadc0de.genesis.ServiceGenerationException;
+import dev.deadc0de.genesis.ServiceGenerator;
+import dev.deadc0de.genesis.module.Default;
+import dev.deadc0de.genesis.module.Lazy;
+import dev.deadc0de.genesis.module.Parameter;
+import dev.deadc0de.genesis.module.Pooled;
+import dev.deadc0de.genesis.module.Role;
+import dev.deadc0de.genesis.module.Scoped;
+import dev.deadc0de.genesis.module.ServiceModule;
+import dev.deadc0de.genesis.module.factory.AsyncMethodBackedServiceFactory;
+import dev.deadc0de.genesis.module.factory.MethodBackedServiceFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceModuleProcessorTest {
+
+    private static final ServiceDescriptor GREETING = new ServiceDescriptor(
+            "greeting",
+            Collections.singletonMap("name", Collections.singletonList("world")),
+            Collections.emptyMap());
+
+    @Test
+    public void modulesAreAssembledFromTheGeneratedFactories() {
+        final List<ServiceFactory> factories = ServiceModule.assembleModule(new TestModule()).collect(Collectors.toList());
+        Assert.assertEquals(10, factories.size());
+        Assert.assertTrue(factories.stream().noneMatch(factory -> factory instanceof MethodBackedServiceFactory));
+    }
+
+    @Test
+    public void generatedFactoriesDescribeTheSameServicesAsTheReflectiveOnes() {
+        final Map<ServiceFactory, ServiceFactory> generated = ServiceModule.assembleModule(new TestModule()).collect(Collectors.toMap(Function.identity(), Function.identity()));
+        final List<ServiceFactory> reflective = ServiceModule.assembleModuleReflectively(new TestModule()).collect(Collectors.toList());
+        Assert.assertEquals(reflective.size(), generated.size());
+        for (ServiceFactory expected : reflective) {
+            final ServiceFactory actual = generated.get(expected);
+            Assert.assertNotNull(expected.toString(), actual);
+            Assert.assertEquals(expected.parameters(), actual.parameters());
+            Assert.assertEquals(expected.roles(), actual.roles());
+            Assert.assertEquals(expected.lazyRoles(), actual.lazyRoles());
+            Assert.assertEquals(expected.scope(), actual.scope());
+        }
+    }
+
+    @Test
+    public void generatedFactoriesShareTheirMetadataAcrossModuleInstances() {
+        Assert.assertSame(factory("greeting").parameters(), factory("greeting").parameters());
+        Assert.assertSame(factory("greeting").roles(), factory("greeting").roles());
+    }
+
+    @Test
+    public void generatedFactoriesCallTheModuleMethodWithTheResolvedArguments() {
+        final ServiceFactory<?> greetingFactory = factory("greeting");
+        Assert.assertEquals("hello, world!", greetingFactory.create(new StubServiceGenerator("!"), GREETING));
+    }
+
+    @Test
+    public void generatedFactoriesUseDefaultsForMissingParameters() {
+        final ServiceFactory<?> repeatedFactory = factory("repeated");
+        Assert.assertEquals(4, repeatedFactory.create(new StubServiceGenerator(null), ServiceDescriptor.notParameterized("repeated")));
+    }
+
+    @Test
+    public void generatedFactoriesConvertTypedParameters() {
+        final ServiceFactory<?> timeoutFactory = factory("timeout");
+        Assert.assertEquals(6000L, timeoutFactory.create(new StubServiceGenerator(null), ServiceDescriptor.notParameterized("timeout")));
+        Assert.assertEquals(1500L, timeoutFactory.create(new StubServiceGenerator(null), ServiceDescriptor.builder("timeout").parameter("timeout", "500ms").build()));
+    }
+
+    @Test
+    public void generatedFactoriesPassTheServiceGeneratorThrough() {
+        final ServiceGenerator serviceGenerator = new StubServiceGenerator(null);
+        Assert.assertSame(serviceGenerator, factory("generator").create(serviceGenerator, ServiceDescriptor.notParameterized("generator")));
+    }
+
+    @Test
+    public void generatedFactoriesSupplyLazyCollaborators() {
+        final ServiceFactory<?> deferredFactory = factory("deferred");
+        Assert.assertEquals("deferred!", deferredFactory.create(new StubServiceGenerator("!"), ServiceDescriptor.notParameterized("deferred")));
+        final ServiceFactory<?> suppliedFactory = factory("supplied");
+        Assert.assertEquals(2, suppliedFactory.create(new StubServiceGenerator(null), ServiceDescriptor.notParameterized("supplied")));
+    }
+
+    @Test
+    public void generatedFactoriesInjectLazyProxies() {
+        final ServiceFactory<?> proxiedFactory = factory("proxied");
+        Assert.assertEquals(1, proxiedFactory.create(new StubServiceGenerator("!"), ServiceDescriptor.notParameterized("proxied")));
+    }
+
+    @Test
+    public void failuresAreReportedAsServiceGenerationExceptions() {
+        final ServiceFactory<?> failingFactory = factory("failing");
+        try {
+            failingFactory.create(new StubServiceGenerator(null), ServiceDescriptor.notParameterized("failing"));
+            Assert.fail("expected ServiceGenerationException");
+        } catch (ServiceGenerationException exception) {
+            Assert.assertEquals(Collections.singletonList(failingFactory), exception.serviceGenerationStack());
+        }
+    }
+
+    @Test
+    public void generatedFactoriesOfPooledMethodsDeclareTheirPool() {
+        final PooledServiceFactory<PooledBuffer> bufferFactory = (PooledServiceFactory<PooledBuffer>) factory("buffer");
+        Assert.assertEquals(Scope.POOLED, bufferFactory.scope());
+        Assert.assertEquals(1, bufferFactory.perThreadCapacity());
+        Assert.assertEquals(2, bufferFactory.sharedCapacity());
+        final PooledBuffer buffer = new PooledBuffer();
+        buffer.content.append("stale");
+        bufferFactory.reset(buffer);
+        Assert.assertEquals("", buffer.content.toString());
+    }
+
+    @Test
+    public void generatedPooledFactoriesMatchTheReflectiveOnes() {
+        final PooledServiceFactory<?> generated = (PooledServiceFactory<?>) factory("buffer");
+        final PooledServiceFactory<?> reflective = (PooledServiceFactory<?>) ServiceModule.assembleModuleReflectively(new TestModule()).filter(factory -> factory.serviceName().equals("buffer")).findFirst().get();
+        Assert.assertEquals(reflective.perThreadCapacity(), generated.perThreadCapacity());
+        Assert.assertEquals(reflective.sharedCapacity(), generated.sharedCapacity());
+    }
+
+    @Test
+    public void generatedFactoriesCanBeCompiledIntoGenerationPlans() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new TestModule()));
+        Assert.assertEquals(Integer.valueOf(4), context.plan(int.class, ServiceDescriptor.notParameterized("repeated")).generate());
+    }
+
+    @Test
+    public void modulesWithAsyncMethodsGenerateTheirSynchronousFactories() {
+        final Map<String, ServiceFactory> factories = ServiceModule.assembleModule(new MixedModule()).collect(Collectors.toMap(ServiceFactory::serviceName, Function.identity()));
+        Assert.assertEquals(2, factories.size());
+        Assert.assertFalse(factories.get("name") instanceof MethodBackedServiceFactory);
+        Assert.assertTrue(factories.get("greetingAsync") instanceof AsyncMethodBackedServiceFactory);
+    }
+
+    @Test
+    public void asyncMethodsOfGeneratedModulesAreAssembledReflectively() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new MixedModule()));
+        Assert.assertEquals("hello, world", context.generateAsync(String.class, ServiceDescriptor.builder("greetingAsync")
+                .collaborator("name", ServiceDescriptor.notParameterized("name"))
+                .build()).join());
+    }
+
+    @Test
+    public void methodsTheGeneratedCodeCannotCallAreAssembledReflectively() {
+        final Map<String, ServiceFactory> factories = ServiceModule.assembleModule(new FallbackModule()).collect(Collectors.toMap(ServiceFactory::serviceName, Function.identity()));
+        Assert.assertEquals(4, factories.size());
+        Assert.assertFalse(factories.get("visible") instanceof MethodBackedServiceFactory);
+        Assert.assertTrue(factories.get("throwing") instanceof MethodBackedServiceFactory);
+        Assert.assertTrue(factories.get("hidden") instanceof MethodBackedServiceFactory);
+        Assert.assertTrue(factories.get("shape") instanceof MethodBackedServiceFactory);
+    }
+
+    @Test
+    public void reflectivelyAssembledMethodsOfGeneratedModulesGenerateTheirServices() {
+        final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new FallbackModule()));
+        Assert.assertEquals("throwing", context.generate(String.class, ServiceDescriptor.notParameterized("throwing")));
+        Assert.assertEquals("shape of hidden", context.generate(String.class, ServiceDescriptor.builder("shape")
+                .collaborator("hidden", ServiceDescriptor.notParameterized("hidden"))
+                .build()));
+    }
+
+    @Test
+    public void invalidDefaultParametersFailEveryAssemblyOfAGeneratedModule() {
+        for (int attempt = 0; attempt != 2; ++attempt) {
+            try {
+                ServiceModule.assembleModule(new InvalidDefaultModule()).collect(Collectors.toList());
+                Assert.fail("the invalid default value was accepted");
+            } catch (IllegalArgumentException exception) {
+                Assert.assertTrue(exception.getMessage(), exception.getMessage().startsWith("invalid default value"));
+            }
+        }
+    }
+
+    private static ServiceFactory<?> factory(String serviceName) {
+        return ServiceModule.assembleModule(new TestModule()).filter(factory -> factory.serviceName().equals(serviceName)).findFirst().get();
+    }
+
+    static class TestModule implements ServiceModule {
+
+        public String greeting(@Parameter("name") String name, @Role("punctuation") @Default("exclamation") String punctuation) {
+            return "hello, " + name + punctuation;
+        }
+
+        public static int repeated(@Parameter("values") @Default({"a", "b", "c", "d"}) String[] values) {
+            return values.length;
+        }
+
+        public static long timeout(@Parameter("timeout") @Default("2s") Duration timeout, @Parameter("retries") @Default("3") int retries) {
+            return timeout.toMillis() * retries;
+        }
+
+        public ServiceGenerator generator(ServiceGenerator serviceGenerator) {
+            return serviceGenerator;
+        }
+
+        public static String deferred(@Role("punctuation") @Default("exclamation") Supplier<String> punctuation) {
+            return "deferred" + punctuation.get();
+        }
+
+        public static int supplied(@Role("items") @Default({"first", "second"}) List<Supplier<Object>> items, @Role("others") @Default("third") Supplier<? extends Number>[] others) {
+            return items.size() + others.length - 1;
+        }
+
+        public static int proxied(@Role("punctuation") @Lazy @Default("exclamation") CharSequence punctuation) {
+            return punctuation.length();
+        }
+
+        @Scoped(Scope.THREAD)
+        public void nothing() {
+        }
+
+        @Pooled(perThread = 1, shared = 2, reset = "clear")
+        public static PooledBuffer buffer() {
+            return new PooledBuffer();
+        }
+
+        public Object failing() {
+            throw new UnsupportedOperationException("failing");
+        }
+
+        List<String> notPublic() {
+            return Arrays.asList("not", "a", "service");
+        }
+    }
+
+    public static class PooledBuffer extends ClearableBuffer {
+    }
+
+    public static class ClearableBuffer {
+
+        public final StringBuilder content = new StringBuilder();
+
+        public void clear() {
+            content.setLength(0);
+        }
+    }
+
+    public static class MixedModule implements ServiceModule {
+
+        public String name() {
+            return "world";
+        }
+
+        public CompletableFuture<String> greetingAsync(@Role("name") String name) {
+            return CompletableFuture.completedFuture("hello, " + name);
+        }
+    }
+
+    public static class FallbackModule implements ServiceModule {
+
+        public String visible() {
+            return "visible";
+        }
+
+        public String throwing() throws Throwable {
+            return "throwing";
+        }
+
+        public Hidden hidden() {
+            return new Hidden();
+        }
+
+        public String shape(@Role("hidden") Hidden hidden) {
+            return "shape of " + hidden.name;
+        }
+
+        private static class Hidden {
+
+            public final String name = "hidden";
+        }
+    }
+
+    public static class InvalidDefaultModule implements ServiceModule {
+
+        public Integer count(@Parameter("n") @Default("notanumber") int n) {
+            return n;
+        }
+    }
+
+    private static class StubServiceGenerator implements ServiceGenerator {
+
+        private final Object generatedCollaborator;
+
+        public StubServiceGenerator(Object generatedCollaborator) {
+            this.generatedCollaborator = generatedCollaborator;
+        }
+
+        @Override
+        public Object generate(Class serviceType, ServiceDescriptor serviceDescriptor) {
+            return generatedCollaborator;
+        }
+    }
+}
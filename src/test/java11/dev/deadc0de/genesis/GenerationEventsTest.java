@@ -0,0 +1,124 @@
+package dev.deadc0de.genesis;
+
+import dev.deadc0de.genesis.module.Role;
+import dev.deadc0de.genesis.module.ServiceModule;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenerationEventsTest {
+
+    private static final List<String> EVENT_NAMES = Arrays.asList("dev.deadc0de.genesis.Generate", "dev.deadc0de.genesis.Create", "dev.deadc0de.genesis.Resolve");
+    private static final ServiceDescriptor PARENT = ServiceDescriptor.builder("parent")
+            .collaborator("child", ServiceDescriptor.notParameterized("child"))
+            .build();
+
+    @Test
+    public void generationsEmitAnEventPerGeneratedService() throws IOException {
+        final List<RecordedEvent> events = record(true);
+        final List<RecordedEvent> generations = named(events, "dev.deadc0de.genesis.Generate");
+        Assert.assertEquals(2, generations.size());
+        assertEvent(generations.get(0), "child", Child.class, 1);
+        assertEvent(generations.get(1), "parent", Parent.class, 0);
+        Assert.assertTrue(generations.get(0).getClass("factoryClass").getName().endsWith("MethodBackedServiceFactory"));
+    }
+
+    @Test
+    public void moduleMethodInvocationsEmitAnEventWithTheirModule() throws IOException {
+        final List<RecordedEvent> creations = named(record(true), "dev.deadc0de.genesis.Create");
+        Assert.assertEquals(2, creations.size());
+        assertEvent(creations.get(0), "child", Child.class, 1);
+        assertEvent(creations.get(1), "parent", Parent.class, 0);
+        for (RecordedEvent creation : creations) {
+            Assert.assertEquals(GraphModule.class.getName(), creation.getClass("moduleClass").getName());
+        }
+    }
+
+    @Test
+    public void firstResolutionsEmitAnEventWithTheResolvedType() throws IOException {
+        final List<RecordedEvent> resolutions = named(record(true), "dev.deadc0de.genesis.Resolve");
+        Assert.assertEquals(2, resolutions.size());
+        Assert.assertEquals("parent", resolutions.get(0).getString("serviceName"));
+        Assert.assertEquals(Object.class.getName(), resolutions.get(0).getClass("requestedType").getName());
+        Assert.assertEquals(Parent.class.getName(), resolutions.get(0).getClass("resolvedType").getName());
+        Assert.assertEquals(0, resolutions.get(0).getInt("depth"));
+        Assert.assertEquals("child", resolutions.get(1).getString("serviceName"));
+        Assert.assertEquals(Child.class.getName(), resolutions.get(1).getClass("requestedType").getName());
+        Assert.assertEquals(1, resolutions.get(1).getInt("depth"));
+        Assert.assertEquals(1, resolutions.get(1).getInt("candidates"));
+    }
+
+    @Test
+    public void disabledEventsAreNotEmitted() throws IOException {
+        Assert.assertTrue(record(false).isEmpty());
+    }
+
+    private static List<RecordedEvent> record(boolean enabled) throws IOException {
+        final Path dump = Files.createTempFile("genesis-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String eventName : EVENT_NAMES) {
+                if (enabled) {
+                    recording.enable(eventName).withThreshold(Duration.ZERO);
+                } else {
+                    recording.disable(eventName);
+                }
+            }
+            recording.start();
+            final GenerationContext context = new GenerationContext(ServiceModule.assembleModule(new GraphModule()));
+            Assert.assertNotNull(context.generate(Object.class, PARENT));
+            if (!enabled) {
+                Assert.assertNull(GenerationEvents.beginGeneration());
+            }
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> EVENT_NAMES.contains(event.getEventType().getName()))
+                    .sorted((first, second) -> first.getEndTime().compareTo(second.getEndTime()))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.delete(dump);
+        }
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String eventName) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(eventName)).collect(Collectors.toList());
+    }
+
+    private static void assertEvent(RecordedEvent event, String serviceName, Class<?> serviceType, int depth) {
+        Assert.assertEquals(serviceName, event.getString("serviceName"));
+        Assert.assertEquals(serviceType.getName(), event.getClass("serviceType").getName());
+        Assert.assertEquals(depth, event.getInt("depth"));
+    }
+
+    public static class GraphModule {
+
+        public Parent parent(@Role("child") Child child) {
+            return new Parent(child);
+        }
+
+        public Child child() {
+            return new Child();
+        }
+    }
+
+    public static class Parent {
+
+        public final Child child;
+
+        public Parent(Child child) {
+            this.child = child;
+        }
+    }
+
+    public static class Child {
+    }
+}